@@ -0,0 +1,146 @@
+package br.com.erudio.cache;
+
+import br.com.erudio.data.dto.v1.CacheStatsDTO;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Cache read-through das buscas por id, limitado por tamanho (LRU) e por TTL.
+// Guarda entidades já destacadas da sessão: cada leitura converte para um DTO novo, então o
+// valor em cache nunca é alterado por quem o recebe.
+public class EntityCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final Object lock = new Object();
+
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+
+    // Incrementada a cada invalidação (guardada por lock). Um valor lido do banco enquanto
+    // outra thread invalidava não é guardado, senão o dado antigo voltaria ao cache.
+    private long version;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record CachedValue<V>(V value, long expiresAt) {}
+
+    public EntityCache(String name, int maxSize, Duration ttl) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        // accessOrder = true: a entrada mais antiga é a menos usada recentemente
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        long loadVersion;
+        synchronized (lock) {
+            CachedValue<V> cached = entries.get(key);
+            if (cached != null) {
+                if (cached.expiresAt() > System.currentTimeMillis()) {
+                    hits.increment();
+                    return Optional.of(cached.value());
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+            loadVersion = version;
+        }
+        misses.increment();
+
+        // Consulta fora do lock para não serializar os acessos ao banco
+        Optional<V> loaded = loader.apply(key);
+        if (loaded.isPresent() && isEnabled()) {
+            synchronized (lock) {
+                if (version == loadVersion) {
+                    entries.put(key, new CachedValue<>(loaded.get(), System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(K key) {
+        remove(key);
+
+        // Dentro de uma transação (disablePerson): uma leitura entre esta chamada e o commit ainda
+        // vê a linha antiga e voltaria ao cache; remove de novo quando a transação termina
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(key);
+                }
+            });
+        }
+    }
+
+    private void remove(K key) {
+        synchronized (lock) {
+            version++;
+            if (entries.remove(key) != null) invalidations.increment();
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            version++;
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && ttlMillis > 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        CacheStatsDTO stats = new CacheStatsDTO();
+        stats.setName(name);
+        stats.setSize(size());
+        stats.setMaxSize(maxSize);
+        stats.setTtlSeconds(ttlMillis / 1000);
+        stats.setHits(hitCount);
+        stats.setMisses(missCount);
+        stats.setHitRate(lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.setEvictions(evictions.sum());
+        stats.setExpirations(expirations.sum());
+        stats.setInvalidations(invalidations.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,273 @@
+package br.com.erudio.cache;
+
+import br.com.erudio.data.dto.v1.CacheStatsDTO;
+import br.com.erudio.file.compression.BestCompressionGzipOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Cache em disco dos relatórios exportados (XLSX/CSV/PDF), por chave da consulta + formato.
+// Cada entrada vale só para a versão dos dados em que foi gerada: qualquer escrita em Person ou
+// Book chama invalidate(), que incrementa a versão e descarta tudo. Limitado pelo total de bytes
+// (LRU); os arquivos são servidos direto do disco pelo FileDownloadWriter (sendfile).
+public class ExportCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportCache.class);
+
+    private static final String FILE_PREFIX = "export-";
+
+    // Abaixo disso a variante gzip não compensa
+    private static final long MIN_COMPRESS_SIZE = 1024;
+
+    // Arquivo descartado continua no disco por este tempo: quem recebeu o caminho pode ainda não
+    // ter aberto o arquivo (o sendfile do Tomcat abre depois que o controller retorna)
+    private static final long DELETE_GRACE_MILLIS = 60_000;
+
+    // gzipFile é null quando o formato não comprime bem (XLSX e PDF já são compactados)
+    public record Entry(Path file, Path gzipFile, long bytes) {}
+
+    private record PendingDelete(Path file, long deleteAt) {}
+
+    private final Path directory;
+    private final long maxSizeBytes;
+
+    private final Object lock = new Object();
+
+    // accessOrder = true: a entrada mais antiga é a menos usada recentemente
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Deque<PendingDelete> pendingDeletes = new ArrayDeque<>();
+
+    // Guardados por lock
+    private long version;
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ExportCache(Path directory, long maxSizeBytes) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.maxSizeBytes = maxSizeBytes;
+
+        try {
+            Files.createDirectories(this.directory);
+            // Sobras de uma execução anterior: a versão dos dados recomeça, nada ali é confiável
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(this.directory, FILE_PREFIX + "*")) {
+                for (Path leftover : leftovers) Files.deleteIfExists(leftover);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the export cache at " + directory, e);
+        }
+    }
+
+    // Devolve a entrada em cache ou gera o relatório, grava em disco e guarda se a versão dos dados
+    // não mudou durante a geração. A entrada devolvida pode não ficar no cache (desativado, grande
+    // demais ou invalidado no meio), mas seus arquivos continuam legíveis pelo período de carência.
+    public Entry get(String key, boolean compressible, Supplier<Resource> generator) {
+        long loadVersion;
+        synchronized (lock) {
+            purgePendingDeletes();
+
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                if (Files.isRegularFile(cached.file())) {
+                    hits.increment();
+                    return cached;
+                }
+                // Apagado por fora (limpeza do diretório temporário): gera de novo
+                entries.remove(key);
+                totalBytes -= cached.bytes();
+            }
+            loadVersion = version;
+        }
+        misses.increment();
+
+        // Geração fora do lock para não serializar exportações diferentes
+        Entry generated = write(generator.get(), compressible);
+
+        synchronized (lock) {
+            if (isEnabled() && version == loadVersion && generated.bytes() <= maxSizeBytes) {
+                Entry previous = entries.put(key, generated);
+                totalBytes += generated.bytes();
+                if (previous != null) {
+                    totalBytes -= previous.bytes();
+                    discard(previous);
+                }
+                evict();
+            } else {
+                discard(generated);
+            }
+        }
+        return generated;
+    }
+
+    public void invalidate() {
+        discardAll();
+
+        // Dentro de uma transação (disablePerson): uma exportação entre esta chamada e o commit ainda
+        // leria os dados antigos e ficaria no cache com a versão nova; invalida de novo ao terminar
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    discardAll();
+                }
+            });
+        }
+    }
+
+    private void discardAll() {
+        synchronized (lock) {
+            version++;
+            invalidations.add(entries.size());
+            entries.values().forEach(this::discard);
+            entries.clear();
+            totalBytes = 0;
+            purgePendingDeletes();
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    public long totalBytes() {
+        synchronized (lock) {
+            return totalBytes;
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxSizeBytes > 0;
+    }
+
+    public CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        CacheStatsDTO stats = new CacheStatsDTO();
+        stats.setName("export");
+        stats.setSize(size());
+        stats.setBytes(totalBytes());
+        stats.setMaxBytes(maxSizeBytes);
+        stats.setHits(hitCount);
+        stats.setMisses(missCount);
+        stats.setHitRate(lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.setEvictions(evictions.sum());
+        stats.setInvalidations(invalidations.sum());
+        return stats;
+    }
+
+    // Chamado pelo Spring no shutdown (destroy method inferido do @Bean)
+    @Override
+    public void close() {
+        synchronized (lock) {
+            entries.values().forEach(entry -> {
+                deleteQuietly(entry.file());
+                deleteQuietly(entry.gzipFile());
+            });
+            entries.clear();
+            totalBytes = 0;
+            pendingDeletes.forEach(pending -> deleteQuietly(pending.file()));
+            pendingDeletes.clear();
+        }
+    }
+
+    // SECTION: arquivos
+
+    private Entry write(Resource resource, boolean compressible) {
+        Path file = null;
+        Path gzipFile = null;
+        try {
+            file = Files.createTempFile(directory, FILE_PREFIX, ".bin");
+            try (InputStream in = resource.getInputStream()) {
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            long size = Files.size(file);
+            if (compressible && size >= MIN_COMPRESS_SIZE) gzipFile = compress(file, size);
+
+            return new Entry(file, gzipFile, size + (gzipFile != null ? Files.size(gzipFile) : 0));
+        } catch (IOException e) {
+            deleteQuietly(file);
+            deleteQuietly(gzipFile);
+            throw new UncheckedIOException("Could not write the export to the cache", e);
+        }
+    }
+
+    // Variante gzip gravada junto com o original; descartada se o ganho for pequeno
+    private Path compress(Path file, long size) throws IOException {
+        Path gzipFile = Files.createTempFile(directory, FILE_PREFIX, ".gz");
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = new BestCompressionGzipOutputStream(Files.newOutputStream(gzipFile))) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            deleteQuietly(gzipFile);
+            throw e;
+        }
+
+        if (Files.size(gzipFile) > size * 9 / 10) {
+            deleteQuietly(gzipFile);
+            return null;
+        }
+        return gzipFile;
+    }
+
+    // Chamado sob o lock
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxSizeBytes && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.bytes();
+            discard(entry);
+            evictions.increment();
+        }
+    }
+
+    // Chamado sob o lock
+    private void discard(Entry entry) {
+        long deleteAt = System.currentTimeMillis() + DELETE_GRACE_MILLIS;
+        pendingDeletes.addLast(new PendingDelete(entry.file(), deleteAt));
+        if (entry.gzipFile() != null) pendingDeletes.addLast(new PendingDelete(entry.gzipFile(), deleteAt));
+    }
+
+    // Chamado sob o lock; a fila está em ordem de deleteAt
+    private void purgePendingDeletes() {
+        long now = System.currentTimeMillis();
+        while (!pendingDeletes.isEmpty() && pendingDeletes.peekFirst().deleteAt() <= now) {
+            deleteQuietly(pendingDeletes.pollFirst().file());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete the cached export {}", file, e);
+        }
+    }
+}
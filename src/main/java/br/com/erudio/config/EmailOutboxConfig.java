@@ -0,0 +1,110 @@
+package br.com.erudio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "email.outbox")
+public class EmailOutboxConfig {
+
+    // Threads que enviam os e-mails; cada uma mantém uma conexão SMTP por lote
+    private int workerThreads = 2;
+
+    // Mensagens aguardando envio; acima disso novos envios são recusados com 503
+    private int queueCapacity = 1000;
+
+    // Mensagens enviadas na mesma conexão SMTP
+    private int batchSize = 20;
+
+    // Tentativas por mensagem antes de marcá-la como FAILED
+    private int maxAttempts = 5;
+
+    // Espera antes da primeira nova tentativa; dobra a cada falha
+    private long initialBackoffMillis = 1000;
+
+    // Espera máxima entre tentativas
+    private long maxBackoffMillis = 60000;
+
+    // Tempo que o status de um envio finalizado continua disponível para consulta
+    private long retentionMinutes = 60;
+
+    // Anexos até este tamanho são mantidos em memória até o envio; maiores ficam no arquivo do upload
+    private long attachmentMaxInMemoryBytes = 1024 * 1024;
+
+    // Soma máxima dos anexos em memória de todas as mensagens na fila
+    private long attachmentsMaxTotalInMemoryBytes = 64 * 1024 * 1024;
+
+    public EmailOutboxConfig() {}
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public long getRetentionMinutes() {
+        return retentionMinutes;
+    }
+
+    public void setRetentionMinutes(long retentionMinutes) {
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    public long getAttachmentMaxInMemoryBytes() {
+        return attachmentMaxInMemoryBytes;
+    }
+
+    public void setAttachmentMaxInMemoryBytes(long attachmentMaxInMemoryBytes) {
+        this.attachmentMaxInMemoryBytes = attachmentMaxInMemoryBytes;
+    }
+
+    public long getAttachmentsMaxTotalInMemoryBytes() {
+        return attachmentsMaxTotalInMemoryBytes;
+    }
+
+    public void setAttachmentsMaxTotalInMemoryBytes(long attachmentsMaxTotalInMemoryBytes) {
+        this.attachmentsMaxTotalInMemoryBytes = attachmentsMaxTotalInMemoryBytes;
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.erudio.config;
+
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import br.com.erudio.security.jwt.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+// Tamanho máximo e TTL dos caches de entidades (max-size 0 desativa o cache)
+@Configuration
+@ConfigurationProperties(prefix = "entity-cache")
+public class EntityCacheConfig {
+
+    private int personMaxSize = 10000;
+
+    private long personTtlSeconds = 300;
+
+    private int bookMaxSize = 10000;
+
+    private long bookTtlSeconds = 300;
+
+    private int userMaxSize = 1000;
+
+    // Curto: conta desativada ou senha trocada por fora da aplicação vale em no máximo este tempo
+    private long userTtlSeconds = 60;
+
+    @Bean
+    public EntityCache<Long, Person> personCache() {
+        return new EntityCache<>("person", personMaxSize, Duration.ofSeconds(personTtlSeconds));
+    }
+
+    @Bean
+    public EntityCache<Long, Book> bookCache() {
+        return new EntityCache<>("book", bookMaxSize, Duration.ofSeconds(bookTtlSeconds));
+    }
+
+    // UserDetails por username, usado no login (UserService.loadUserByUsername)
+    @Bean
+    public EntityCache<String, UserDetails> userCache() {
+        return new EntityCache<>("user", userMaxSize, Duration.ofSeconds(userTtlSeconds));
+    }
+
+    // Tokens JWT já verificados (JwtTokenProvider); mantém as chaves security.jwt.token.*
+    @Bean
+    public EntityCache<String, VerifiedToken> jwtCache(
+            @Value("${security.jwt.token.cache-max-size:10000}") int maxSize,
+            @Value("${security.jwt.token.cache-ttl-seconds:60}") long ttlSeconds) {
+        return new EntityCache<>("jwt", maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public int getPersonMaxSize() {
+        return personMaxSize;
+    }
+
+    public void setPersonMaxSize(int personMaxSize) {
+        this.personMaxSize = personMaxSize;
+    }
+
+    public long getPersonTtlSeconds() {
+        return personTtlSeconds;
+    }
+
+    public void setPersonTtlSeconds(long personTtlSeconds) {
+        this.personTtlSeconds = personTtlSeconds;
+    }
+
+    public int getBookMaxSize() {
+        return bookMaxSize;
+    }
+
+    public void setBookMaxSize(int bookMaxSize) {
+        this.bookMaxSize = bookMaxSize;
+    }
+
+    public long getBookTtlSeconds() {
+        return bookTtlSeconds;
+    }
+
+    public void setBookTtlSeconds(long bookTtlSeconds) {
+        this.bookTtlSeconds = bookTtlSeconds;
+    }
+
+    public int getUserMaxSize() {
+        return userMaxSize;
+    }
+
+    public void setUserMaxSize(int userMaxSize) {
+        this.userMaxSize = userMaxSize;
+    }
+
+    public long getUserTtlSeconds() {
+        return userTtlSeconds;
+    }
+
+    public void setUserTtlSeconds(long userTtlSeconds) {
+        this.userTtlSeconds = userTtlSeconds;
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.erudio.config;
+
+import br.com.erudio.cache.ExportCache;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+// Diretório e tamanho total do cache de relatórios exportados (max-size-bytes 0 desativa o cache)
+@Configuration
+@ConfigurationProperties(prefix = "export-cache")
+public class ExportCacheConfig {
+
+    private String dir = System.getProperty("java.io.tmpdir") + "/erudio-export-cache";
+
+    private long maxSizeBytes = 256L * 1024 * 1024;
+
+    @Bean
+    public ExportCache exportCache() {
+        return new ExportCache(Paths.get(dir), maxSizeBytes);
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public void setMaxSizeBytes(long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+}
@@ -1,16 +1,60 @@
 package br.com.erudio.config;
 
+import br.com.erudio.file.storage.FileSystemStorageBackend;
+import br.com.erudio.file.storage.InMemoryStorageBackend;
+import br.com.erudio.file.storage.S3StorageBackend;
+import br.com.erudio.file.storage.StorageBackend;
+import br.com.erudio.file.storage.StorageBackendType;
+import br.com.erudio.file.storage.StorageMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "file")
 public class FileStorageConfig {
 
+    // Spool dos uploads e, no backend filesystem, onde os arquivos ficam
     private String uploadDir;
 
+    // filesystem, s3 (várias instâncias da aplicação sem disco compartilhado) ou memory
+    private StorageBackendType backend = StorageBackendType.FILESYSTEM;
+
+    // content-addressed: uploads com o mesmo conteúdo ocupam um único blob no disco
+    private StorageMode storageMode = StorageMode.PLAIN;
+
+    // Uploads de texto ganham uma cópia gzip, servida sem custo de CPU a quem aceita gzip
+    private boolean precompress = true;
+
+    // Abaixo disso a compressão não compensa o cabeçalho extra
+    private long precompressMinSizeBytes = 1024;
+
+    private List<String> precompressMimeTypes = new ArrayList<>(List.of(
+            "text/*", "application/json", "application/xml", "application/yaml",
+            "application/javascript", "image/svg+xml"));
+
+    // Threads que gravam os arquivos de um upload múltiplo em paralelo
+    private int uploadThreads = 4;
+
+    // Arquivos aguardando uma thread livre; acima disso a thread da requisição grava o arquivo
+    private int uploadQueueCapacity = 64;
+
     public FileStorageConfig() {}
 
+    @Bean
+    public StorageBackend storageBackend(S3StorageConfig s3) throws IOException {
+        return switch (backend) {
+            case FILESYSTEM -> new FileSystemStorageBackend(Paths.get(uploadDir));
+            case S3 -> new S3StorageBackend(s3);
+            case MEMORY -> new InMemoryStorageBackend();
+        };
+    }
+
     public String getUploadDir() {
         return uploadDir;
     }
@@ -18,4 +62,60 @@ public class FileStorageConfig {
     public void setUploadDir(String uploadDir) {
         this.uploadDir = uploadDir;
     }
+
+    public StorageBackendType getBackend() {
+        return backend;
+    }
+
+    public void setBackend(StorageBackendType backend) {
+        this.backend = backend;
+    }
+
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    public void setStorageMode(StorageMode storageMode) {
+        this.storageMode = storageMode;
+    }
+
+    public boolean isPrecompress() {
+        return precompress;
+    }
+
+    public void setPrecompress(boolean precompress) {
+        this.precompress = precompress;
+    }
+
+    public long getPrecompressMinSizeBytes() {
+        return precompressMinSizeBytes;
+    }
+
+    public void setPrecompressMinSizeBytes(long precompressMinSizeBytes) {
+        this.precompressMinSizeBytes = precompressMinSizeBytes;
+    }
+
+    public List<String> getPrecompressMimeTypes() {
+        return precompressMimeTypes;
+    }
+
+    public void setPrecompressMimeTypes(List<String> precompressMimeTypes) {
+        this.precompressMimeTypes = precompressMimeTypes;
+    }
+
+    public int getUploadThreads() {
+        return uploadThreads;
+    }
+
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    public int getUploadQueueCapacity() {
+        return uploadQueueCapacity;
+    }
+
+    public void setUploadQueueCapacity(int uploadQueueCapacity) {
+        this.uploadQueueCapacity = uploadQueueCapacity;
+    }
 }
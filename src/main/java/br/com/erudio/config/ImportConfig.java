@@ -0,0 +1,133 @@
+package br.com.erudio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "import")
+public class ImportConfig {
+
+    // Quantidade de INSERTs enviados ao banco em cada batch JDBC
+    private int batchSize = 500;
+
+    // Quantidade de linhas gravadas por transação
+    private int commitInterval = 5000;
+
+    // Limite de falhas detalhadas no resumo da importação
+    private int maxReportedFailures = 100;
+
+    // Threads que validam/mapeiam as linhas lidas (0 = importação sequencial, sem pipeline)
+    private int validatorThreads = 2;
+
+    // Threads que gravam os chunks no banco em paralelo (cada uma usa uma conexão)
+    private int writerThreads = 2;
+
+    // Lotes de linhas aguardando validação; quando a fila enche a leitura do arquivo é bloqueada
+    private int pipelineQueueCapacity = 16;
+
+    // Threads de validação e escrita compartilhadas por todas as importações (síncronas e assíncronas);
+    // sem threads livres para um pipeline inteiro a importação roda sequencialmente na thread chamadora
+    private int pipelineMaxThreads = 8;
+
+    // Gravações de importação simultâneas somando todas as importações (cada uma ocupa uma conexão do pool)
+    private int maxConcurrentWriters = 4;
+
+    // Threads dedicadas às importações assíncronas (cada uma usa no máximo uma conexão por vez)
+    private int workerThreads = 2;
+
+    // Importações aguardando uma thread livre; acima disso novas importações são recusadas
+    private int queueCapacity = 10;
+
+    // Tempo que o status de uma importação finalizada continua disponível para consulta
+    private long jobRetentionMinutes = 60;
+
+    public ImportConfig() {}
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+    public int getMaxReportedFailures() {
+        return maxReportedFailures;
+    }
+
+    public void setMaxReportedFailures(int maxReportedFailures) {
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getJobRetentionMinutes() {
+        return jobRetentionMinutes;
+    }
+
+    public void setJobRetentionMinutes(long jobRetentionMinutes) {
+        this.jobRetentionMinutes = jobRetentionMinutes;
+    }
+
+    public int getValidatorThreads() {
+        return validatorThreads;
+    }
+
+    public void setValidatorThreads(int validatorThreads) {
+        this.validatorThreads = validatorThreads;
+    }
+
+    public int getWriterThreads() {
+        return writerThreads;
+    }
+
+    public void setWriterThreads(int writerThreads) {
+        this.writerThreads = writerThreads;
+    }
+
+    public int getPipelineQueueCapacity() {
+        return pipelineQueueCapacity;
+    }
+
+    public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+        this.pipelineQueueCapacity = pipelineQueueCapacity;
+    }
+
+    public int getPipelineMaxThreads() {
+        return pipelineMaxThreads;
+    }
+
+    public void setPipelineMaxThreads(int pipelineMaxThreads) {
+        this.pipelineMaxThreads = pipelineMaxThreads;
+    }
+
+    public int getMaxConcurrentWriters() {
+        return maxConcurrentWriters;
+    }
+
+    public void setMaxConcurrentWriters(int maxConcurrentWriters) {
+        this.maxConcurrentWriters = maxConcurrentWriters;
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.erudio.config;
+
+import br.com.erudio.data.dto.v1.BookDTO;
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.mapper.DozerEntityMapper;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.custom.BookMapper;
+import br.com.erudio.mapper.custom.PersonMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+// Define, por serviço, qual implementação converte entidades em DTOs
+@Configuration
+@ConfigurationProperties(prefix = "mapper")
+public class MapperConfig {
+
+    public enum Strategy {
+        // Mappers escritos à mão (mapper.custom), sem reflexão
+        MANUAL,
+        // DozerBeanMapper via reflexão
+        DOZER
+    }
+
+    private Strategy person = Strategy.MANUAL;
+
+    private Strategy book = Strategy.MANUAL;
+
+    @Bean
+    @Primary
+    public EntityMapper<Person, PersonDTO> personEntityMapper(PersonMapper personMapper) {
+        return person == Strategy.MANUAL ? personMapper : new DozerEntityMapper<>(Person.class, PersonDTO.class);
+    }
+
+    @Bean
+    @Primary
+    public EntityMapper<Book, BookDTO> bookEntityMapper(BookMapper bookMapper) {
+        return book == Strategy.MANUAL ? bookMapper : new DozerEntityMapper<>(Book.class, BookDTO.class);
+    }
+
+    public Strategy getPerson() {
+        return person;
+    }
+
+    public void setPerson(Strategy person) {
+        this.person = person;
+    }
+
+    public Strategy getBook() {
+        return book;
+    }
+
+    public void setBook(Strategy book) {
+        this.book = book;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.erudio.config;
+
+import br.com.erudio.security.password.Pbkdf2PasswordEncoders;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingConfig {
+
+    // Iterações do PBKDF2; ao mudar, cada senha é regravada com o novo custo no próximo login
+    private int iterations = Pbkdf2PasswordEncoders.LEGACY_ITERATIONS;
+
+    // Threads que calculam hashes (cada uma ocupa uma CPU inteira durante o cálculo)
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    // Logins aguardando uma thread livre; acima disso o login é recusado com 503
+    private int queueCapacity = 50;
+
+    // Tempo máximo que uma requisição aguarda o hash antes de desistir com 503
+    private long maxWaitMillis = 5000;
+
+    public PasswordHashingConfig() {}
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.erudio.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Usado quando file.backend é s3
+@Configuration
+@ConfigurationProperties(prefix = "file.s3")
+public class S3StorageConfig {
+
+    // Ex.: https://s3.us-east-1.amazonaws.com ou http://localhost:9000 (MinIO)
+    private String endpoint;
+
+    private String region = "us-east-1";
+
+    private String bucket;
+
+    private String accessKey;
+
+    private String secretKey;
+
+    // true: endpoint/bucket/chave (MinIO e afins); false: bucket.endpoint/chave
+    private boolean pathStyle = true;
+
+    // Arquivos maiores que isso vão em multipart upload, em partes deste tamanho (mínimo do S3: 5MB)
+    private long partSizeBytes = 16 * 1024 * 1024;
+
+    // Partes enviadas em paralelo, somando todos os uploads em andamento
+    private int partUploadThreads = 4;
+
+    private long requestTimeoutSeconds = 300;
+
+    public S3StorageConfig() {}
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getAccessKey() {
+        return accessKey;
+    }
+
+    public void setAccessKey(String accessKey) {
+        this.accessKey = accessKey;
+    }
+
+    public String getSecretKey() {
+        return secretKey;
+    }
+
+    public void setSecretKey(String secretKey) {
+        this.secretKey = secretKey;
+    }
+
+    public boolean isPathStyle() {
+        return pathStyle;
+    }
+
+    public void setPathStyle(boolean pathStyle) {
+        this.pathStyle = pathStyle;
+    }
+
+    public long getPartSizeBytes() {
+        return partSizeBytes;
+    }
+
+    public void setPartSizeBytes(long partSizeBytes) {
+        this.partSizeBytes = partSizeBytes;
+    }
+
+    public int getPartUploadThreads() {
+        return partUploadThreads;
+    }
+
+    public void setPartUploadThreads(int partUploadThreads) {
+        this.partUploadThreads = partUploadThreads;
+    }
+
+    public long getRequestTimeoutSeconds() {
+        return requestTimeoutSeconds;
+    }
+
+    public void setRequestTimeoutSeconds(long requestTimeoutSeconds) {
+        this.requestTimeoutSeconds = requestTimeoutSeconds;
+    }
+}
@@ -2,6 +2,8 @@ package br.com.erudio.config;
 
 import br.com.erudio.security.jwt.JwtTokenFilter;
 import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.password.BoundedPasswordEncoder;
+import br.com.erudio.security.password.Pbkdf2PasswordEncoders;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,13 +15,9 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @EnableWebSecurity
 @Configuration
 public class SecurityConfig {
@@ -32,27 +30,17 @@ public class SecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        // 1. Cria o encoder específico PBKDF2
-        PasswordEncoder pbkdf2Encoder = new Pbkdf2PasswordEncoder(
-            "",                  // Salt secreto (vazio para salt aleatório)
-            8,                   // Tamanho do salt em bytes
-            185000,              // Número de iterações
-            Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256
-        );
-
-        // 2. Cria um mapa de encoders (útil para migração ou múltiplos algoritmos)
-        Map<String, PasswordEncoder> encoders = new HashMap<>();
-        encoders.put("pbkdf2", pbkdf2Encoder);
-
-        // 3. Cria um encoder delegado que pode suportar múltiplos algoritmos
-        DelegatingPasswordEncoder passwordEncoder =
-                new DelegatingPasswordEncoder("pbkdf2", encoders);
-
-        // 4. Configura o encoder padrão para verificação
-        passwordEncoder.setDefaultPasswordEncoderForMatches(pbkdf2Encoder);
-
-        return passwordEncoder;
+    // Único encoder da aplicação (login e criação de usuários)
+    PasswordEncoder passwordEncoder(PasswordHashingConfig config) {
+        // 1. Cria o encoder delegado PBKDF2 com o custo configurado (o custo vai no id do hash)
+        DelegatingPasswordEncoder passwordEncoder = Pbkdf2PasswordEncoders.create(config.getIterations());
+
+        // 2. Calcula os hashes em um pool limitado, fora das threads das requisições
+        return new BoundedPasswordEncoder(
+                passwordEncoder,
+                config.getThreads(),
+                config.getQueueCapacity(),
+                config.getMaxWaitMillis());
     }
 
     @Bean
@@ -1,5 +1,6 @@
 package br.com.erudio.config;
 
+import br.com.erudio.services.ApproximateCountCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
@@ -20,6 +21,7 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedOrigins(allowedOrigins)
                 .allowedMethods("*")
+                .exposedHeaders(ApproximateCountCache.HEADER)
                 .allowCredentials(true);
 
     }
@@ -3,13 +3,16 @@ package br.com.erudio.controllers;
 
 import br.com.erudio.controllers.docs.BookControllerDocs;
 import br.com.erudio.data.dto.v1.BookDTO;
+import br.com.erudio.services.ApproximateCountCache;
 import br.com.erudio.services.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -54,6 +57,47 @@ public class BookController implements BookControllerDocs {
         return ResponseEntity.ok(service.findAll(pageable));
     }
 
+    // FIND ALL (SLICE) - sem COUNT; o total aproximado vai no header X-Approximate-Total-Count
+    @GetMapping(
+            value = "/slice",
+            produces = {
+                    MediaType.APPLICATION_JSON_VALUE,
+                    MediaType.APPLICATION_XML_VALUE,
+                    MediaType.APPLICATION_YAML_VALUE
+            }
+    )
+    @Override
+    public ResponseEntity<SlicedModel<EntityModel<BookDTO>>> findAllSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC: Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "author"));
+        return ResponseEntity.ok()
+                .header(ApproximateCountCache.HEADER, String.valueOf(service.approximateCount()))
+                .body(service.findAllSlice(pageable));
+    }
+
+    // SCROLL (KEYSET)
+    @GetMapping(
+            value = "/scroll",
+            produces = {
+                    MediaType.APPLICATION_JSON_VALUE,
+                    MediaType.APPLICATION_XML_VALUE,
+                    MediaType.APPLICATION_YAML_VALUE
+            }
+    )
+    @Override
+    public ResponseEntity<CollectionModel<BookDTO>> scroll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC: Sort.Direction.ASC;
+        return ResponseEntity.ok(service.scroll(cursor, size, sortDirection));
+    }
+
     // CREATE
     @PostMapping(
             consumes = {
@@ -0,0 +1,35 @@
+package br.com.erudio.controllers;
+
+import br.com.erudio.controllers.docs.CacheControllerDocs;
+import br.com.erudio.data.dto.v1.CacheStatsDTO;
+import br.com.erudio.services.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache/v1")
+public class CacheController implements CacheControllerDocs {
+
+    @Autowired
+    private CacheService service;
+
+    @GetMapping(produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_YAML_VALUE})
+    @Override
+    public List<CacheStatsDTO> stats() {
+        return service.stats();
+    }
+
+    @DeleteMapping
+    @Override
+    public ResponseEntity<?> clear() {
+        service.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
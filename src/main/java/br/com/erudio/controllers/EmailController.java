@@ -2,13 +2,14 @@ package br.com.erudio.controllers;
 
 import br.com.erudio.controllers.docs.EmailControllerDocs;
 import br.com.erudio.data.dto.request.EmailRequestDTO;
+import br.com.erudio.data.dto.v1.EmailDeliveryDTO;
 import br.com.erudio.services.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 @RequestMapping("/api/email/v1")
@@ -19,17 +20,39 @@ public class EmailController implements EmailControllerDocs {
 
     @PostMapping
     @Override
-    public ResponseEntity<String> sendEmail(@RequestBody EmailRequestDTO emailRequest) {
-        service.sendSimpleEmail(emailRequest);
-        return new ResponseEntity<>("e-Mail sent with success!", HttpStatus.OK);
+    public ResponseEntity<EmailDeliveryDTO> sendEmail(@RequestBody EmailRequestDTO emailRequest) {
+        return accepted(service.sendSimpleEmail(emailRequest));
     }
 
     @PostMapping(value = "/withAttachment", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Override
-    public ResponseEntity<String> sendEmailWithAttachment(
+    public ResponseEntity<EmailDeliveryDTO> sendEmailWithAttachment(
             @RequestParam("emailRequest") String emailRequest,
             @RequestParam("attachment") MultipartFile attachment) {
-        service.setEmailWithAttachment(emailRequest, attachment);
-        return new ResponseEntity<>("e-Mail with attachment sent successfully!", HttpStatus.OK);
+        return accepted(service.setEmailWithAttachment(emailRequest, attachment));
+    }
+
+    // STATUS
+    @GetMapping(
+        value = "/{id}",
+        produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_YAML_VALUE
+        }
+    )
+    @Override
+    public EmailDeliveryDTO findById(@PathVariable("id") String id) {
+        return service.findById(id);
+    }
+
+    // O e-mail só foi enfileirado: 202 Accepted com o endereço do status
+    private ResponseEntity<EmailDeliveryDTO> accepted(EmailDeliveryDTO delivery) {
+        var statusUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/email/v1/{id}")
+                .buildAndExpand(delivery.getId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(statusUri).body(delivery);
     }
 }
@@ -2,24 +2,28 @@ package br.com.erudio.controllers;
 
 import br.com.erudio.controllers.docs.FileControllerDocs;
 import br.com.erudio.data.dto.v1.UploadFileResponseDTO;
+import br.com.erudio.file.compression.ContentEncodings;
+import br.com.erudio.file.download.DownloadSource;
+import br.com.erudio.file.download.FileDownloadWriter;
+import br.com.erudio.file.storage.StoredFile;
 import br.com.erudio.services.FileStorageService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-
-import java.util.Arrays;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/file/v1")
@@ -30,50 +34,70 @@ public class FileController implements FileControllerDocs {
     @Autowired
     private FileStorageService service;
 
+    @Autowired
+    private FileDownloadWriter downloadWriter;
+
     @PostMapping("/uploadFile")
     @Override
     public UploadFileResponseDTO uploadFile(@RequestParam("file") MultipartFile file) {
-        var fileName = service.storeFile(file);
-
-        // http://localhost:8080/api/file/v1/downloadFile/filename.docx
-        var fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
-                .path("/api/file/v1/downloadFile/")
-                .path(fileName)
-                .toUriString();
-
-        return new UploadFileResponseDTO(fileName, fileDownloadUri, file.getContentType(), file.getSize());
+        var stored = service.storeFile(file);
+        return toResponse(stored, file.getContentType());
     }
 
     @PostMapping("/uploadMultipleFiles")
     @Override
     public List<UploadFileResponseDTO> uploadMultipleFiles(@RequestParam("files") MultipartFile[] files) {
-        return Arrays.asList(files)
-                .stream()
-                .map(file -> uploadFile(file))
-                .collect(Collectors.toList());
+        var stored = service.storeFiles(files);
+
+        List<UploadFileResponseDTO> responses = new ArrayList<>(stored.size());
+        for (int i = 0; i < stored.size(); i++) {
+            responses.add(toResponse(stored.get(i), files[i].getContentType()));
+        }
+        return responses;
+    }
+
+    // Upload sem multipart: o corpo da requisição vai direto para o disco
+    @PutMapping(value = "/upload/{fileName:.+}", consumes = MediaType.ALL_VALUE)
+    @Override
+    public UploadFileResponseDTO uploadStream(@PathVariable String fileName, HttpServletRequest request)
+            throws IOException {
+        var stored = service.storeStream(fileName, request.getInputStream());
+        return toResponse(stored, request.getContentType());
     }
 
 
     @GetMapping("/downloadFile/{fileName:.+}")
     @Override
-    public ResponseEntity<Resource> downloadFile(@PathVariable String fileName, HttpServletRequest request) {
+    public void downloadFile(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
 
-        Resource resource = service.loadFileAsResource(fileName);
-        String contentType = null;
+        var downloadName = StringUtils.getFilename(StringUtils.cleanPath(fileName));
 
-        try {
-            contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-        } catch (Exception e) {
-            logger.error("Could not determine file type!");
-        }
+        // A resposta varia com o Accept-Encoding: arquivos de texto podem ter uma variante gzip gravada no upload
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        var precompressed = ContentEncodings.accepts(request.getHeader(HttpHeaders.ACCEPT_ENCODING), ContentEncodings.GZIP)
+                ? service.openPrecompressed(fileName)
+                : Optional.<DownloadSource>empty();
 
-        if (contentType == null) {
-            contentType = "application/octet-stream";
+        // Range, ETag/Last-Modified e envio via sendfile ficam a cargo do FileDownloadWriter
+        if (precompressed.isPresent()) {
+            downloadWriter.write(precompressed.get(), downloadName, ContentEncodings.GZIP, request, response);
+        } else {
+            downloadWriter.write(service.openStoredFile(fileName), downloadName, request, response);
         }
+    }
+
+    private UploadFileResponseDTO toResponse(StoredFile stored, String contentType) {
+        // http://localhost:8080/api/file/v1/downloadFile/filename.docx
+        var fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/file/v1/downloadFile/")
+                .path(stored.fileName())
+                .toUriString();
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+        var response = new UploadFileResponseDTO(stored.fileName(), fileDownloadUri, contentType, stored.size());
+        response.setElapsedMillis(stored.elapsedMillis());
+        response.setBytesPerSecond(stored.bytesPerSecond());
+        return response;
     }
 }
@@ -1,26 +1,38 @@
 package br.com.erudio.controllers;
 
+import br.com.erudio.cache.ExportCache;
 import br.com.erudio.controllers.docs.PersonControllerDocs;
+import br.com.erudio.data.dto.v1.ImportJobDTO;
+import br.com.erudio.data.dto.v1.ImportSummaryDTO;
 import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.compression.ContentEncodings;
+import br.com.erudio.file.download.DownloadSource;
+import br.com.erudio.file.download.FileDownloadWriter;
 import br.com.erudio.file.exporter.MediaTypes;
+import br.com.erudio.services.ApproximateCountCache;
+import br.com.erudio.services.ImportJobService;
 import br.com.erudio.services.PersonService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
+import java.io.IOException;
 import java.util.Map;
 
 //@CrossOrigin(origins = "http://localhost:8080")
@@ -32,6 +44,12 @@ public class PersonController implements PersonControllerDocs {
     @Autowired
     private PersonService service;
 
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private FileDownloadWriter downloadWriter;
+
     // FIND BY ID
     // @CrossOrigin(origins = "http://localhost:8080")
     @GetMapping(
@@ -53,17 +71,13 @@ public class PersonController implements PersonControllerDocs {
                     MediaType.APPLICATION_PDF_VALUE}
     )
     @Override
-    public ResponseEntity<Resource> export(@PathVariable("id") Long id, HttpServletRequest request) {
+    public void export(@PathVariable("id") Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
 
         String acceptHeader = request.getHeader(HttpHeaders.ACCEPT);
-        Resource file = service.exportPerson(id, acceptHeader);
+        ExportCache.Entry file = service.exportPerson(id, acceptHeader);
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(acceptHeader))
-                .header(
-                        HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=person.pdf")
-                .body(file);
+        writeExport(file, "person.pdf", MediaType.APPLICATION_PDF, request, response);
     }
 
     // FindAll
@@ -95,18 +109,19 @@ public class PersonController implements PersonControllerDocs {
         }
     )
     @Override
-    public ResponseEntity<Resource> exportPage(
+    public void exportPage(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "size", defaultValue = "12") Integer size,
             @RequestParam(value = "direction", defaultValue = "asc") String direction,
-            HttpServletRequest request
-    ) {
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
         var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
 
         String acceptHeader = request.getHeader(HttpHeaders.ACCEPT);
 
-        Resource file = service.exportPage(pageable, acceptHeader);
+        ExportCache.Entry file = service.exportPage(pageable, acceptHeader);
 
         Map<String, String> extensionMap = Map.of(
             MediaTypes.APPLICATION_XLSX_VALUE, ".xlsx",
@@ -115,18 +130,67 @@ public class PersonController implements PersonControllerDocs {
         );
 
         var fileExtension = extensionMap.getOrDefault(acceptHeader, "");
-        var contentType = acceptHeader != null ? acceptHeader : "application/octet-stream";
 
+        var filename = "people_exported" + fileExtension;
 
+        // O exporter foi escolhido pelo Accept exato: o mesmo tipo vai no Content-Type
+        writeExport(file, filename, MediaType.parseMediaType(acceptHeader), request, response);
+    }
 
-        var filename = "people_exported" + fileExtension;
+    // Relatório em cache servido do disco: ETag/304, Range e sendfile ficam a cargo do FileDownloadWriter.
+    // O Content-Type é o negociado, não o adivinhado pela extensão do nome do arquivo.
+    private void writeExport(ExportCache.Entry file, String filename, MediaType contentType,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        if (file.gzipFile() == null) {
+            downloadWriter.write(DownloadSource.of(file.file()), filename, contentType, null, request, response);
+            return;
+        }
+
+        // Só o CSV tem variante gzip: a resposta varia com o Accept-Encoding
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (ContentEncodings.accepts(request.getHeader(HttpHeaders.ACCEPT_ENCODING), ContentEncodings.GZIP)) {
+            downloadWriter.write(DownloadSource.of(file.gzipFile()), filename, contentType, ContentEncodings.GZIP,
+                    request, response);
+        } else {
+            downloadWriter.write(DownloadSource.of(file.file()), filename, contentType, null, request, response);
+        }
+    }
+
+    // EXPORT ALL (STREAMING)
+    @GetMapping(
+        value = "/exportAll",
+        produces = {
+            MediaTypes.APPLICATION_XLSX_VALUE,
+            MediaTypes.APPLICATION_CSV_VALUE
+        }
+    )
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportAll(
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            HttpServletRequest request
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
+        Sort sort = Sort.by(sortDirection, "firstName");
+
+        String acceptHeader = request.getHeader(HttpHeaders.ACCEPT);
+
+        var contentType = MediaTypes.APPLICATION_XLSX_VALUE.equalsIgnoreCase(acceptHeader)
+                ? MediaTypes.APPLICATION_XLSX_VALUE
+                : MediaTypes.APPLICATION_CSV_VALUE;
+        var filename = MediaTypes.APPLICATION_XLSX_VALUE.equals(contentType)
+                ? "people_exported.xlsx"
+                : "people_exported.csv";
+
+        // O corpo é escrito depois que o controller retorna, em uma thread assíncrona do Spring MVC
+        StreamingResponseBody body = outputStream -> service.exportAll(sort, contentType, outputStream);
 
         return ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType(contentType))
                 .header(
                         HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + filename + "\"")
-                .body(file);
+                .body(body);
     }
 
     // FIND PEOPLE BY FIRST NAME
@@ -150,6 +214,90 @@ public class PersonController implements PersonControllerDocs {
         return ResponseEntity.ok(service.findPeopleByName(firstName, pageable));
     }
 
+    // FIND ALL (SLICE) - sem COUNT; o total aproximado vai no header X-Approximate-Total-Count
+    @GetMapping(
+        value = "/slice",
+        produces = {
+                MediaType.APPLICATION_JSON_VALUE,
+                MediaType.APPLICATION_XML_VALUE,
+                MediaType.APPLICATION_YAML_VALUE
+        }
+    )
+    @Override
+    public ResponseEntity<SlicedModel<EntityModel<PersonDTO>>> findAllSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC: Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
+        return ResponseEntity.ok()
+                .header(ApproximateCountCache.HEADER, String.valueOf(service.approximateCount()))
+                .body(service.findAllSlice(pageable));
+    }
+
+    // FIND PEOPLE BY FIRST NAME (SLICE) - sem COUNT
+    @GetMapping(
+        value = "/findPeopleByName/{firstName}/slice",
+        produces = {
+                MediaType.APPLICATION_JSON_VALUE,
+                MediaType.APPLICATION_XML_VALUE,
+                MediaType.APPLICATION_YAML_VALUE
+        }
+    )
+    @Override
+    public ResponseEntity<SlicedModel<EntityModel<PersonDTO>>> findPeopleByNameSlice(
+            @PathVariable("firstName") String firstName,
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC: Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
+        return ResponseEntity.ok(service.findPeopleByNameSlice(firstName, pageable));
+    }
+
+    // SCROLL (KEYSET)
+    @GetMapping(
+        value = "/scroll",
+        produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_YAML_VALUE
+        }
+    )
+    @Override
+    public ResponseEntity<CollectionModel<PersonDTO>> scroll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC: Direction.ASC;
+        return ResponseEntity.ok(service.scroll(cursor, size, sortDirection));
+    }
+
+    // SEARCH PEOPLE BY NAME
+    @GetMapping(
+        value = "/search",
+        produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_YAML_VALUE
+        }
+    )
+    @Override
+    public ResponseEntity<PagedModel<EntityModel<PersonDTO>>> searchPeople(
+            @RequestParam(value = "name") String name,
+            @RequestParam(value = "mode", defaultValue = "prefix") String mode,
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC: Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
+        return ResponseEntity.ok(service.searchPeople(name, mode, pageable));
+    }
+
     // CREATE
     // @CrossOrigin(origins = {"http://localhost:8080", "https://www.erudio.com.br"})
     @PostMapping(
@@ -179,10 +327,45 @@ public class PersonController implements PersonControllerDocs {
         }
     )
     @Override
-    public List<PersonDTO> massCreation(@RequestParam("file") MultipartFile file) {
+    public ImportSummaryDTO massCreation(@RequestParam("file") MultipartFile file) {
         return service.massCreation(file);
     }
 
+    // ASYNCHRONOUS MASSIVE PEOPLE CREATION
+    @PostMapping(
+        value = "/massCreation/jobs",
+        produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_YAML_VALUE
+        }
+    )
+    @Override
+    public ResponseEntity<ImportJobDTO> submitMassCreation(@RequestParam("file") MultipartFile file) {
+        var job = importJobService.submit(file);
+
+        var statusUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(statusUri).body(job); // retornará o status HTTP 202 Accepted
+    }
+
+    // MASSIVE PEOPLE CREATION STATUS
+    @GetMapping(
+        value = "/massCreation/jobs/{jobId}",
+        produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_YAML_VALUE
+        }
+    )
+    @Override
+    public ImportJobDTO findMassCreationJob(@PathVariable("jobId") String jobId) {
+        return importJobService.findById(jobId);
+    }
+
     // UPDATE
     @PutMapping(
         consumes = {
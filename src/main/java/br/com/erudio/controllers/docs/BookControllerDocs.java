@@ -6,8 +6,10 @@ import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -65,6 +67,60 @@ public interface BookControllerDocs {
             @RequestParam(value = "direction", defaultValue = "asc") String direction
     );
 
+    // FIND ALL (SLICE)
+    @Operation(
+        summary = "Find a slice of Books",
+        description = "Finds Books without counting the whole table: the page metadata has no totals, a next link is present when there are more Books and the X-Approximate-Total-Count header carries a cached total",
+        tags = {"Books"},
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = {
+                    @Content(
+                        mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        array = @ArraySchema(schema = @Schema(implementation = BookDTO.class))
+                    )
+                }
+            ),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+        }
+    )
+    ResponseEntity<SlicedModel<EntityModel<BookDTO>>> findAllSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    );
+
+    // SCROLL (KEYSET)
+    @Operation(
+        summary = "Scroll through Books",
+        description = "Lists Books with keyset pagination: pass the cursor from the previous response's next link to get the following page. Runs no count query and keeps the same latency at any depth",
+        tags = {"Books"},
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = {
+                    @Content(
+                        mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        array = @ArraySchema(schema = @Schema(implementation = BookDTO.class))
+                    )
+                }
+            ),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+        }
+    )
+    ResponseEntity<CollectionModel<BookDTO>> scroll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    );
+
     // CREATE
     @Operation(summary = "Adds a new Book",
             description = "Adds a new Book by passing in a JSON, XML or YML representation of the Book.",
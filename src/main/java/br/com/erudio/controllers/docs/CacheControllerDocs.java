@@ -0,0 +1,48 @@
+package br.com.erudio.controllers.docs;
+
+import br.com.erudio.data.dto.v1.CacheStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface CacheControllerDocs {
+
+    // STATS
+    @Operation(
+        summary = "Entity Cache Statistics",
+        description = "Returns size, hits, misses, hit rate, evictions and invalidations of each entity cache and of the export cache.",
+        tags = {"Cache"},
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = {
+                    @Content(
+                        mediaType = "application/json",
+                        array = @ArraySchema(schema = @Schema(implementation = CacheStatsDTO.class))
+                    )
+                }),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
+        }
+    )
+    List<CacheStatsDTO> stats();
+
+    // CLEAR
+    @Operation(
+        summary = "Clear the Entity Caches",
+        description = "Evicts every entry of every entity cache and of the export cache.",
+        tags = {"Cache"},
+        responses = {
+            @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
+        }
+    )
+    ResponseEntity<?> clear();
+}
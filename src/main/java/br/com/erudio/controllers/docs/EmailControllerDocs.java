@@ -1,8 +1,10 @@
 package br.com.erudio.controllers.docs;
 
 import br.com.erudio.data.dto.request.EmailRequestDTO;
+import br.com.erudio.data.dto.v1.EmailDeliveryDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
@@ -12,31 +14,47 @@ public interface EmailControllerDocs {
     // SEND EMAIL
     @Operation(
         summary = "Send an E-mail",
-        description = "Sends an e-mail by providing details, subject and body.",
+        description = "Queues an e-mail by providing details, subject and body. Returns the message id to follow the delivery.",
         tags = {"E-mail"},
         responses = {
-            @ApiResponse(description = "Success", responseCode = "200", content = @Content),
+            @ApiResponse(description = "Accepted", responseCode = "202",
+                content = @Content(schema = @Schema(implementation = EmailDeliveryDTO.class))),
             @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
             @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Service Unavailable", responseCode = "503", content = @Content),
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
         }
     )
-    ResponseEntity<String> sendEmail(EmailRequestDTO emailRequestDTO);
+    ResponseEntity<EmailDeliveryDTO> sendEmail(EmailRequestDTO emailRequestDTO);
 
     // SEND EMAIL WITH ATTACHMENT
     @Operation(
             summary = "Send an E-mail with Attachment",
-            description = "Sends an e-mail with Attachment by providing details, subject and body.",
+            description = "Queues an e-mail with Attachment by providing details, subject and body. Returns the message id to follow the delivery.",
             tags = {"E-mail"},
             responses = {
-                    @ApiResponse(description = "Success", responseCode = "200", content = @Content),
+                    @ApiResponse(description = "Accepted", responseCode = "202",
+                        content = @Content(schema = @Schema(implementation = EmailDeliveryDTO.class))),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Service Unavailable", responseCode = "503", content = @Content),
                     @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
             }
     )
-    ResponseEntity<String> sendEmailWithAttachment(String emailResquestJson, MultipartFile multipartFile);
-
-
+    ResponseEntity<EmailDeliveryDTO> sendEmailWithAttachment(String emailResquestJson, MultipartFile multipartFile);
 
+    // DELIVERY STATUS
+    @Operation(
+            summary = "Finds the delivery status of an E-mail",
+            description = "Returns the status (QUEUED, SENDING, RETRYING, SENT or FAILED), attempts and last error of a queued e-mail.",
+            tags = {"E-mail"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                        content = @Content(schema = @Schema(implementation = EmailDeliveryDTO.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
+            }
+    )
+    EmailDeliveryDTO findById(String id);
 }
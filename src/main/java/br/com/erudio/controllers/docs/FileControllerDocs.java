@@ -3,10 +3,10 @@ package br.com.erudio.controllers.docs;
 import br.com.erudio.data.dto.v1.UploadFileResponseDTO;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.core.io.Resource;
-import org.springframework.http.ResponseEntity;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @Tag(name = "File Endpoint")
@@ -16,7 +16,9 @@ public interface FileControllerDocs {
 
     List<UploadFileResponseDTO> uploadMultipleFiles(MultipartFile[] files);
 
-    ResponseEntity<Resource> downloadFile(String fileName, HttpServletRequest request);
+    UploadFileResponseDTO uploadStream(String fileName, HttpServletRequest request) throws IOException;
+
+    void downloadFile(String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException;
 
 
 
@@ -1,5 +1,7 @@
 package br.com.erudio.controllers.docs;
 
+import br.com.erudio.data.dto.v1.ImportJobDTO;
+import br.com.erudio.data.dto.v1.ImportSummaryDTO;
 import br.com.erudio.data.dto.v1.PersonDTO;
 import br.com.erudio.file.exporter.MediaTypes;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,15 +10,19 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.core.io.Resource;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 public interface PersonControllerDocs {
@@ -59,7 +65,8 @@ public interface PersonControllerDocs {
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content)
         }
     )
-    ResponseEntity<Resource> export(@PathVariable("id") Long id, HttpServletRequest request);
+    void export(@PathVariable("id") Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException;
 
     // FindAll
     @Operation(
@@ -111,9 +118,35 @@ public interface PersonControllerDocs {
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
         }
     )
-    ResponseEntity<Resource> exportPage(
+    void exportPage(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException;
+
+    // EXPORT ALL (STREAMING)
+    @Operation(
+        summary = "Export All People",
+        description = "Export All People in XLSX or CSV Format, streaming the rows straight from the database.",
+        tags = {"People"},
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = {
+                    @Content(mediaType = MediaTypes.APPLICATION_XLSX_VALUE),
+                    @Content(mediaType = MediaTypes.APPLICATION_CSV_VALUE)
+                }
+            ),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Not Acceptable", responseCode = "406", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+        }
+    )
+    ResponseEntity<StreamingResponseBody> exportAll(
             @RequestParam(value = "direction", defaultValue = "asc") String direction,
             HttpServletRequest request
     );
@@ -121,7 +154,7 @@ public interface PersonControllerDocs {
     // MASSIVE PEOPLE CREATION
     @Operation(
         summary = "Massive People Creation",
-        description = "Massive People Creation with upload of XLSX or CSV",
+        description = "Massive People Creation with upload of XLSX or CSV, returning a summary of the import",
         tags = {"People"},
         responses = {
             @ApiResponse(
@@ -129,7 +162,7 @@ public interface PersonControllerDocs {
                 responseCode = "200",
                 content = {
                     @Content(
-                        schema = @Schema(implementation = PersonDTO.class)
+                        schema = @Schema(implementation = ImportSummaryDTO.class)
                     )
                 }
             ),
@@ -140,7 +173,48 @@ public interface PersonControllerDocs {
             @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
         }
     )
-    List<PersonDTO> massCreation(MultipartFile file);
+    ImportSummaryDTO massCreation(MultipartFile file);
+
+    // ASYNCHRONOUS MASSIVE PEOPLE CREATION
+    @Operation(
+        summary = "Asynchronous Massive People Creation",
+        description = "Uploads a XLSX or CSV and imports it in background, returning the job to be polled",
+        tags = {"People"},
+        responses = {
+            @ApiResponse(
+                description = "Accepted",
+                responseCode = "202",
+                content = {
+                    @Content(
+                        schema = @Schema(implementation = ImportJobDTO.class)
+                    )
+                }
+            ),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Service Unavailable", responseCode = "503", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+        }
+    )
+    ResponseEntity<ImportJobDTO> submitMassCreation(MultipartFile file);
+
+    // MASSIVE PEOPLE CREATION STATUS
+    @Operation(
+        summary = "Massive People Creation Status",
+        description = "Finds the progress of an asynchronous import: rows read, imported and failed, throughput and ETA",
+        tags = {"People"},
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = @Content(schema = @Schema(implementation = ImportJobDTO.class))
+            ),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+        }
+    )
+    ImportJobDTO findMassCreationJob(@PathVariable("jobId") String jobId);
 
     // FIND PEOPLE BY NAME
     @Operation(
@@ -172,6 +246,118 @@ public interface PersonControllerDocs {
             @RequestParam(value = "direction", defaultValue = "asc") String direction
     );
 
+    // FIND ALL (SLICE)
+    @Operation(
+        summary = "Find a slice of People",
+        description = "Finds People without counting the whole table: the page metadata has no totals, a next link is present when there are more People and the X-Approximate-Total-Count header carries a cached total",
+        tags = {"People"},
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = {
+                    @Content(
+                        mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        array = @ArraySchema(schema = @Schema(implementation = PersonDTO.class))
+                    )
+                }
+            ),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+        }
+    )
+    ResponseEntity<SlicedModel<EntityModel<PersonDTO>>> findAllSlice(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    );
+
+    // FIND PEOPLE BY NAME (SLICE)
+    @Operation(
+        summary = "Find a slice of People by first name",
+        description = "Finds People by their first name without a count query: the page metadata has no totals and a next link is present when there are more matches",
+        tags = {"People"},
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = {
+                    @Content(
+                        mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        array = @ArraySchema(schema = @Schema(implementation = PersonDTO.class))
+                    )
+                }
+            ),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+        }
+    )
+    ResponseEntity<SlicedModel<EntityModel<PersonDTO>>> findPeopleByNameSlice(
+            @PathVariable("firstName") String firstName,
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    );
+
+    // SCROLL (KEYSET)
+    @Operation(
+        summary = "Scroll through People",
+        description = "Lists People with keyset pagination: pass the cursor from the previous response's next link to get the following page. Runs no count query and keeps the same latency at any depth",
+        tags = {"People"},
+        responses = {
+            @ApiResponse(
+                description = "Success",
+                responseCode = "200",
+                content = {
+                    @Content(
+                        mediaType = MediaType.APPLICATION_JSON_VALUE,
+                        array = @ArraySchema(schema = @Schema(implementation = PersonDTO.class))
+                    )
+                }
+            ),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+            @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+            @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+        }
+    )
+    ResponseEntity<CollectionModel<PersonDTO>> scroll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    );
+
+    // SEARCH PEOPLE BY NAME
+    @Operation(
+            summary = "Search People by name",
+            description = "Finds People whose first or last name starts with (mode=prefix) or contains (mode=contains) the given name",
+            tags = {"People"},
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(schema = @Schema(implementation = PersonDTO.class))
+                                    )
+                            }
+                    ),
+                    @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Server Error", responseCode = "500", content = @Content),
+            }
+    )
+    ResponseEntity<PagedModel<EntityModel<PersonDTO>>> searchPeople(
+            @RequestParam(value = "name") String name,
+            @RequestParam(value = "mode", defaultValue = "prefix") String mode,
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    );
+
     // CREATE
     @Operation(summary = "Adds a new Person",
             description = "Adds a new person by passing in a JSON, XML or YML representation of the person.",
@@ -1,6 +1,7 @@
 package br.com.erudio.data.dto.request;
 
 
+import java.util.List;
 import java.util.Objects;
 
 public class EmailRequestDTO {
@@ -9,6 +10,9 @@ public class EmailRequestDTO {
     private String subject;
     private String body;
 
+    // Nomes de arquivos já enviados ao FileStorageService, anexados sem cópia
+    private List<String> attachments;
+
     public EmailRequestDTO() {}
 
     public String getTo() {
@@ -35,15 +39,23 @@ public class EmailRequestDTO {
         this.body = body;
     }
 
+    public List<String> getAttachments() {
+        return attachments;
+    }
+
+    public void setAttachments(List<String> attachments) {
+        this.attachments = attachments;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         EmailRequestDTO that = (EmailRequestDTO) o;
-        return Objects.equals(to, that.to) && Objects.equals(subject, that.subject) && Objects.equals(body, that.body);
+        return Objects.equals(to, that.to) && Objects.equals(subject, that.subject) && Objects.equals(body, that.body) && Objects.equals(attachments, that.attachments);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(to, subject, body);
+        return Objects.hash(to, subject, body, attachments);
     }
 }
@@ -0,0 +1,107 @@
+package br.com.erudio.data.dto.v1;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+public class EmailDeliveryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+    private String status;
+    private List<String> recipients;
+    private String subject;
+    private int attempts;
+    private Date submittedAt;
+    private Date nextAttemptAt;
+    private Date finishedAt;
+    private String errorMessage;
+
+    public EmailDeliveryDTO() {}
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    public void setRecipients(List<String> recipients) {
+        this.recipients = recipients;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public Date getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Date submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Date nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        EmailDeliveryDTO that = (EmailDeliveryDTO) o;
+        return attempts == that.attempts && Objects.equals(id, that.id) && Objects.equals(status, that.status) && Objects.equals(recipients, that.recipients) && Objects.equals(subject, that.subject) && Objects.equals(submittedAt, that.submittedAt) && Objects.equals(nextAttemptAt, that.nextAttemptAt) && Objects.equals(finishedAt, that.finishedAt) && Objects.equals(errorMessage, that.errorMessage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, status, recipients, subject, attempts, submittedAt, nextAttemptAt, finishedAt, errorMessage);
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.erudio.data.dto.v1;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class ImportFailureDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long lineNumber;
+    private String message;
+
+    public ImportFailureDTO() {}
+
+    public ImportFailureDTO(long lineNumber, String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportFailureDTO that = (ImportFailureDTO) o;
+        return lineNumber == that.lineNumber && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lineNumber, message);
+    }
+}
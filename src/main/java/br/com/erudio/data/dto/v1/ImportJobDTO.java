@@ -0,0 +1,143 @@
+package br.com.erudio.data.dto.v1;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+public class ImportJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String jobId;
+    private String fileName;
+    private String status;
+    private Date submittedAt;
+    private Date finishedAt;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private double rowsPerSecond;
+    private Long etaMillis;
+    private String errorMessage;
+    private List<ImportFailureDTO> failures;
+    private List<ImportStageDTO> stages;
+
+    public ImportJobDTO() {}
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Date submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Date finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public Long getEtaMillis() {
+        return etaMillis;
+    }
+
+    public void setEtaMillis(Long etaMillis) {
+        this.etaMillis = etaMillis;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public List<ImportFailureDTO> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<ImportFailureDTO> failures) {
+        this.failures = failures;
+    }
+
+    public List<ImportStageDTO> getStages() {
+        return stages;
+    }
+
+    public void setStages(List<ImportStageDTO> stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportJobDTO that = (ImportJobDTO) o;
+        return rowsRead == that.rowsRead && rowsImported == that.rowsImported && rowsFailed == that.rowsFailed && Double.compare(rowsPerSecond, that.rowsPerSecond) == 0 && Objects.equals(jobId, that.jobId) && Objects.equals(fileName, that.fileName) && Objects.equals(status, that.status) && Objects.equals(submittedAt, that.submittedAt) && Objects.equals(finishedAt, that.finishedAt) && Objects.equals(etaMillis, that.etaMillis) && Objects.equals(errorMessage, that.errorMessage) && Objects.equals(failures, that.failures) && Objects.equals(stages, that.stages);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobId, fileName, status, submittedAt, finishedAt, rowsRead, rowsImported, rowsFailed, rowsPerSecond, etaMillis, errorMessage, failures, stages);
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.erudio.data.dto.v1;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class ImportStageDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String name;
+    private int threads;
+    private long rows;
+    private double rowsPerSecond;
+    private long busyMillis;
+    private long waitMillis;
+
+    public ImportStageDTO() {}
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public long getBusyMillis() {
+        return busyMillis;
+    }
+
+    public void setBusyMillis(long busyMillis) {
+        this.busyMillis = busyMillis;
+    }
+
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    public void setWaitMillis(long waitMillis) {
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportStageDTO that = (ImportStageDTO) o;
+        return threads == that.threads && rows == that.rows && Double.compare(rowsPerSecond, that.rowsPerSecond) == 0 && busyMillis == that.busyMillis && waitMillis == that.waitMillis && Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, threads, rows, rowsPerSecond, busyMillis, waitMillis);
+    }
+}
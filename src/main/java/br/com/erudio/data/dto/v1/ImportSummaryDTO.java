@@ -0,0 +1,80 @@
+package br.com.erudio.data.dto.v1;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public class ImportSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private long elapsedMillis;
+    private List<ImportFailureDTO> failures = new ArrayList<>();
+    private List<ImportStageDTO> stages = new ArrayList<>();
+
+    public ImportSummaryDTO() {}
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(long failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<ImportFailureDTO> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<ImportFailureDTO> failures) {
+        this.failures = failures;
+    }
+
+    public List<ImportStageDTO> getStages() {
+        return stages;
+    }
+
+    public void setStages(List<ImportStageDTO> stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportSummaryDTO that = (ImportSummaryDTO) o;
+        return totalRows == that.totalRows && importedRows == that.importedRows && failedRows == that.failedRows && elapsedMillis == that.elapsedMillis && Objects.equals(failures, that.failures) && Objects.equals(stages, that.stages);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalRows, importedRows, failedRows, elapsedMillis, failures, stages);
+    }
+}
@@ -28,6 +28,15 @@ public class PersonDTO extends RepresentationModel<PersonDTO> implements Seriali
 
     public PersonDTO() {}
 
+    public PersonDTO(Long id, String firstName, String lastName, String address, String gender, Boolean enabled) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.address = address;
+        this.gender = gender;
+        this.enabled = enabled;
+    }
+
     public Long getId() {
         return id;
     }
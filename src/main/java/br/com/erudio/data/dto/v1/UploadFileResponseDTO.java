@@ -11,6 +11,8 @@ public class UploadFileResponseDTO implements Serializable {
     private String fileDownloadUri;
     private String fileType;
     private long size;
+    private long elapsedMillis;
+    private double bytesPerSecond;
 
     public UploadFileResponseDTO() {}
 
@@ -53,15 +55,31 @@ public class UploadFileResponseDTO implements Serializable {
         this.size = size;
     }
 
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public void setBytesPerSecond(double bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         UploadFileResponseDTO that = (UploadFileResponseDTO) o;
-        return size == that.size && Objects.equals(fileName, that.fileName) && Objects.equals(fileDownloadUri, that.fileDownloadUri) && Objects.equals(fileType, that.fileType);
+        return size == that.size && elapsedMillis == that.elapsedMillis && Double.compare(bytesPerSecond, that.bytesPerSecond) == 0 && Objects.equals(fileName, that.fileName) && Objects.equals(fileDownloadUri, that.fileDownloadUri) && Objects.equals(fileType, that.fileType);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(fileName, fileDownloadUri, fileType, size);
+        return Objects.hash(fileName, fileDownloadUri, fileType, size, elapsedMillis, bytesPerSecond);
     }
 }
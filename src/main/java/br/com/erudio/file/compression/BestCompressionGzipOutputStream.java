@@ -0,0 +1,15 @@
+package br.com.erudio.file.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// gzip no nível máximo, para conteúdo comprimido uma vez e servido muitas vezes
+public class BestCompressionGzipOutputStream extends GZIPOutputStream {
+
+    public BestCompressionGzipOutputStream(OutputStream out) throws IOException {
+        super(out, 64 * 1024);
+        def.setLevel(Deflater.BEST_COMPRESSION);
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.erudio.file.compression;
+
+import java.util.Locale;
+
+// Negociação de Content-Encoding a partir do cabeçalho Accept-Encoding
+public final class ContentEncodings {
+
+    public static final String GZIP = "gzip";
+
+    private ContentEncodings() {}
+
+    // true quando o cliente aceita a codificação com q > 0, pelo nome ou por "*"; o nome explícito prevalece
+    public static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return false;
+
+        Boolean wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) accepted = quality(parameter.substring(2)) > 0;
+            }
+
+            if (name.equals(coding)) return accepted;
+            if (name.equals("*")) wildcard = accepted;
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
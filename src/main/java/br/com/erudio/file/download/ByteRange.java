@@ -0,0 +1,48 @@
+package br.com.erudio.file.download;
+
+import org.springframework.http.HttpRange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Intervalo de bytes [start, end] (inclusivo) de um arquivo com 'total' bytes
+public record ByteRange(long start, long end, long total) {
+
+    public static ByteRange full(long total) {
+        return new ByteRange(0, total - 1, total);
+    }
+
+    // Converte o header Range. null quando o header deve ser ignorado (sintaxe inválida ou unidade
+    // diferente de bytes): a resposta é o arquivo inteiro. Intervalos não satisfatíveis são descartados;
+    // lista vazia quando nenhum era (416).
+    public static List<ByteRange> parse(String rangeHeader, long total) {
+        List<HttpRange> requested;
+        try {
+            requested = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (requested.isEmpty()) return null;
+
+        List<ByteRange> ranges = new ArrayList<>();
+        for (HttpRange range : requested) {
+            try {
+                long start = range.getRangeStart(total);
+                long end = range.getRangeEnd(total);
+                // Um intervalo vazio (ex.: sufixo "-0") não cobre nenhum byte
+                if (start <= end) ranges.add(new ByteRange(start, end, total));
+            } catch (IllegalArgumentException e) {
+                // Começa depois do fim do arquivo: só este intervalo é descartado
+            }
+        }
+        return ranges;
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public String contentRange() {
+        return "bytes " + start + "-" + end + "/" + total;
+    }
+}
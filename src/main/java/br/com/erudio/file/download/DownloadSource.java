@@ -0,0 +1,73 @@
+package br.com.erudio.file.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+// Conteúdo de um download: um arquivo local (sendfile/transferTo) ou um objeto remoto lido por intervalos
+public interface DownloadSource {
+
+    long size();
+
+    long lastModified();
+
+    // Arquivo local, quando existe; null para objetos remotos
+    Path localFile();
+
+    void transferTo(ByteRange range, OutputStream out) throws IOException;
+
+    @FunctionalInterface
+    interface RangeOpener {
+        InputStream open(long offset, long length) throws IOException;
+    }
+
+    static DownloadSource of(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return new LocalFile(file, attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    static DownloadSource of(long size, long lastModified, RangeOpener opener) {
+        return new Remote(size, lastModified, opener);
+    }
+
+    record LocalFile(Path localFile, long size, long lastModified) implements DownloadSource {
+
+        @Override
+        public void transferTo(ByteRange range, OutputStream out) throws IOException {
+            WritableByteChannel target = Channels.newChannel(out);
+            try (FileChannel channel = FileChannel.open(localFile, StandardOpenOption.READ)) {
+                long position = range.start();
+                long remaining = range.length();
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, target);
+                    // Arquivo truncado durante o envio
+                    if (sent <= 0 && position >= channel.size()) throw new IOException("File changed during download");
+                    position += sent;
+                    remaining -= sent;
+                }
+            }
+        }
+    }
+
+    record Remote(long size, long lastModified, RangeOpener opener) implements DownloadSource {
+
+        @Override
+        public Path localFile() {
+            return null;
+        }
+
+        @Override
+        public void transferTo(ByteRange range, OutputStream out) throws IOException {
+            try (InputStream in = opener.open(range.start(), range.length())) {
+                if (in.transferTo(out) != range.length()) throw new IOException("Object changed during download");
+            }
+        }
+    }
+}
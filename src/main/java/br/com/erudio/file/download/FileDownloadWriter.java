@@ -0,0 +1,190 @@
+package br.com.erudio.file.download;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+// Escreve um arquivo na resposta com suporte a GET condicional (ETag/Last-Modified),
+// Range (206, um ou vários intervalos) e, para arquivos locais, envio sem cópia para a
+// memória da JVM: sendfile do Tomcat quando disponível, senão FileChannel.transferTo.
+// Objetos remotos são lidos do backend só nos intervalos pedidos.
+@Component
+public class FileDownloadWriter {
+
+    // Atributos do Tomcat para delegar o envio ao sendfile do conector (mesmos usados pelo DefaultServlet)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Abaixo disso o sendfile não compensa (mesmo limite padrão do DefaultServlet)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final String CRLF = "\r\n";
+
+    @Autowired
+    private MimeTypeResolver mimeTypes;
+
+    public FileDownloadWriter() {}
+
+    public FileDownloadWriter(MimeTypeResolver mimeTypes) {
+        this.mimeTypes = mimeTypes;
+    }
+
+    public void write(Path file, String downloadName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        write(DownloadSource.of(file), downloadName, request, response);
+    }
+
+    public void write(DownloadSource source, String downloadName, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        write(source, downloadName, null, request, response);
+    }
+
+    // contentEncoding: codificação em que o conteúdo já está gravado (ex.: variante gzip); null para o original.
+    // Os intervalos de um Range se referem aos bytes codificados, como em qualquer representação.
+    public void write(DownloadSource source, String downloadName, String contentEncoding, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        write(source, downloadName, null, contentEncoding, request, response);
+    }
+
+    // contentType: tipo já negociado por quem chama (ex.: relatórios exportados); null resolve pelo nome do arquivo
+    public void write(DownloadSource source, String downloadName, MediaType contentType, String contentEncoding,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        long total = source.size();
+        long lastModified = source.lastModified();
+        String eTag = "\"" + Long.toHexString(total) + "-" + Long.toHexString(lastModified)
+                + (contentEncoding != null ? "-" + contentEncoding : "") + "\"";
+
+        // 304 (If-None-Match/If-Modified-Since) ou 412 (If-Match/If-Unmodified-Since); também grava ETag e Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) return;
+
+        if (contentType == null) contentType = mimeTypes.resolve(downloadName, request.getServletContext());
+        if (contentEncoding != null) response.setHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(downloadName, StandardCharsets.UTF_8).build().toString());
+
+        List<ByteRange> ranges = requestedRanges(request, eTag, lastModified, total);
+        if (ranges != null && ranges.isEmpty()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + total);
+            return;
+        }
+
+        boolean head = "HEAD".equalsIgnoreCase(request.getMethod());
+
+        if (ranges == null || total == 0) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(total);
+            if (!head && total > 0) writeRange(source, ByteRange.full(total), request, response);
+        } else if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType(contentType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange());
+            response.setContentLengthLong(range.length());
+            if (!head) writeRange(source, range, request, response);
+        } else {
+            writeMultipart(source, ranges, contentType, head, response);
+        }
+    }
+
+    // null quando a resposta deve ser o arquivo inteiro; vazia quando nenhum intervalo é satisfatível
+    private static List<ByteRange> requestedRanges(HttpServletRequest request, String eTag, long lastModified, long total) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || total == 0) return null;
+
+        // If-Range: os intervalos só valem se o cliente ainda tem a mesma versão do arquivo
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            boolean sameVersion;
+            try {
+                sameVersion = ifRange.startsWith("\"") || ifRange.startsWith("W/")
+                        ? ifRange.equals(eTag)
+                        : request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+            } catch (IllegalArgumentException e) {
+                // Data inválida: não há como confirmar a versão
+                sameVersion = false;
+            }
+            if (!sameVersion) return null;
+        }
+
+        List<ByteRange> ranges = ByteRange.parse(rangeHeader, total);
+        if (ranges == null) return null;
+
+        // Intervalos sobrepostos somando mais que o arquivo: envia o arquivo inteiro uma única vez
+        long requested = ranges.stream().mapToLong(ByteRange::length).sum();
+        return ranges.size() > 1 && requested > total ? null : ranges;
+    }
+
+    private void writeRange(DownloadSource source, ByteRange range, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+
+        Path file = source.localFile();
+        if (file != null && range.length() >= SENDFILE_MIN_SIZE
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // O conector envia direto do page cache para o socket depois que o servlet retorna
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        source.transferTo(range, out);
+        out.flush();
+    }
+
+    private void writeMultipart(DownloadSource source, List<ByteRange> ranges, MediaType contentType, boolean head,
+                                HttpServletResponse response) throws IOException {
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+
+        long contentLength = 0;
+        for (ByteRange range : ranges) {
+            contentLength += partHeader(boundary, contentType, range).length + range.length();
+        }
+        contentLength += closeDelimiter(boundary).length;
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) return;
+
+        OutputStream out = response.getOutputStream();
+        for (ByteRange range : ranges) {
+            out.write(partHeader(boundary, contentType, range));
+            out.flush();
+            source.transferTo(range, out);
+        }
+        out.write(closeDelimiter(boundary));
+        out.flush();
+    }
+
+    private static byte[] partHeader(String boundary, MediaType contentType, ByteRange range) {
+        return (CRLF + "--" + boundary + CRLF
+                + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                + HttpHeaders.CONTENT_RANGE + ": " + range.contentRange() + CRLF
+                + CRLF).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] closeDelimiter(String boundary) {
+        return (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+    }
+}
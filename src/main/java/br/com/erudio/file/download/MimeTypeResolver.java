@@ -0,0 +1,35 @@
+package br.com.erudio.file.download;
+
+import jakarta.servlet.ServletContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tipo MIME por extensão, resolvido uma única vez por extensão
+@Component
+public class MimeTypeResolver {
+
+    private final Map<String, MediaType> byExtension = new ConcurrentHashMap<>();
+
+    public MediaType resolve(String fileName, ServletContext servletContext) {
+        String extension = StringUtils.getFilenameExtension(fileName);
+        String key = extension == null ? "" : extension.toLowerCase(Locale.ROOT);
+
+        return byExtension.computeIfAbsent(key, k -> detect(k, servletContext));
+    }
+
+    private static MediaType detect(String extension, ServletContext servletContext) {
+        if (extension.isEmpty()) return MediaType.APPLICATION_OCTET_STREAM;
+
+        String fileName = "file." + extension;
+        String mimeType = servletContext != null ? servletContext.getMimeType(fileName) : null;
+        if (mimeType != null) return MediaType.parseMediaType(mimeType);
+
+        return MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
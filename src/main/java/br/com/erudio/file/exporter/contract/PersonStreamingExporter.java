@@ -0,0 +1,13 @@
+package br.com.erudio.file.exporter.contract;
+
+import br.com.erudio.data.dto.v1.PersonDTO;
+
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+// Exporta as pessoas escrevendo direto no OutputStream, sem montar o arquivo em memória
+public interface PersonStreamingExporter {
+
+    void exportPeople(Stream<PersonDTO> people, OutputStream outputStream) throws Exception;
+
+}
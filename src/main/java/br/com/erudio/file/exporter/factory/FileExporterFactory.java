@@ -3,6 +3,7 @@ package br.com.erudio.file.exporter.factory;
 import br.com.erudio.exception.BadRequestException;
 import br.com.erudio.file.exporter.MediaTypes;
 import br.com.erudio.file.exporter.contract.PersonExporter;
+import br.com.erudio.file.exporter.contract.PersonStreamingExporter;
 import br.com.erudio.file.exporter.impl.CsvExporter;
 import br.com.erudio.file.exporter.impl.PdfExporter;
 import br.com.erudio.file.exporter.impl.XlsxExporter;
@@ -33,4 +34,14 @@ public class FileExporterFactory {
         }
     }
 
+    public PersonStreamingExporter getStreamingExporter(String acceptHeader) throws Exception {
+        if (acceptHeader.equalsIgnoreCase(MediaTypes.APPLICATION_XLSX_VALUE)) {
+            return context.getBean(XlsxExporter.class);
+        } else if (acceptHeader.equalsIgnoreCase(MediaTypes.APPLICATION_CSV_VALUE)) {
+            return context.getBean(CsvExporter.class);
+        } else {
+            throw new BadRequestException("Invalid File Format for streaming export!");
+        }
+    }
+
 }
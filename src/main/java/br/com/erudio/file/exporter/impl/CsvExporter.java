@@ -2,47 +2,62 @@ package br.com.erudio.file.exporter.impl;
 
 import br.com.erudio.data.dto.v1.PersonDTO;
 import br.com.erudio.file.exporter.contract.PersonExporter;
+import br.com.erudio.file.exporter.contract.PersonStreamingExporter;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Component
-public class CsvExporter implements PersonExporter {
+public class CsvExporter implements PersonExporter, PersonStreamingExporter {
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.Builder.create()
+            .setHeader("ID", "First Name", "Last Name", "Address", "Gender", "Enabled")
+            .setSkipHeaderRecord(false)
+            .build();
 
     @Override
     public Resource exportPeople(List<PersonDTO> people) throws Exception {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
-        OutputStreamWriter writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-
-        CSVFormat csvFormat = CSVFormat.Builder.create()
-                .setHeader("ID", "First Name", "Last Name", "Address", "Gender", "Enabled")
-                .setSkipHeaderRecord(false)
-                .build();
-
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, csvFormat)) {
-            for (PersonDTO person: people) {
-                csvPrinter.printRecord(
-                    person.getId(),
-                    person.getFirstName(),
-                    person.getLastName(),
-                    person.getAddress(),
-                    person.getGender(),
-                    person.getEnabled()
-                );
-            }
-        }
+        exportPeople(people.stream(), outputStream);
 
         return new ByteArrayResource(outputStream.toByteArray());
     }
 
+    @Override
+    public void exportPeople(Stream<PersonDTO> people, OutputStream outputStream) throws Exception {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        // Não fecha o printer: quem abriu o OutputStream (ex.: a resposta HTTP) é responsável por fechá-lo
+        CSVPrinter csvPrinter = new CSVPrinter(writer, CSV_FORMAT);
+
+        Iterator<PersonDTO> iterator = people.iterator();
+        while (iterator.hasNext()) {
+            PersonDTO person = iterator.next();
+            csvPrinter.printRecord(
+                person.getId(),
+                person.getFirstName(),
+                person.getLastName(),
+                person.getAddress(),
+                person.getGender(),
+                person.getEnabled()
+            );
+        }
+
+        csvPrinter.flush();
+    }
+
     @Override
     public Resource exportPerson(PersonDTO person) throws Exception {
         return null;
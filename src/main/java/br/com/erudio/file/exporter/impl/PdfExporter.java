@@ -2,6 +2,7 @@ package br.com.erudio.file.exporter.impl;
 
 import br.com.erudio.data.dto.v1.PersonDTO;
 import br.com.erudio.file.exporter.contract.PersonExporter;
+import br.com.erudio.file.exporter.template.ReportTemplateRegistry;
 import br.com.erudio.services.QRCodeService;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
@@ -23,14 +24,12 @@ public class PdfExporter implements PersonExporter {
     @Autowired
     private QRCodeService service;
 
+    @Autowired
+    private ReportTemplateRegistry templates;
+
     @Override
     public Resource exportPeople(List<PersonDTO> people) throws Exception {
-        InputStream inputStream = getClass().getResourceAsStream("/templates/person.jrxml");
-        if (inputStream == null) {
-            throw new RuntimeException("Template file not found: /templates/person.jrxml");
-        }
-
-        JasperReport jasperReport = JasperCompileManager.compileReport(inputStream);
+        JasperReport jasperReport = templates.getReport(ReportTemplateRegistry.PERSON_TEMPLATE);
 
         JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(people);
         Map<String, Object> parameters = new HashMap<>();
@@ -45,12 +44,10 @@ public class PdfExporter implements PersonExporter {
 
     @Override
     public Resource exportPerson(PersonDTO person) throws Exception {
-        // Compilar relatórios em memória
-        JasperReport mainReport = JasperCompileManager.compileReport(
-                getClass().getResourceAsStream("/templates/person.jrxml"));
+        // Relatórios já compilados e mantidos em cache pelo registry
+        JasperReport mainReport = templates.getReport(ReportTemplateRegistry.PERSON_TEMPLATE);
 
-        JasperReport subReport = JasperCompileManager.compileReport(
-                getClass().getResourceAsStream("/templates/books.jrxml"));
+        JasperReport subReport = templates.getReport(ReportTemplateRegistry.BOOKS_TEMPLATE);
 
         // Restante do seu código permanece igual...
         InputStream qrCodeStream = service.generateQRCode(person.getProfileUrl(), 200, 200);
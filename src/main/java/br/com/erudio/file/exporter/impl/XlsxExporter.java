@@ -2,60 +2,109 @@ package br.com.erudio.file.exporter.impl;
 
 import br.com.erudio.data.dto.v1.PersonDTO;
 import br.com.erudio.file.exporter.contract.PersonExporter;
+import br.com.erudio.file.exporter.contract.PersonStreamingExporter;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Component
-public class XlsxExporter implements PersonExporter {
+public class XlsxExporter implements PersonExporter, PersonStreamingExporter {
+
+    private static final String[] HEADERS = {"ID", "First Name", "Last Name", "Address", "Gender", "Enabled"};
+
+    // Quantidade de linhas mantidas em memória; as demais são descarregadas em arquivo temporário
+    private static final int ROW_ACCESS_WINDOW = 100;
+
+    // Linhas usadas para estimar a largura das colunas (substitui o autoSizeColumn)
+    private static final int WIDTH_SAMPLE_ROWS = 500;
+
+    private static final int MAX_COLUMN_WIDTH = 60;
+
     @Override
     public Resource exportPeople(List<PersonDTO> people) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("People");
+        exportPeople(people.stream(), outputStream);
 
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "First Name", "Last Name", "Address", "Gender", "Enabled"};
+        return new ByteArrayResource(outputStream.toByteArray());
+    }
 
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
+    @Override
+    public void exportPeople(Stream<PersonDTO> people, OutputStream outputStream) throws Exception {
 
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(createHeaerCellStyle(workbook));
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        workbook.setCompressTempFiles(true);
 
+        try {
+            SXSSFSheet sheet = workbook.createSheet("People");
+
+            CellStyle headerStyle = createHeaderCellStyle(workbook);
+            int[] columnWidths = new int[HEADERS.length];
+
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                Cell cell = headerRow.createCell(i);
+
+                cell.setCellValue(HEADERS[i]);
+                cell.setCellStyle(headerStyle);
+                columnWidths[i] = HEADERS[i].length();
             }
 
             int rowIndex = 1;
-            for (PersonDTO person : people) {
-                Row row = sheet.createRow(rowIndex++);
+            Iterator<PersonDTO> iterator = people.iterator();
+            while (iterator.hasNext()) {
+                PersonDTO person = iterator.next();
+                String[] values = {
+                    String.valueOf(person.getId()),
+                    person.getFirstName(),
+                    person.getLastName(),
+                    person.getAddress(),
+                    person.getGender(),
+                    person.getEnabled() != null && person.getEnabled() ? "Yes" : "No"
+                };
+
+                Row row = sheet.createRow(rowIndex);
                 row.createCell(0).setCellValue(person.getId());
-                row.createCell(1).setCellValue(person.getFirstName());
-                row.createCell(2).setCellValue(person.getLastName());
-                row.createCell(3).setCellValue(person.getAddress());
-                row.createCell(4).setCellValue(person.getGender());
-                row.createCell(5).setCellValue(
-                        person.getEnabled() != null && person.getEnabled() ? "Yes" : "No"
-                );
+                for (int i = 1; i < values.length; i++) {
+                    row.createCell(i).setCellValue(values[i]);
+                }
+
+                if (rowIndex <= WIDTH_SAMPLE_ROWS) sampleColumnWidths(columnWidths, values);
+                rowIndex++;
             }
 
-            // Formatando espaçamentos da coluna
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+            // Formatando espaçamentos da coluna a partir da amostra
+            for (int i = 0; i < HEADERS.length; i++) {
+                sheet.setColumnWidth(i, Math.min(columnWidths[i] + 2, MAX_COLUMN_WIDTH) * 256);
             }
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            // Remove os arquivos temporários gerados pelo SXSSF
+            workbook.dispose();
+            workbook.close();
+        }
+    }
 
-            return new ByteArrayResource(outputStream.toByteArray());
+    private static void sampleColumnWidths(int[] columnWidths, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && values[i].length() > columnWidths[i]) {
+                columnWidths[i] = values[i].length();
+            }
         }
     }
 
-    private CellStyle createHeaerCellStyle(Workbook workbook) {
+    private CellStyle createHeaderCellStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         Font font = workbook.createFont();
 
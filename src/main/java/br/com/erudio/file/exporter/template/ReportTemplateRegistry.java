@@ -0,0 +1,89 @@
+package br.com.erudio.file.exporter.template;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Compila cada template .jrxml uma única vez e reaproveita o JasperReport nas próximas exportações
+@Component
+public class ReportTemplateRegistry {
+
+    public static final String PERSON_TEMPLATE = "/templates/person.jrxml";
+    public static final String BOOKS_TEMPLATE = "/templates/books.jrxml";
+
+    private static final List<String> TEMPLATES = List.of(PERSON_TEMPLATE, BOOKS_TEMPLATE);
+
+    private final Logger logger = LoggerFactory.getLogger(ReportTemplateRegistry.class);
+
+    private final Map<String, CompiledTemplate> cache = new ConcurrentHashMap<>();
+
+    // Em desenvolvimento recompila o template quando o arquivo for alterado
+    @Value("${report.templates.hot-reload:false}")
+    private boolean hotReload;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (String template : TEMPLATES) {
+            try {
+                getReport(template);
+            } catch (Exception e) {
+                logger.error("Could not precompile the report template {}", template, e);
+            }
+        }
+    }
+
+    public JasperReport getReport(String location) {
+        CompiledTemplate cached = cache.get(location);
+        if (cached != null && isFresh(cached)) return cached.report();
+
+        return cache.compute(location, (key, current) ->
+                current != null && isFresh(current) ? current : compile(key)
+        ).report();
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+    private boolean isFresh(CompiledTemplate template) {
+        return !hotReload || template.lastModified() == lastModified(template.location());
+    }
+
+    private CompiledTemplate compile(String location) {
+        logger.info("Compiling report template {}", location);
+
+        long lastModified = lastModified(location);
+        try (InputStream inputStream = getClass().getResourceAsStream(location)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Template file not found: " + location);
+            }
+            return new CompiledTemplate(location, JasperCompileManager.compileReport(inputStream), lastModified);
+        } catch (JRException | IOException e) {
+            throw new IllegalStateException("Error compiling the template " + location, e);
+        }
+    }
+
+    private static long lastModified(String location) {
+        try {
+            return new ClassPathResource(location).lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private record CompiledTemplate(String location, JasperReport report, long lastModified) {}
+
+}
@@ -0,0 +1,238 @@
+package br.com.erudio.file.importer;
+
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.importer.contract.FileImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Pipeline de importação em três estágios ligados por filas limitadas:
+//   leitura (thread chamadora) -> validação/mapeamento (N threads) -> escrita em chunks (M threads)
+// Quando um estágio fica para trás a fila dele enche e o anterior bloqueia, então a memória
+// fica limitada a (capacidade das filas x tamanho dos lotes) independente do tamanho do arquivo.
+// As linhas de um arquivo não são gravadas na ordem original.
+// Os estágios rodam no executor recebido, compartilhado entre as importações: quem cria o
+// pipeline garante que há validatorThreads + writerThreads threads livres para ele.
+public class ImportPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportPipeline.class);
+
+    // Linhas lidas são enviadas para validação em lotes para reduzir a contenção na fila
+    static final int READ_BATCH_SIZE = 256;
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    // Marcador de fim de fluxo (comparado por identidade)
+    private static final List<ImportedRow> END = new ArrayList<>(0);
+
+    private final int validatorThreads;
+    private final int writerThreads;
+    private final int queueCapacity;
+    private final int chunkSize;
+    private final Function<PersonDTO, String> validator;
+    private final Consumer<List<ImportedRow>> chunkWriter;
+    private final ImportProgress progress;
+    private final ExecutorService executor;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public ImportPipeline(int validatorThreads, int writerThreads, int queueCapacity, int chunkSize,
+                          Function<PersonDTO, String> validator, Consumer<List<ImportedRow>> chunkWriter,
+                          ImportProgress progress, ExecutorService executor) {
+        this.validatorThreads = Math.max(1, validatorThreads);
+        this.writerThreads = Math.max(1, writerThreads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.validator = validator;
+        this.chunkWriter = chunkWriter;
+        this.progress = progress;
+        this.executor = executor;
+    }
+
+    public void run(FileImporter importer, InputStream inputStream) throws Exception {
+        BlockingQueue<List<ImportedRow>> readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        // Cada chunk pode ter milhares de linhas: basta uma folga de um chunk por escritor
+        BlockingQueue<List<ImportedRow>> writeQueue = new ArrayBlockingQueue<>(writerThreads);
+
+        ImportStageMetrics readStage = progress.stage("read", 1);
+        ImportStageMetrics validateStage = progress.stage("validate", validatorThreads);
+        ImportStageMetrics writeStage = progress.stage("write", writerThreads);
+
+        List<Future<?>> futures = new ArrayList<>();
+        AtomicInteger runningValidators = new AtomicInteger(validatorThreads);
+
+        try {
+            for (int i = 0; i < validatorThreads; i++) {
+                futures.add(executor.submit(guarded(() -> {
+                    validate(readQueue, writeQueue, validateStage);
+                    // O último validador a terminar avisa os escritores
+                    if (runningValidators.decrementAndGet() == 0) {
+                        for (int w = 0; w < writerThreads; w++) put(writeQueue, END, validateStage);
+                    }
+                })));
+            }
+            for (int i = 0; i < writerThreads; i++) {
+                futures.add(executor.submit(guarded(() -> write(writeQueue, writeStage))));
+            }
+
+            read(importer, inputStream, readQueue, readStage);
+            for (int i = 0; i < validatorThreads; i++) put(readQueue, END, readStage);
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    abort(e.getCause());
+                }
+            }
+        } catch (Exception e) {
+            abort(e);
+        } finally {
+            // Executor compartilhado: interrompe só as tarefas deste pipeline (já terminadas, exceto em falha)
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof Exception e) throw e;
+        if (cause instanceof Error e) throw e;
+        if (cause != null) throw new IllegalStateException(cause);
+    }
+
+    // SECTION: estágios
+
+    private void read(FileImporter importer, InputStream inputStream,
+                      BlockingQueue<List<ImportedRow>> readQueue, ImportStageMetrics stage) throws Exception {
+        List<List<ImportedRow>> batch = new ArrayList<>(1);
+        batch.add(new ArrayList<>(READ_BATCH_SIZE));
+        long start = System.nanoTime();
+        long[] waited = {0};
+
+        importer.importFile(inputStream, row -> {
+            progress.rowRead();
+            stage.rows(1);
+            List<ImportedRow> rows = batch.get(0);
+            rows.add(row);
+            if (rows.size() >= READ_BATCH_SIZE) {
+                waited[0] += put(readQueue, rows, stage);
+                batch.set(0, new ArrayList<>(READ_BATCH_SIZE));
+            }
+        });
+        if (!batch.get(0).isEmpty()) waited[0] += put(readQueue, batch.get(0), stage);
+
+        stage.busy(System.nanoTime() - start - waited[0]);
+    }
+
+    private void validate(BlockingQueue<List<ImportedRow>> readQueue, BlockingQueue<List<ImportedRow>> writeQueue,
+                          ImportStageMetrics stage) {
+        List<ImportedRow> chunk = new ArrayList<>(chunkSize);
+
+        while (true) {
+            List<ImportedRow> rows = take(readQueue, stage);
+            if (rows == END) break;
+
+            long start = System.nanoTime();
+            for (ImportedRow row : rows) {
+                String error = validator.apply(row.person());
+                if (error != null) {
+                    progress.rowFailed(row.lineNumber(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    stage.busy(System.nanoTime() - start);
+                    put(writeQueue, chunk, stage);
+                    chunk = new ArrayList<>(chunkSize);
+                    start = System.nanoTime();
+                }
+            }
+            stage.rows(rows.size());
+            stage.busy(System.nanoTime() - start);
+        }
+
+        if (!chunk.isEmpty()) put(writeQueue, chunk, stage);
+    }
+
+    private void write(BlockingQueue<List<ImportedRow>> writeQueue, ImportStageMetrics stage) {
+        while (true) {
+            List<ImportedRow> chunk = take(writeQueue, stage);
+            if (chunk == END) break;
+
+            long start = System.nanoTime();
+            chunkWriter.accept(chunk);
+            stage.rows(chunk.size());
+            stage.busy(System.nanoTime() - start);
+        }
+    }
+
+    // Uma falha em qualquer estágio interrompe os demais, inclusive a leitura bloqueada em uma fila cheia
+    private Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                abort(e);
+                throw e;
+            }
+        };
+    }
+
+    // SECTION: filas
+
+    // Bloqueia enquanto a fila estiver cheia (backpressure) e retorna o tempo esperado em nanos
+    private long put(BlockingQueue<List<ImportedRow>> queue, List<ImportedRow> item, ImportStageMetrics stage) {
+        long start = System.nanoTime();
+        try {
+            while (!queue.offer(item, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkNotAborted();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import pipeline interrupted");
+        }
+        long waited = System.nanoTime() - start;
+        stage.waited(waited);
+        return waited;
+    }
+
+    private List<ImportedRow> take(BlockingQueue<List<ImportedRow>> queue, ImportStageMetrics stage) {
+        long start = System.nanoTime();
+        try {
+            List<ImportedRow> item;
+            while ((item = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                checkNotAborted();
+            }
+            return item;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import pipeline interrupted");
+        } finally {
+            stage.waited(System.nanoTime() - start);
+        }
+    }
+
+    private void checkNotAborted() {
+        if (failure.get() != null) throw new CancellationException("Import pipeline aborted");
+    }
+
+    // Guarda apenas a primeira falha; as demais threads saem pelo checkNotAborted
+    private void abort(Throwable cause) {
+        if (cause instanceof CancellationException && failure.get() != null) return;
+        if (failure.compareAndSet(null, cause)) {
+            logger.error("Import pipeline aborted: {}", cause.getMessage());
+        }
+    }
+}
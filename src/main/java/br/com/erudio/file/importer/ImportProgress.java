@@ -0,0 +1,103 @@
+package br.com.erudio.file.importer;
+
+import br.com.erudio.data.dto.v1.ImportFailureDTO;
+import br.com.erudio.data.dto.v1.ImportStageDTO;
+import br.com.erudio.data.dto.v1.ImportSummaryDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Contadores de uma importação em andamento; podem ser lidos por outra thread enquanto a importação roda
+public class ImportProgress {
+
+    private final int maxReportedFailures;
+    private volatile long startedAt = System.currentTimeMillis();
+    private volatile long finishedAt;
+
+    private final AtomicLong totalRows = new AtomicLong();
+    private final AtomicLong importedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private final List<ImportFailureDTO> failures = new CopyOnWriteArrayList<>();
+    private final List<ImportStageMetrics> stages = new CopyOnWriteArrayList<>();
+
+    public ImportProgress(int maxReportedFailures) {
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    // Reinicia o relógio quando a importação sai da fila e começa de fato
+    public void start() {
+        startedAt = System.currentTimeMillis();
+    }
+
+    public void rowRead() {
+        totalRows.incrementAndGet();
+    }
+
+    public void rowsImported(long count) {
+        importedRows.addAndGet(count);
+    }
+
+    public void rowFailed(long lineNumber, String message) {
+        failedRows.incrementAndGet();
+        if (failures.size() < maxReportedFailures) {
+            failures.add(new ImportFailureDTO(lineNumber, message));
+        }
+    }
+
+    public ImportStageMetrics stage(String name, int threads) {
+        ImportStageMetrics stage = new ImportStageMetrics(name, threads);
+        stages.add(stage);
+        return stage;
+    }
+
+    public void finish() {
+        finishedAt = System.currentTimeMillis();
+    }
+
+    public long getTotalRows() {
+        return totalRows.get();
+    }
+
+    public long getImportedRows() {
+        return importedRows.get();
+    }
+
+    public long getFailedRows() {
+        return failedRows.get();
+    }
+
+    public long getProcessedRows() {
+        return importedRows.get() + failedRows.get();
+    }
+
+    public List<ImportFailureDTO> getFailures() {
+        return failures;
+    }
+
+    public List<ImportStageDTO> getStages() {
+        long elapsed = getElapsedMillis();
+        return stages.stream().map(stage -> stage.toDTO(elapsed)).toList();
+    }
+
+    public long getElapsedMillis() {
+        return (finishedAt > 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+    }
+
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? getProcessedRows() * 1000.0 / elapsed : 0;
+    }
+
+    public ImportSummaryDTO toSummary() {
+        ImportSummaryDTO summary = new ImportSummaryDTO();
+        summary.setTotalRows(getTotalRows());
+        summary.setImportedRows(getImportedRows());
+        summary.setFailedRows(getFailedRows());
+        summary.setElapsedMillis(getElapsedMillis());
+        summary.setFailures(new ArrayList<>(failures));
+        summary.setStages(new ArrayList<>(getStages()));
+        return summary;
+    }
+}
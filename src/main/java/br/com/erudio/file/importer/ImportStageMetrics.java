@@ -0,0 +1,53 @@
+package br.com.erudio.file.importer;
+
+import br.com.erudio.data.dto.v1.ImportStageDTO;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Métricas de um estágio do pipeline de importação (leitura, validação ou escrita).
+// busy = tempo trabalhando; wait = tempo bloqueado em uma fila (cheia na saída ou vazia na entrada).
+public class ImportStageMetrics {
+
+    private final String name;
+    private final int threads;
+
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    public ImportStageMetrics(String name, int threads) {
+        this.name = name;
+        this.threads = threads;
+    }
+
+    public void rows(long count) {
+        rows.addAndGet(count);
+    }
+
+    public void busy(long nanos) {
+        busyNanos.addAndGet(nanos);
+    }
+
+    public void waited(long nanos) {
+        waitNanos.addAndGet(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public ImportStageDTO toDTO(long elapsedMillis) {
+        ImportStageDTO dto = new ImportStageDTO();
+        dto.setName(name);
+        dto.setThreads(threads);
+        dto.setRows(rows.get());
+        dto.setRowsPerSecond(elapsedMillis > 0 ? rows.get() * 1000.0 / elapsedMillis : 0);
+        dto.setBusyMillis(busyNanos.get() / 1_000_000);
+        dto.setWaitMillis(waitNanos.get() / 1_000_000);
+        return dto;
+    }
+}
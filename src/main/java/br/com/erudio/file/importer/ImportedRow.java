@@ -0,0 +1,6 @@
+package br.com.erudio.file.importer;
+
+import br.com.erudio.data.dto.v1.PersonDTO;
+
+// Linha lida do arquivo importado junto com o seu número no arquivo original
+public record ImportedRow(long lineNumber, PersonDTO person) {}
@@ -0,0 +1,55 @@
+package br.com.erudio.file.importer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Conta os bytes já lidos do arquivo para estimar o progresso da importação
+public class ProgressInputStream extends FilterInputStream {
+
+    private volatile long bytesRead;
+
+    // Arquivo lido, quando o stream vem de um arquivo local (null nos demais casos)
+    private final Path file;
+
+    public ProgressInputStream(InputStream in) {
+        super(in);
+        this.file = null;
+    }
+
+    public ProgressInputStream(Path file) throws IOException {
+        super(Files.newInputStream(file));
+        this.file = file;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) bytesRead++;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) bytesRead += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        bytesRead += skipped;
+        return skipped;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -1,12 +1,22 @@
 package br.com.erudio.file.importer.contract;
 
 import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.importer.ImportedRow;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FileImporter {
 
-    List<PersonDTO> importFile(InputStream inputStream) throws Exception;
+    // Entrega cada linha ao consumer assim que ela é lida
+    void importFile(InputStream inputStream, Consumer<ImportedRow> consumer) throws Exception;
+
+    default List<PersonDTO> importFile(InputStream inputStream) throws Exception {
+        List<PersonDTO> people = new ArrayList<>();
+        importFile(inputStream, row -> people.add(row.person()));
+        return people;
+    }
 
 }
@@ -1,21 +1,24 @@
 package br.com.erudio.file.importer.impl;
 
 import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.importer.ImportedRow;
 import br.com.erudio.file.importer.contract.FileImporter;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.io.input.BOMInputStream;
 import org.springframework.stereotype.Component;
 
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 
 @Component
 public class CsvImporter implements FileImporter {
 
     @Override
-    public List<PersonDTO> importFile(InputStream inputStream) throws Exception {
+    public void importFile(InputStream inputStream, Consumer<ImportedRow> consumer) throws Exception {
         CSVFormat format = CSVFormat.Builder.create()
                 .setHeader()
                 .setSkipHeaderRecord(true)
@@ -23,29 +26,28 @@ public class CsvImporter implements FileImporter {
                 .setTrim(true)
                 .build();
         
-        Iterable<CSVRecord> records = format.parse(new InputStreamReader(inputStream));
-        
-        return parseRecordsToPersonDTOs(records);
-    }
-
-    private List<PersonDTO> parseRecordsToPersonDTOs(Iterable<CSVRecord> records) {
-
-        List<PersonDTO> people = new ArrayList<>();
+        // Os registros são lidos sob demanda; o BOM que o Excel grava em CSVs UTF-8 é descartado
+        Reader reader = new InputStreamReader(BOMInputStream.builder().setInputStream(inputStream).get(), StandardCharsets.UTF_8);
+        Iterable<CSVRecord> records = format.parse(reader);
 
+        // A linha 1 é o cabeçalho
+        long lineNumber = 1;
         for (CSVRecord record: records) {
+            consumer.accept(new ImportedRow(++lineNumber, parseRecordToPersonDTO(record)));
+        }
+    }
 
-            PersonDTO person = new PersonDTO();
+    private PersonDTO parseRecordToPersonDTO(CSVRecord record) {
 
-            person.setFirstName(record.get("first_name"));
-            person.setLastName(record.get("last_name"));
-            person.setAddress(record.get("address"));
-            person.setGender(record.get("gender"));
-            person.setEnabled(true);
+        PersonDTO person = new PersonDTO();
 
-            people.add(person);
-        }
+        person.setFirstName(record.get("first_name"));
+        person.setLastName(record.get("last_name"));
+        person.setAddress(record.get("address"));
+        person.setGender(record.get("gender"));
+        person.setEnabled(true);
 
-        return people;
+        return person;
     }
 
 }
@@ -1,58 +1,115 @@
 package br.com.erudio.file.importer.impl;
 
 import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.importer.ImportedRow;
+import br.com.erudio.file.importer.ProgressInputStream;
 import br.com.erudio.file.importer.contract.FileImporter;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Iterator;
-import java.util.List;
+import java.util.function.Consumer;
 
+// Lê a primeira planilha pelo modelo de eventos (SAX) do POI: as linhas são entregues
+// conforme o XML é lido, sem carregar o DOM do workbook em memória.
 @Component
 public class XlsxImporter implements FileImporter {
 
-    @Override
-    public List<PersonDTO> importFile(InputStream inputStream) throws Exception {
-
-        try (XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
-            XSSFSheet sheet = workbook.getSheetAt(0);
-            Iterator<Row> rowIterator = sheet.iterator();
+    private static final int COLUMNS = 4;
 
-            if (rowIterator.hasNext()) rowIterator.next();
+    @Override
+    public void importFile(InputStream inputStream, Consumer<ImportedRow> consumer) throws Exception {
 
-            return parseRowsToPersonDtoList(rowIterator);
+        // Arquivo já em disco (importação assíncrona): o OPCPackage abre o próprio arquivo, sem outra cópia
+        if (inputStream instanceof ProgressInputStream progress && progress.getFile() != null) {
+            importFile(progress.getFile(), consumer);
+            return;
+        }
 
+        // OPCPackage precisa de acesso aleatório ao zip; a partir de um InputStream ele carregaria tudo em memória
+        Path tempFile = Files.createTempFile("import-", ".xlsx");
+        try {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            importFile(tempFile, consumer);
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
     }
 
-    private List<PersonDTO> parseRowsToPersonDtoList(Iterator<Row> rowIterator) {
-        List<PersonDTO> people = new ArrayList<>();
+    private void importFile(Path file, Consumer<ImportedRow> consumer) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) return;
 
-        while (rowIterator.hasNext()) {
-            Row row = rowIterator.next();
-            if (isRowValid(row)) {
-                people.add(parseRowToPersonDto(row));
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        reader.getStylesTable(), strings, new PeopleSheetHandler(consumer), false));
+                parser.parse(new InputSource(sheet));
             }
         }
-        return people;
     }
 
-    private PersonDTO parseRowToPersonDto(Row row) {
-        PersonDTO person = new PersonDTO();
-        person.setFirstName(row.getCell(0).getStringCellValue());
-        person.setLastName(row.getCell(1).getStringCellValue());
-        person.setAddress(row.getCell(2).getStringCellValue());
-        person.setGender(row.getCell(3).getStringCellValue());
-        person.setEnabled(true);
-        return person;
-    }
+    private static class PeopleSheetHandler implements SheetContentsHandler {
+
+        private final Consumer<ImportedRow> consumer;
+        private final String[] values = new String[COLUMNS];
+        private int currentColumn;
 
-    private static boolean isRowValid(Row row) {
-        return row.getCell(0) != null && row.getCell(0).getCellType() != CellType.BLANK;
+        PeopleSheetHandler(Consumer<ImportedRow> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentColumn = -1;
+            for (int i = 0; i < COLUMNS; i++) values[i] = null;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // Células vazias não geram evento, por isso a coluna vem da referência (ex.: "C12")
+            currentColumn = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+            if (currentColumn < COLUMNS) values[currentColumn] = formattedValue;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // A primeira linha é o cabeçalho
+            if (rowNum == 0 || !isRowValid()) return;
+
+            consumer.accept(new ImportedRow(rowNum + 1, parseRowToPersonDto()));
+        }
+
+        private PersonDTO parseRowToPersonDto() {
+            PersonDTO person = new PersonDTO();
+            person.setFirstName(values[0]);
+            person.setLastName(values[1]);
+            person.setAddress(values[2]);
+            person.setGender(values[3]);
+            person.setEnabled(true);
+            return person;
+        }
+
+        private boolean isRowValid() {
+            return values[0] != null && !values[0].isBlank();
+        }
     }
 }
@@ -0,0 +1,102 @@
+package br.com.erudio.file.importer.job;
+
+import br.com.erudio.file.importer.ImportProgress;
+import br.com.erudio.file.importer.ProgressInputStream;
+
+import java.nio.file.Path;
+import java.util.Date;
+
+// Estado de uma importação assíncrona, consultado pelo endpoint de status
+public class ImportJob {
+
+    private final String id;
+    private final String fileName;
+    private final Path file;
+    private final long totalBytes;
+    private final ImportProgress progress;
+    private final Date submittedAt = new Date();
+
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile ProgressInputStream inputStream;
+    private volatile Date finishedAt;
+    private volatile String errorMessage;
+
+    public ImportJob(String id, String fileName, Path file, long totalBytes, ImportProgress progress) {
+        this.id = id;
+        this.fileName = fileName;
+        this.file = file;
+        this.totalBytes = totalBytes;
+        this.progress = progress;
+    }
+
+    public void running(ProgressInputStream inputStream) {
+        this.inputStream = inputStream;
+        this.progress.start();
+        this.status = ImportJobStatus.RUNNING;
+    }
+
+    public void completed() {
+        this.finishedAt = new Date();
+        this.status = ImportJobStatus.COMPLETED;
+    }
+
+    public void failed(String errorMessage) {
+        this.finishedAt = new Date();
+        this.errorMessage = errorMessage;
+        this.status = ImportJobStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == ImportJobStatus.COMPLETED || status == ImportJobStatus.FAILED;
+    }
+
+    // Fração do arquivo já lida, ou null quando não é possível estimar
+    public Double getFractionRead() {
+        ProgressInputStream stream = this.inputStream;
+        if (stream == null || totalBytes <= 0) return null;
+        return Math.min(1.0, (double) stream.getBytesRead() / totalBytes);
+    }
+
+    // Tempo restante estimado pela proporção do arquivo já lida
+    public Long getEtaMillis() {
+        if (status != ImportJobStatus.RUNNING) return null;
+
+        Double fraction = getFractionRead();
+        if (fraction == null || fraction <= 0 || fraction >= 1) return null;
+
+        long elapsed = progress.getElapsedMillis();
+        return (long) (elapsed / fraction) - elapsed;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public ImportProgress getProgress() {
+        return progress;
+    }
+
+    public Date getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.erudio.file.importer.job;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
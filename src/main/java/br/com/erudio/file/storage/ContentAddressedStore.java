@@ -0,0 +1,217 @@
+package br.com.erudio.file.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Armazenamento endereçado por conteúdo: cada conteúdo distinto é gravado uma única vez em
+// blobs/<aa>/<bb>/<sha-256> e um índice (append-only) liga o nome lógico ao blob.
+public class ContentAddressedStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressedStore.class);
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final String BLOBS_DIR = "blobs";
+
+    private static final String INDEX_FILE = "index.log";
+
+    private final Path blobsLocation;
+
+    private final Path indexFile;
+
+    // Nome lógico -> hash do blob; leituras sem lock, alterações sob o lock
+    private final Map<String, String> index = new ConcurrentHashMap<>();
+
+    // Quantos nomes (e reservas) apontam para cada blob, para remover blobs órfãos ao sobrescrever um nome
+    private final Map<String, Integer> references = new HashMap<>();
+
+    private final Object lock = new Object();
+
+    public ContentAddressedStore(Path root) {
+        this.blobsLocation = root.resolve(BLOBS_DIR);
+        this.indexFile = root.resolve(INDEX_FILE);
+
+        try {
+            Files.createDirectories(blobsLocation);
+            loadIndex();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the content-addressed store at " + root, e);
+        }
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+        }
+    }
+
+    // Publica um arquivo completo sob o nome lógico. O arquivo é consumido: vira o blob ou é
+    // apagado quando o mesmo conteúdo já existe. digest pode vir calculado durante o upload;
+    // se for null o arquivo é lido uma vez para calcular o hash.
+    public Path put(String name, Path file, MessageDigest digest) throws IOException {
+        String hash = HexFormat.of().formatHex(digest != null ? digest.digest() : hash(file));
+        Path blob = blobPath(hash);
+
+        synchronized (lock) {
+            boolean deduplicated = Files.exists(blob);
+            if (deduplicated) {
+                Files.delete(file);
+            } else {
+                Files.createDirectories(blob.getParent());
+                move(file, blob);
+            }
+
+            String previous = index.put(name, hash);
+            references.merge(hash, 1, Integer::sum);
+            appendToIndex(hash, name);
+            if (previous != null) release(previous);
+
+            logger.debug("{} -> {}{}", name, hash, deduplicated ? " (deduplicated)" : "");
+        }
+        return blob;
+    }
+
+    public Optional<Path> resolve(String name) {
+        String hash = index.get(name);
+        return hash == null ? Optional.empty() : Optional.of(blobPath(hash));
+    }
+
+    // Reserva o blob atual do nome para uma leitura posterior (anexo de e-mail na fila): a reserva
+    // conta como mais uma referência, então sobrescrever o nome não apaga o blob antes do release
+    public Optional<RetainedFile> retain(String name) {
+        synchronized (lock) {
+            String hash = index.get(name);
+            if (hash == null) return Optional.empty();
+
+            references.merge(hash, 1, Integer::sum);
+            AtomicBoolean released = new AtomicBoolean();
+            return Optional.of(new RetainedFile(blobPath(hash), () -> {
+                if (released.compareAndSet(false, true)) releaseQuietly(hash);
+            }));
+        }
+    }
+
+    public Optional<String> hashOf(String name) {
+        return Optional.ofNullable(index.get(name));
+    }
+
+    public int names() {
+        return index.size();
+    }
+
+    public int blobs() {
+        synchronized (lock) {
+            return references.size();
+        }
+    }
+
+    private Path blobPath(String hash) {
+        return blobsLocation.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static byte[] hash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        } catch (FileAlreadyExistsException e) {
+            Files.delete(source);
+        }
+    }
+
+    // Chamado sob o lock
+    private void release(String hash) throws IOException {
+        Integer remaining = references.computeIfPresent(hash, (k, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            // Downloads em andamento continuam lendo o arquivo já aberto
+            Files.deleteIfExists(blobPath(hash));
+        }
+    }
+
+    private void releaseQuietly(String hash) {
+        synchronized (lock) {
+            try {
+                release(hash);
+            } catch (IOException e) {
+                logger.warn("Could not delete the blob {}", hash, e);
+            }
+        }
+    }
+
+    // SECTION: índice em disco, uma linha "hash<TAB>nome" por gravação; a última linha de um nome vale
+
+    private void appendToIndex(String hash, String name) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(hash + '\t' + name + '\n');
+        }
+    }
+
+    private void loadIndex() throws IOException {
+        if (!Files.exists(indexFile)) return;
+
+        List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+        for (String line : lines) {
+            int tab = line.indexOf('\t');
+            if (tab <= 0) continue;
+
+            String hash = line.substring(0, tab);
+            if (Files.exists(blobPath(hash))) {
+                index.put(line.substring(tab + 1), hash);
+            } else {
+                index.remove(line.substring(tab + 1));
+            }
+        }
+        index.values().forEach(hash -> references.merge(hash, 1, Integer::sum));
+
+        // Nomes sobrescritos deixam linhas antigas; reescreve o índice só com as entradas vigentes
+        if (lines.size() > index.size()) compactIndex();
+
+        logger.info("Loaded {} names pointing to {} blobs", index.size(), references.size());
+    }
+
+    private void compactIndex() throws IOException {
+        Path compacted = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : index.entrySet()) {
+                writer.write(entry.getValue() + '\t' + entry.getKey() + '\n');
+            }
+        }
+        Files.move(compacted, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
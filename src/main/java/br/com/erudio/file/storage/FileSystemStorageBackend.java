@@ -0,0 +1,125 @@
+package br.com.erudio.file.storage;
+
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Objetos como arquivos comuns sob um diretório. Diretórios iniciados por "." (spool de
+// uploads, blobs do modo content-addressed) não fazem parte do espaço de chaves.
+public class FileSystemStorageBackend implements StorageBackend {
+
+    private final Path root;
+
+    public FileSystemStorageBackend(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public String name() {
+        return "filesystem";
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        Path target = resolve(key)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid storage key " + key));
+        Files.createDirectories(target.getParent());
+
+        // Rename atômico: quem lê nunca vê o arquivo pela metade
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        Optional<Path> path = localPath(key);
+        if (path.isEmpty()) return Optional.empty();
+
+        BasicFileAttributes attributes = Files.readAttributes(path.get(), BasicFileAttributes.class);
+        return Optional.of(new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toMillis()));
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(existing(key));
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(existing(key), StandardOpenOption.READ);
+        channel.position(offset);
+        return BoundedInputStream.builder()
+                .setInputStream(Channels.newInputStream(channel))
+                .setMaxCount(length)
+                .get();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Optional<Path> path = resolve(key);
+        if (path.isPresent()) Files.deleteIfExists(path.get());
+    }
+
+    @Override
+    public List<StoredObject> list(String prefix) throws IOException {
+        List<StoredObject> objects = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(file)) continue;
+
+                String key = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+                if (key.startsWith(".") || !key.startsWith(prefix)) continue;
+
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                objects.add(new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toMillis()));
+            }
+        }
+        objects.sort((a, b) -> a.key().compareTo(b.key()));
+        return objects;
+    }
+
+    @Override
+    public StorageBackend namespace(String name) {
+        try {
+            return new FileSystemStorageBackend(root.resolve("." + name));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the storage namespace " + name, e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return resolve(key).filter(Files::isRegularFile);
+    }
+
+    private Path existing(String key) throws NoSuchFileException {
+        return localPath(key).orElseThrow(() -> new NoSuchFileException(key));
+    }
+
+    // Vazio para chaves que sairiam do diretório ou cairiam nos diretórios reservados
+    private Optional<Path> resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) return Optional.empty();
+        if (root.relativize(path).getName(0).toString().startsWith(".")) return Optional.empty();
+        return Optional.of(path);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.erudio.file.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Substituto de um object store dentro do processo: testes e desenvolvimento sem disco nem rede
+public class InMemoryStorageBackend implements StorageBackend {
+
+    private record Blob(byte[] content, long lastModified) {}
+
+    private final Map<String, Blob> objects = new ConcurrentSkipListMap<>();
+
+    private final Map<String, InMemoryStorageBackend> namespaces = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        objects.put(key, new Blob(content, System.currentTimeMillis()));
+        Files.delete(file);
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        Blob blob = objects.get(key);
+        return blob == null
+                ? Optional.empty()
+                : Optional.of(new StoredObject(key, blob.content().length, blob.lastModified()));
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return new ByteArrayInputStream(existing(key).content());
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) throws IOException {
+        byte[] content = existing(key).content();
+        int from = (int) Math.min(offset, content.length);
+        int to = (int) Math.min(offset + length, content.length);
+        return new ByteArrayInputStream(content, from, to - from);
+    }
+
+    @Override
+    public void delete(String key) {
+        objects.remove(key);
+    }
+
+    @Override
+    public List<StoredObject> list(String prefix) {
+        return objects.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .map(entry -> new StoredObject(entry.getKey(), entry.getValue().content().length,
+                        entry.getValue().lastModified()))
+                .toList();
+    }
+
+    @Override
+    public StorageBackend namespace(String name) {
+        return namespaces.computeIfAbsent(name, k -> new InMemoryStorageBackend());
+    }
+
+    private Blob existing(String key) throws NoSuchFileException {
+        Blob blob = objects.get(key);
+        if (blob == null) throw new NoSuchFileException(key);
+        return blob;
+    }
+}
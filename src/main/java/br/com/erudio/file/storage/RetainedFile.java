@@ -0,0 +1,6 @@
+package br.com.erudio.file.storage;
+
+import java.nio.file.Path;
+
+// Arquivo armazenado reservado para uma leitura posterior; release devolve a reserva ao storage
+public record RetainedFile(Path file, Runnable release) {}
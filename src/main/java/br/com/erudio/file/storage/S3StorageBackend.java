@@ -0,0 +1,388 @@
+package br.com.erudio.file.storage;
+
+import br.com.erudio.config.S3StorageConfig;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Bucket em um serviço compatível com S3, acessado pela API REST com assinatura SigV4.
+// Arquivos maiores que partSizeBytes vão em multipart upload com as partes enviadas em paralelo.
+public class S3StorageBackend implements StorageBackend, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3StorageBackend.class);
+
+    // Mínimo do S3 para todas as partes, exceto a última
+    private static final long MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3StorageConfig config;
+
+    private final URI endpoint;
+
+    private final AwsV4Signer signer;
+
+    private final HttpClient httpClient;
+
+    private final Duration requestTimeout;
+
+    private final ThreadPoolExecutor partExecutor;
+
+    // Vazio no backend principal; ".<nome>/" nos namespaces internos
+    private final String keyPrefix;
+
+    public S3StorageBackend(S3StorageConfig config) {
+        if (!StringUtils.hasText(config.getEndpoint()) || !StringUtils.hasText(config.getBucket())) {
+            throw new IllegalArgumentException("file.s3.endpoint and file.s3.bucket are required for the s3 backend");
+        }
+        if (config.getPartSizeBytes() < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("file.s3.part-size-bytes must be at least " + MIN_PART_SIZE);
+        }
+
+        this.config = config;
+        this.endpoint = URI.create(config.getEndpoint().replaceAll("/+$", ""));
+        this.signer = new AwsV4Signer(config.getAccessKey(), config.getSecretKey(), config.getRegion(), "s3");
+        this.requestTimeout = Duration.ofSeconds(config.getRequestTimeoutSeconds());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // Fila cheia: a própria thread do upload envia a parte, limitando a memória e as conexões
+        this.partExecutor = new ThreadPoolExecutor(
+                config.getPartUploadThreads(),
+                config.getPartUploadThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getPartUploadThreads() * 2),
+                new CustomizableThreadFactory("s3-part-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.keyPrefix = "";
+    }
+
+    // Namespace: mesmo bucket, cliente HTTP e pool de partes, com as chaves sob um prefixo reservado
+    private S3StorageBackend(S3StorageBackend parent, String keyPrefix) {
+        this.config = parent.config;
+        this.endpoint = parent.endpoint;
+        this.signer = parent.signer;
+        this.requestTimeout = parent.requestTimeout;
+        this.httpClient = parent.httpClient;
+        this.partExecutor = parent.partExecutor;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public String name() {
+        return "s3";
+    }
+
+    @Override
+    public void put(String key, Path file) throws IOException {
+        long size = Files.size(file);
+        if (size > config.getPartSizeBytes()) {
+            putMultipart(key, file, size);
+        } else {
+            HttpResponse<String> response = send("PUT", key, new TreeMap<>(), null,
+                    HttpRequest.BodyPublishers.ofFile(file), HttpResponse.BodyHandlers.ofString());
+            check(response, "PUT " + key);
+        }
+        Files.delete(file);
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        HttpResponse<Void> response = send("HEAD", key, new TreeMap<>(), null,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) return Optional.empty();
+        check(response, "HEAD " + key);
+
+        long size = response.headers().firstValueAsLong("Content-Length").orElse(0);
+        long lastModified = response.headers().firstValue("Last-Modified")
+                .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli())
+                .orElse(0L);
+        return Optional.of(new StoredObject(key, size, lastModified));
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return getObject(key, null);
+    }
+
+    @Override
+    public InputStream getRange(String key, long offset, long length) throws IOException {
+        if (length <= 0) return InputStream.nullInputStream();
+        return getObject(key, "bytes=" + offset + "-" + (offset + length - 1));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<String> response = send("DELETE", key, new TreeMap<>(), null,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 404) check(response, "DELETE " + key);
+    }
+
+    @Override
+    public List<StoredObject> list(String prefix) throws IOException {
+        List<StoredObject> objects = new ArrayList<>();
+        String continuationToken = null;
+
+        do {
+            SortedMap<String, String> query = new TreeMap<>();
+            query.put("list-type", "2");
+            query.put("prefix", keyPrefix + prefix);
+            if (continuationToken != null) query.put("continuation-token", continuationToken);
+
+            HttpResponse<String> response = send("GET", "", query, null,
+                    HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofString());
+            check(response, "LIST " + prefix);
+
+            Document document = parse(response.body());
+            NodeList contents = document.getElementsByTagName("Contents");
+            for (int i = 0; i < contents.getLength(); i++) {
+                Element content = (Element) contents.item(i);
+                String key = text(content, "Key").substring(keyPrefix.length());
+                // Chaves dos namespaces internos não fazem parte deste espaço
+                if (key.startsWith(".")) continue;
+
+                objects.add(new StoredObject(
+                        key,
+                        Long.parseLong(text(content, "Size")),
+                        Instant.parse(text(content, "LastModified")).toEpochMilli()));
+            }
+
+            continuationToken = "true".equals(text(document.getDocumentElement(), "IsTruncated"))
+                    ? text(document.getDocumentElement(), "NextContinuationToken")
+                    : null;
+        } while (continuationToken != null);
+
+        return objects;
+    }
+
+    @Override
+    public StorageBackend namespace(String name) {
+        return new S3StorageBackend(this, keyPrefix + "." + name + "/");
+    }
+
+    @Override
+    public void close() {
+        partExecutor.shutdownNow();
+        httpClient.close();
+    }
+
+    // SECTION: multipart upload
+
+    private void putMultipart(String key, Path file, long size) throws IOException {
+        SortedMap<String, String> create = new TreeMap<>();
+        create.put("uploads", "");
+        HttpResponse<String> created = send("POST", key, create, null,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofString());
+        check(created, "CreateMultipartUpload " + key);
+        String uploadId = text(parse(created.body()).getDocumentElement(), "UploadId");
+
+        long partSize = config.getPartSizeBytes();
+        int parts = (int) ((size + partSize - 1) / partSize);
+        long start = System.nanoTime();
+
+        List<Future<String>> eTags = new ArrayList<>(parts);
+        try {
+            for (int part = 1; part <= parts; part++) {
+                int partNumber = part;
+                long offset = (part - 1) * partSize;
+                long length = Math.min(partSize, size - offset);
+                eTags.add(partExecutor.submit(() -> uploadPart(key, uploadId, partNumber, file, offset, length)));
+            }
+
+            StringBuilder complete = new StringBuilder("<CompleteMultipartUpload>");
+            for (int part = 1; part <= parts; part++) {
+                complete.append("<Part><PartNumber>").append(part).append("</PartNumber><ETag>")
+                        .append(eTags.get(part - 1).get()).append("</ETag></Part>");
+            }
+            complete.append("</CompleteMultipartUpload>");
+
+            SortedMap<String, String> query = new TreeMap<>();
+            query.put("uploadId", uploadId);
+            HttpResponse<String> completed = send("POST", key, query, "application/xml",
+                    HttpRequest.BodyPublishers.ofString(complete.toString()), HttpResponse.BodyHandlers.ofString());
+            check(completed, "CompleteMultipartUpload " + key);
+            // O S3 pode responder 200 com um erro no corpo
+            if (completed.body().contains("<Error>")) {
+                throw new IOException("CompleteMultipartUpload " + key + " failed: " + completed.body());
+            }
+
+            logger.info("Uploaded {} ({} bytes) in {} parts in {} ms", key, size, parts,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        } catch (Exception e) {
+            eTags.forEach(eTag -> eTag.cancel(true));
+            abortQuietly(key, uploadId);
+
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Multipart upload of " + key + " interrupted");
+            }
+            if (e instanceof ExecutionException && e.getCause() instanceof IOException cause) throw cause;
+            if (e instanceof IOException io) throw io;
+            throw new IOException("Multipart upload of " + key + " failed", e);
+        }
+    }
+
+    private String uploadPart(String key, String uploadId, int partNumber, Path file, long offset, long length)
+            throws IOException {
+
+        SortedMap<String, String> query = new TreeMap<>();
+        query.put("partNumber", String.valueOf(partNumber));
+        query.put("uploadId", uploadId);
+
+        // Cada parte é lida direto do arquivo, sem carregar o arquivo inteiro em memória
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> openSlice(file, offset, length)), length);
+
+        HttpResponse<String> response = send("PUT", key, query, null, body, HttpResponse.BodyHandlers.ofString());
+        check(response, "UploadPart " + partNumber + " " + key);
+
+        return response.headers().firstValue("ETag")
+                .orElseThrow(() -> new IOException("UploadPart " + partNumber + " " + key + " returned no ETag"));
+    }
+
+    private static InputStream openSlice(Path file, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            channel.position(offset);
+            return BoundedInputStream.builder()
+                    .setInputStream(Channels.newInputStream(channel))
+                    .setMaxCount(length)
+                    .get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            SortedMap<String, String> query = new TreeMap<>();
+            query.put("uploadId", uploadId);
+            send("DELETE", key, query, null, HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.discarding());
+        } catch (Exception e) {
+            logger.warn("Could not abort multipart upload {} of {}", uploadId, key, e);
+        }
+    }
+
+    // SECTION: requisições assinadas
+
+    private InputStream getObject(String key, String range) throws IOException {
+        HttpResponse<InputStream> response = send("GET", key, new TreeMap<>(), null,
+                HttpRequest.BodyPublishers.noBody(), HttpResponse.BodyHandlers.ofInputStream(), range);
+
+        if (response.statusCode() / 100 != 2) {
+            String body;
+            try (InputStream error = response.body()) {
+                body = new String(error.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            if (response.statusCode() == 404) throw new NoSuchFileException(key);
+            throw new IOException("GET " + key + " failed with status " + response.statusCode() + ": " + body);
+        }
+        return response.body();
+    }
+
+    private <T> HttpResponse<T> send(String method, String key, SortedMap<String, String> query, String contentType,
+                                     HttpRequest.BodyPublisher body, HttpResponse.BodyHandler<T> handler)
+            throws IOException {
+        return send(method, key, query, contentType, body, handler, null);
+    }
+
+    private <T> HttpResponse<T> send(String method, String key, SortedMap<String, String> query, String contentType,
+                                     HttpRequest.BodyPublisher body, HttpResponse.BodyHandler<T> handler,
+                                     String range) throws IOException {
+
+        String host = config.isPathStyle() ? endpoint.getHost() : config.getBucket() + "." + endpoint.getHost();
+        if (endpoint.getPort() != -1) host += ":" + endpoint.getPort();
+
+        String objectKey = key.isEmpty() ? "" : keyPrefix + key;
+        String path = config.isPathStyle() ? "/" + config.getBucket() + "/" + objectKey : "/" + objectKey;
+        String canonicalUri = AwsV4Signer.encode(endpoint.getRawPath() + path, true);
+        String canonicalQuery = AwsV4Signer.canonicalQuery(query);
+
+        Instant now = Instant.now();
+        SortedMap<String, String> signed = new TreeMap<>();
+        signed.put("host", host);
+        signed.put("x-amz-content-sha256", AwsV4Signer.UNSIGNED_PAYLOAD);
+        signed.put("x-amz-date", AwsV4Signer.amzDate(now));
+
+        URI uri = URI.create(endpoint.getScheme() + "://" + host + canonicalUri
+                + (canonicalQuery.isEmpty() ? "" : "?" + canonicalQuery));
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .method(method, body)
+                .header("x-amz-content-sha256", signed.get("x-amz-content-sha256"))
+                .header("x-amz-date", signed.get("x-amz-date"))
+                .header("Authorization",
+                        signer.authorization(method, canonicalUri, canonicalQuery, signed, AwsV4Signer.UNSIGNED_PAYLOAD, now));
+        if (contentType != null) request.header("Content-Type", contentType);
+        if (range != null) request.header("Range", range);
+
+        try {
+            return httpClient.send(request.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(method + " " + key + " interrupted");
+        }
+    }
+
+    private static void check(HttpResponse<?> response, String operation) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(operation + " failed with status " + response.statusCode()
+                    + (response.body() instanceof String body ? ": " + body : ""));
+        }
+    }
+
+    private static Document parse(String xml) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IOException("Invalid response from the object store", e);
+        }
+    }
+
+    private static String text(Element parent, String tag) {
+        NodeList nodes = parent.getElementsByTagName(tag);
+        return nodes.getLength() == 0 ? null : nodes.item(0).getTextContent();
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.erudio.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+// Onde os arquivos enviados ficam de fato guardados. As chaves usam "/" como separador.
+// get/getRange lançam NoSuchFileException quando a chave não existe.
+public interface StorageBackend {
+
+    String name();
+
+    // Grava um arquivo completo sob a chave, substituindo o anterior. O arquivo é consumido
+    // (movido ou apagado), então quem chama não deve mais usá-lo.
+    void put(String key, Path file) throws IOException;
+
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    InputStream get(String key) throws IOException;
+
+    InputStream getRange(String key, long offset, long length) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    List<StoredObject> list(String prefix) throws IOException;
+
+    // Espaço de chaves interno e separado (ex.: variantes pré-comprimidas), fora do list() deste backend.
+    // Chamadas com o mesmo nome devolvem o mesmo espaço.
+    StorageBackend namespace(String name);
+
+    // Caminho local do objeto, quando existe: permite sendfile/transferTo nos downloads
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+}
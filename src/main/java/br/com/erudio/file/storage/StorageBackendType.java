@@ -0,0 +1,13 @@
+package br.com.erudio.file.storage;
+
+public enum StorageBackendType {
+
+    // Diretório local (upload-dir)
+    FILESYSTEM,
+
+    // Bucket em um serviço compatível com S3 (AWS, MinIO, ...)
+    S3,
+
+    // Em memória, para testes e desenvolvimento; perde tudo ao reiniciar
+    MEMORY
+}
@@ -0,0 +1,10 @@
+package br.com.erudio.file.storage;
+
+public enum StorageMode {
+
+    // Cada upload é gravado no upload-dir com o próprio nome
+    PLAIN,
+
+    // Conteúdos iguais são gravados uma única vez; o nome é apenas uma entrada no índice
+    CONTENT_ADDRESSED
+}
@@ -0,0 +1,13 @@
+package br.com.erudio.file.storage;
+
+// Resultado da gravação de um arquivo no armazenamento, com a vazão medida
+public record StoredFile(String fileName, long size, long elapsedNanos) {
+
+    public long elapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double bytesPerSecond() {
+        return elapsedNanos <= 0 ? 0.0 : size * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.erudio.file.storage;
+
+public record StoredObject(String key, long size, long lastModified) {
+}
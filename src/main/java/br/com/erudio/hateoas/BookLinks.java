@@ -0,0 +1,36 @@
+package br.com.erudio.hateoas;
+
+import br.com.erudio.controllers.BookController;
+import br.com.erudio.data.dto.v1.BookDTO;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BookLinks extends LinkTemplates {
+
+    private static final String FIXED_LINKS_ATTRIBUTE = BookLinks.class.getName() + ".fixedLinks";
+
+    private final String findById = mappingPath(BookController.class, "findById");
+    private final String findAll = mappingPath(BookController.class, "findAll") + "?page=1&size=12&direction=asc";
+    private final String create = mappingPath(BookController.class, "create");
+    private final String update = mappingPath(BookController.class, "update");
+
+    // Links que não dependem do id: criados uma vez por requisição e compartilhados pelos DTOs (Link é imutável)
+    private record FixedLinks(Link findAll, Link create, Link update) {}
+
+    public void addLinks(BookDTO dto) {
+        FixedLinks fixed = perRequest(FIXED_LINKS_ATTRIBUTE, this::fixedLinks);
+
+        dto.add(link(expand(findById, "id", dto.getId())).withSelfRel().withType("GET"));
+        dto.add(fixed.findAll());
+        dto.add(fixed.create());
+        dto.add(fixed.update());
+    }
+
+    private FixedLinks fixedLinks() {
+        return new FixedLinks(
+                link(findAll).withRel("findAll").withType("GET"),
+                link(create).withRel("create").withType("POST"),
+                link(update).withRel("update").withType("PUT"));
+    }
+}
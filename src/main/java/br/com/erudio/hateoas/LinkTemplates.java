@@ -0,0 +1,70 @@
+package br.com.erudio.hateoas;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+// Base dos componentes que montam os links HATEOAS a partir de templates calculados uma única vez.
+// linkTo(methodOn(...)) cria um proxy, inspeciona o mapeamento e lê a URI da requisição a cada link;
+// aqui os caminhos vêm das anotações do controller na inicialização e, por requisição, só o host
+// (scheme, host, porta e context path, já ajustados pelo ForwardedHeaderFilter) é resolvido.
+public abstract class LinkTemplates {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkTemplates.class.getName() + ".baseUri";
+
+    // Caminho completo (mapeamento da classe + do método) de um método do controller, ex.: /api/person/v1/{id}
+    protected static String mappingPath(Class<?> controller, String methodName) {
+        Method method = Arrays.stream(controller.getDeclaredMethods())
+                .filter(m -> m.getName().equals(methodName))
+                .filter(m -> AnnotatedElementUtils.hasAnnotation(m, RequestMapping.class))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No request mapping for " + controller.getSimpleName() + "." + methodName));
+
+        return firstPath(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class))
+                + firstPath(AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class));
+    }
+
+    private static String firstPath(RequestMapping mapping) {
+        if (mapping == null || mapping.path().length == 0 || mapping.path()[0].isEmpty()) return "";
+        String path = mapping.path()[0];
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    // Substitui a única variável do template, ex.: /api/person/v1/{id} -> /api/person/v1/1
+    protected static String expand(String template, String variable, Object value) {
+        return template.replace("{" + variable + "}", String.valueOf(value));
+    }
+
+    // scheme://host:porta/contexto da requisição atual, calculado uma vez por requisição
+    protected String baseUri() {
+        // Fora de uma requisição (ex.: testes) os links ficam relativos
+        if (RequestContextHolder.getRequestAttributes() == null) return "";
+        return perRequest(BASE_URI_ATTRIBUTE,
+                () -> ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString());
+    }
+
+    protected Link link(String path) {
+        return Link.of(baseUri() + path);
+    }
+
+    // Valor guardado nos atributos da requisição; fora de uma requisição (ex.: testes) é sempre recalculado
+    @SuppressWarnings("unchecked")
+    protected <T> T perRequest(String attribute, Supplier<T> supplier) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return supplier.get();
+
+        T value = (T) attributes.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (value == null) {
+            value = supplier.get();
+            attributes.setAttribute(attribute, value, RequestAttributes.SCOPE_REQUEST);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.erudio.hateoas;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.dto.v1.PersonDTO;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PersonLinks extends LinkTemplates {
+
+    private static final String DEFAULT_PAGE = "?page=1&size=12&direction=asc";
+
+    private static final String FIXED_LINKS_ATTRIBUTE = PersonLinks.class.getName() + ".fixedLinks";
+
+    private final String findById = mappingPath(PersonController.class, "findById");
+    private final String findAll = mappingPath(PersonController.class, "findAll") + DEFAULT_PAGE;
+    private final String findPeopleByName = expand(mappingPath(PersonController.class, "findPeopleByName"), "firstName", "") + DEFAULT_PAGE;
+    private final String create = mappingPath(PersonController.class, "create");
+    private final String massCreation = mappingPath(PersonController.class, "massCreation");
+    private final String update = mappingPath(PersonController.class, "update");
+    private final String disablePerson = mappingPath(PersonController.class, "disablePerson");
+    private final String delete = mappingPath(PersonController.class, "delete");
+    private final String exportPage = mappingPath(PersonController.class, "exportPage") + DEFAULT_PAGE;
+
+    // Links que não dependem do id: criados uma vez por requisição e compartilhados pelos DTOs (Link é imutável)
+    private record FixedLinks(Link findAll, Link findPeopleByName, Link create, Link massCreation, Link update, Link exportPage) {}
+
+    public void addLinks(PersonDTO dto) {
+        FixedLinks fixed = perRequest(FIXED_LINKS_ATTRIBUTE, this::fixedLinks);
+
+        dto.add(link(expand(findById, "id", dto.getId())).withSelfRel().withType("GET"));
+        dto.add(fixed.findAll());
+        dto.add(fixed.findPeopleByName());
+        dto.add(fixed.create());
+        dto.add(fixed.massCreation());
+        dto.add(fixed.update());
+        dto.add(link(expand(disablePerson, "id", dto.getId())).withRel("disable").withType("PATCH"));
+        dto.add(link(expand(delete, "id", dto.getId())).withRel("delete").withType("DELETE"));
+        dto.add(fixed.exportPage());
+    }
+
+    private FixedLinks fixedLinks() {
+        return new FixedLinks(
+                link(findAll).withRel("findAll").withType("GET"),
+                link(findPeopleByName).withRel("findPeopleByName").withType("GET"),
+                link(create).withRel("create").withType("POST"),
+                link(massCreation).withRel("massCreation").withType("POST"),
+                link(update).withRel("update").withType("PUT"),
+                link(exportPage).withRel("exportPage").withType("GET").withTitle("Export People"));
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.erudio.mail;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Anexo de uma EmailMessage. O conteúdo é lido direto da origem (memória ou arquivo) quando o
+// MimeMessage é escrito na conexão SMTP, sem cópia intermediária em disco.
+public final class EmailAttachment {
+
+    private final String filename;
+    private final String contentType;
+    private final InputStreamSource source;
+    private final Runnable release;
+
+    private EmailAttachment(String filename, String contentType, InputStreamSource source, Runnable release) {
+        this.filename = filename;
+        this.contentType = contentType;
+        this.source = source;
+        this.release = release;
+    }
+
+    // Conteúdo já em memória; release devolve os bytes ao limite de memória de quem criou o anexo
+    public static EmailAttachment inMemory(String filename, String contentType, byte[] content, Runnable release) {
+        return new EmailAttachment(filename, contentType, new ByteArrayResource(content), release);
+    }
+
+    // Arquivo que passa a ser do outbox e é apagado quando o envio termina
+    public static EmailAttachment ownedFile(String filename, String contentType, Path file) {
+        return new EmailAttachment(filename, contentType, new FileSystemResource(file), () -> deleteQuietly(file));
+    }
+
+    // Arquivo de outro dono (ex.: FileStorageService): apenas lido, nunca apagado; release devolve a
+    // reserva que impede o dono de apagá-lo antes do envio
+    public static EmailAttachment sharedFile(String filename, String contentType, Path file, Runnable release) {
+        return new EmailAttachment(filename, contentType, new FileSystemResource(file), release);
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public InputStreamSource getSource() {
+        return source;
+    }
+
+    public void discard() {
+        release.run();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Arquivo temporário: o sistema operacional acaba removendo
+        }
+    }
+}
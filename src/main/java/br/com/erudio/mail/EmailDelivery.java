@@ -0,0 +1,80 @@
+package br.com.erudio.mail;
+
+import java.util.Date;
+
+// Estado do envio de uma EmailMessage, consultado pelo endpoint de status
+public class EmailDelivery {
+
+    private final EmailMessage message;
+    private final Date submittedAt = new Date();
+
+    private volatile EmailDeliveryStatus status = EmailDeliveryStatus.QUEUED;
+    private volatile int attempts;
+    private volatile Date nextAttemptAt;
+    private volatile Date finishedAt;
+    private volatile String errorMessage;
+
+    public EmailDelivery(EmailMessage message) {
+        this.message = message;
+    }
+
+    public void sending() {
+        this.attempts++;
+        this.nextAttemptAt = null;
+        this.status = EmailDeliveryStatus.SENDING;
+    }
+
+    public void sent() {
+        this.finishedAt = new Date();
+        this.errorMessage = null;
+        this.status = EmailDeliveryStatus.SENT;
+    }
+
+    public void retrying(String errorMessage, Date nextAttemptAt) {
+        this.errorMessage = errorMessage;
+        this.nextAttemptAt = nextAttemptAt;
+        this.status = EmailDeliveryStatus.RETRYING;
+    }
+
+    public void failed(String errorMessage) {
+        this.finishedAt = new Date();
+        this.errorMessage = errorMessage;
+        this.status = EmailDeliveryStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == EmailDeliveryStatus.SENT || status == EmailDeliveryStatus.FAILED;
+    }
+
+    public String getId() {
+        return message.getId();
+    }
+
+    public EmailMessage getMessage() {
+        return message;
+    }
+
+    public Date getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public EmailDeliveryStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
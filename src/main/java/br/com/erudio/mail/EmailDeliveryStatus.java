@@ -0,0 +1,9 @@
+package br.com.erudio.mail;
+
+public enum EmailDeliveryStatus {
+    QUEUED,
+    SENDING,
+    RETRYING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,55 @@
+package br.com.erudio.mail;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+// Mensagem imutável: pode ser enfileirada e reenviada por qualquer thread do outbox
+public final class EmailMessage {
+
+    private final String id;
+    private final List<String> recipients;
+    private final String subject;
+    private final String body;
+    private final List<EmailAttachment> attachments;
+
+    public EmailMessage(List<String> recipients, String subject, String body, List<EmailAttachment> attachments) {
+        this.id = UUID.randomUUID().toString();
+        this.recipients = List.copyOf(recipients);
+        this.subject = subject;
+        this.body = body;
+        this.attachments = List.copyOf(attachments);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public List<EmailAttachment> getAttachments() {
+        return attachments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        EmailMessage that = (EmailMessage) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,221 @@
+package br.com.erudio.mail;
+
+import br.com.erudio.config.EmailOutboxConfig;
+import br.com.erudio.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fila de envio de e-mails: a requisição só enfileira a mensagem e recebe o id.
+// Cada worker tira até batchSize mensagens da fila e as envia com um único
+// JavaMailSender.send(MimeMessage...), ou seja, em uma única conexão SMTP.
+// Falhas voltam para a fila com backoff exponencial até maxAttempts.
+// A fila fica em memória: mensagens pendentes se perdem se a aplicação parar.
+@Component
+public class EmailOutbox {
+
+    private Logger logger = LoggerFactory.getLogger(EmailOutbox.class);
+
+    private final JavaMailSender mailSender;
+
+    private final EmailSender emailSender;
+
+    private final EmailOutboxConfig config;
+
+    private final Map<String, EmailDelivery> deliveries = new ConcurrentHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+
+    private BlockingQueue<EmailDelivery> queue;
+
+    private ExecutorService workers;
+
+    private ScheduledExecutorService retries;
+
+    public EmailOutbox(JavaMailSender mailSender, EmailSender emailSender, EmailOutboxConfig config) {
+        this.mailSender = mailSender;
+        this.emailSender = emailSender;
+        this.config = config;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+
+        CustomizableThreadFactory workerFactory = new CustomizableThreadFactory("email-outbox-");
+        workerFactory.setDaemon(true);
+        workers = Executors.newFixedThreadPool(config.getWorkerThreads(), workerFactory);
+        for (int i = 0; i < config.getWorkerThreads(); i++) {
+            workers.execute(this::work);
+        }
+
+        CustomizableThreadFactory retryFactory = new CustomizableThreadFactory("email-retry-");
+        retryFactory.setDaemon(true);
+        retries = Executors.newSingleThreadScheduledExecutor(retryFactory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+        retries.shutdownNow();
+        if (!queue.isEmpty()) logger.warn("Discarding {} e-mails still in the outbox", queue.size());
+    }
+
+    // SUBMIT
+    public EmailDelivery submit(EmailMessage message) {
+        evictExpiredDeliveries();
+
+        EmailDelivery delivery = new EmailDelivery(message);
+        deliveries.put(delivery.getId(), delivery);
+
+        if (!queue.offer(delivery)) {
+            deliveries.remove(delivery.getId());
+            discardAttachments(delivery);
+            throw new ServiceUnavailableException("Too many e-mails waiting to be sent, please try again later!");
+        }
+        return delivery;
+    }
+
+    // STATUS
+    public Optional<EmailDelivery> findById(String id) {
+        return Optional.ofNullable(deliveries.get(id));
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    private void work() {
+        List<EmailDelivery> batch = new ArrayList<>(config.getBatchSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, config.getBatchSize() - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Nunca deixa o worker morrer: as mensagens do lote já tiveram o status atualizado
+                logger.error("Unexpected error in the e-mail outbox", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<EmailDelivery> batch) {
+        Map<MimeMessage, EmailDelivery> messages = new LinkedHashMap<>();
+        for (EmailDelivery delivery : batch) {
+            delivery.sending();
+            try {
+                messages.put(emailSender.createMimeMessage(delivery.getMessage()), delivery);
+            } catch (Exception e) {
+                // Mensagem mal formada: tentar de novo não resolve
+                finishFailed(delivery, e);
+            }
+        }
+        if (messages.isEmpty()) return;
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            messages.values().forEach(this::finishSent);
+        } catch (MailSendException e) {
+            // Falha parcial: apenas as mensagens listadas falharam; sem lista, a conexão falhou para todas
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            messages.forEach((mime, delivery) -> {
+                if (failedMessages.isEmpty()) retryOrFail(delivery, e);
+                else if (failedMessages.containsKey(mime)) retryOrFail(delivery, failedMessages.get(mime));
+                else finishSent(delivery);
+            });
+        } catch (MailException e) {
+            messages.values().forEach(delivery -> retryOrFail(delivery, e));
+        }
+    }
+
+    private void retryOrFail(EmailDelivery delivery, Exception error) {
+        if (delivery.getAttempts() >= config.getMaxAttempts()) {
+            finishFailed(delivery, error);
+            return;
+        }
+
+        long backoff = backoffMillis(delivery.getAttempts());
+        delivery.retrying(error.getMessage(), new Date(System.currentTimeMillis() + backoff));
+        retried.increment();
+        logger.warn("E-mail {} failed (attempt {}), retrying in {} ms: {}",
+                delivery.getId(), delivery.getAttempts(), backoff, error.getMessage());
+
+        retries.schedule(() -> requeue(delivery), backoff, TimeUnit.MILLISECONDS);
+    }
+
+    private void requeue(EmailDelivery delivery) {
+        // Fila cheia: tenta de novo mais tarde em vez de descartar a mensagem
+        if (!queue.offer(delivery)) {
+            retries.schedule(() -> requeue(delivery), config.getInitialBackoffMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    long backoffMillis(int attempts) {
+        long backoff = config.getInitialBackoffMillis() << Math.min(attempts - 1, 30);
+        return Math.min(backoff, config.getMaxBackoffMillis());
+    }
+
+    private void finishSent(EmailDelivery delivery) {
+        delivery.sent();
+        sent.increment();
+        discardAttachments(delivery);
+        logger.info("E-mail {} sent to {} with the subject '{}'",
+                delivery.getId(), delivery.getMessage().getRecipients(), delivery.getMessage().getSubject());
+    }
+
+    private void finishFailed(EmailDelivery delivery, Exception error) {
+        delivery.failed(error.getMessage());
+        failed.increment();
+        discardAttachments(delivery);
+        logger.error("E-mail {} could not be sent after {} attempts", delivery.getId(), delivery.getAttempts(), error);
+    }
+
+    private void discardAttachments(EmailDelivery delivery) {
+        delivery.getMessage().getAttachments().forEach(EmailAttachment::discard);
+    }
+
+    private void evictExpiredDeliveries() {
+        long limit = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(config.getRetentionMinutes());
+        deliveries.values().removeIf(delivery -> delivery.isFinished() && delivery.getFinishedAt().getTime() < limit);
+    }
+}
@@ -1,103 +1,77 @@
 package br.com.erudio.mail;
 
 import br.com.erudio.config.EmailConfig;
+import br.com.erudio.exception.BadRequestException;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.AddressException;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.MediaType;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.StringTokenizer;
 
+// Converte EmailMessage em MimeMessage. Sem estado: pode ser usado por várias threads ao mesmo tempo
 @Component
-public class EmailSender implements Serializable {
-
-    Logger logger = LoggerFactory.getLogger(EmailSender.class);
+public class EmailSender {
 
     private final JavaMailSender mailSender;
-    private String to;
-    private String subject;
-    private String body;
-    private ArrayList<InternetAddress> recipients = new ArrayList<>();
-    private File attachment;
 
-    public EmailSender(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
-    }
-
-    public EmailSender to(String to) {
-        this.to = to;
-        this.recipients = getRecipients(to);
-        return this;
-    }
-
-    public EmailSender withSubject(String subject) {
-        this.subject = subject;
-        return this;
-    }
-
-    public EmailSender withMessage(String body) {
-        this.body = body;
-        return this;
-    }
+    private final EmailConfig config;
 
-    public EmailSender attach(String fileDir) {
-        this.attachment = new File(fileDir);
-        return this;
+    public EmailSender(JavaMailSender mailSender, EmailConfig config) {
+        this.mailSender = mailSender;
+        this.config = config;
     }
 
-    public void send(EmailConfig config){
+    public MimeMessage createMimeMessage(EmailMessage email) throws MessagingException {
         MimeMessage message = mailSender.createMimeMessage();
-        try {
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setFrom(config.getUsername());
-            helper.setTo(recipients.toArray(new InternetAddress[0]));
-            helper.setSubject(subject);
-            helper.setText(body, true);
-            if (attachment != null) {
-                helper.addAttachment(attachment.getName(), attachment);
-            }
-            mailSender.send(message);
-            logger.info("Email sent to %s with the subject '%s'%n", to, subject);
-            reset();
-        } catch (MessagingException e) {
-            throw new RuntimeException("Error sending the email", e);
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setFrom(StringUtils.isNotBlank(config.getFrom()) ? config.getFrom() : config.getUsername());
+        helper.setTo(toAddresses(email.getRecipients()));
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        for (EmailAttachment attachment : email.getAttachments()) {
+            helper.addAttachment(attachment.getFilename(), attachment.getSource(),
+                    attachment.getContentType() != null ? attachment.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
         }
-
-    }
-
-    private void reset() {
-        this.to = null;
-        this.subject = null;
-        this.body = null;
-        this.recipients = null;
-        this.attachment = null;
+        return message;
     }
 
-    // email1@gmail.com;email2@gmail.com,email3@gmail.com
-    private ArrayList<InternetAddress> getRecipients(String to) {
-        if (to == null || to.trim().isEmpty()) {
-            throw new IllegalArgumentException("O destinatário (to) não pode ser nulo ou vazio!");
+    // email1@gmail.com;email2@gmail.com
+    public List<String> parseRecipients(String to) {
+        if (StringUtils.isBlank(to)) {
+            throw new BadRequestException("O destinatário (to) não pode ser nulo ou vazio!");
         }
 
         String toWithoutSpaces = to.replaceAll("\\s", "");
         StringTokenizer tok = new StringTokenizer(toWithoutSpaces, ";");
-        ArrayList<InternetAddress> recipientsList = new ArrayList<>();
+        List<String> recipients = new ArrayList<>();
         while (tok.hasMoreElements()) {
+            String recipient = tok.nextElement().toString();
             try {
-                recipientsList.add(new InternetAddress(tok.nextElement().toString()));
+                new InternetAddress(recipient, true);
             } catch (AddressException e) {
-                throw new RuntimeException(e);
+                throw new BadRequestException("Invalid e-mail address: " + recipient);
             }
+            recipients.add(recipient);
+        }
+        if (recipients.isEmpty()) {
+            throw new BadRequestException("O destinatário (to) não pode ser nulo ou vazio!");
         }
-        return recipientsList;
+        return recipients;
     }
 
+    private static InternetAddress[] toAddresses(List<String> recipients) throws AddressException {
+        InternetAddress[] addresses = new InternetAddress[recipients.size()];
+        for (int i = 0; i < addresses.length; i++) {
+            addresses[i] = new InternetAddress(recipients.get(i));
+        }
+        return addresses;
+    }
 }
@@ -0,0 +1,35 @@
+package br.com.erudio.mapper;
+
+import java.util.List;
+
+// Mapeamento via reflexão com o Dozer (ver ObjectMapper)
+public class DozerEntityMapper<E, D> implements EntityMapper<E, D> {
+
+    private final Class<E> entityClass;
+    private final Class<D> dtoClass;
+
+    public DozerEntityMapper(Class<E> entityClass, Class<D> dtoClass) {
+        this.entityClass = entityClass;
+        this.dtoClass = dtoClass;
+    }
+
+    @Override
+    public D toDTO(E entity) {
+        return ObjectMapper.parseObject(entity, dtoClass);
+    }
+
+    @Override
+    public E toEntity(D dto) {
+        return ObjectMapper.parseObject(dto, entityClass);
+    }
+
+    @Override
+    public List<D> toDTOList(List<E> entities) {
+        return ObjectMapper.parseListObjects(entities, dtoClass);
+    }
+
+    @Override
+    public List<E> toEntityList(List<D> dtos) {
+        return ObjectMapper.parseListObjects(dtos, entityClass);
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.erudio.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Conversão entre uma entidade e o seu DTO
+public interface EntityMapper<E, D> {
+
+    D toDTO(E entity);
+
+    E toEntity(D dto);
+
+    default List<D> toDTOList(List<E> entities) {
+        List<D> dtos = new ArrayList<>(entities.size());
+        for (E entity : entities) {
+            dtos.add(toDTO(entity));
+        }
+        return dtos;
+    }
+
+    default List<E> toEntityList(List<D> dtos) {
+        List<E> entities = new ArrayList<>(dtos.size());
+        for (D dto : dtos) {
+            entities.add(toEntity(dto));
+        }
+        return entities;
+    }
+}
@@ -2,14 +2,20 @@ package br.com.erudio.mapper;
 
 import com.github.dozermapper.core.DozerBeanMapperBuilder;
 import com.github.dozermapper.core.Mapper;
+import org.hibernate.Hibernate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class ObjectMapper {
 
-    // Criando uma instância do Mapper do Dozer para mapear objetos entre diferentes classes
-    private static Mapper mapper = DozerBeanMapperBuilder.buildDefault();
+    // Criando uma instância do Mapper do Dozer para mapear objetos entre diferentes classes.
+    // Coleções LAZY ainda não carregadas são ignoradas (retornar true = campo já tratado) em vez de
+    // disparar um SELECT por objeto ou LazyInitializationException fora da sessão.
+    private static Mapper mapper = DozerBeanMapperBuilder.create()
+            .withCustomFieldMapper((source, destination, sourceFieldValue, classMap, fieldMapping) ->
+                    !Hibernate.isInitialized(sourceFieldValue))
+            .build();
 
     // Converte um objeto de um tipo para outro.
     public static <O, D> D parseObject(O origin, Class<D> destination) {
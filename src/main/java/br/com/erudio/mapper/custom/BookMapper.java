@@ -1,11 +1,22 @@
 package br.com.erudio.mapper.custom;
 
 import br.com.erudio.data.dto.v1.BookDTO;
+import br.com.erudio.mapper.EntityMapper;
 import br.com.erudio.model.Book;
 import org.springframework.stereotype.Service;
 
 @Service
-public class BookMapper {
+public class BookMapper implements EntityMapper<Book, BookDTO> {
+
+    @Override
+    public BookDTO toDTO(Book book) {
+        return convertEntityToDTO(book);
+    }
+
+    @Override
+    public Book toEntity(BookDTO book) {
+        return convertDTOToEntity(book);
+    }
 
     public BookDTO convertEntityToDTO(Book book){
         BookDTO dto = new BookDTO();
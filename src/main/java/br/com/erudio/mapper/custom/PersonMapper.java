@@ -1,14 +1,56 @@
 package br.com.erudio.mapper.custom;
 
+import br.com.erudio.data.dto.v1.PersonDTO;
 import br.com.erudio.data.dto.v2.PersonDTOV2;
+import br.com.erudio.mapper.EntityMapper;
 import br.com.erudio.model.Person;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Date;
 
 @Service
-public class PersonMapper {
+public class PersonMapper implements EntityMapper<Person, PersonDTO> {
 
+    @Override
+    public PersonDTO toDTO(Person person) {
+        PersonDTO dto = new PersonDTO();
+
+        dto.setId(person.getId());
+        dto.setFirstName(person.getFirstName());
+        dto.setLastName(person.getLastName());
+        dto.setAddress(person.getAddress());
+        dto.setGender(person.getGender());
+        dto.setEnabled(person.getEnabled());
+        dto.setProfileUrl(person.getProfileUrl());
+        dto.setPhotoUrl(person.getPhotoUrl());
+        // Livros só são copiados se já foram carregados: books é LAZY e a sessão pode já estar fechada
+        if (person.getBooks() != null && Hibernate.isInitialized(person.getBooks())) {
+            dto.setBooks(new ArrayList<>(person.getBooks()));
+        }
+
+        return dto;
+    }
+
+    @Override
+    public Person toEntity(PersonDTO person) {
+        Person entity = new Person();
+
+        entity.setId(person.getId());
+        entity.setFirstName(person.getFirstName());
+        entity.setLastName(person.getLastName());
+        entity.setAddress(person.getAddress());
+        entity.setGender(person.getGender());
+        entity.setEnabled(person.getEnabled());
+        entity.setProfileUrl(person.getProfileUrl());
+        entity.setPhotoUrl(person.getPhotoUrl());
+        entity.setBooks(person.getBooks() != null ? new ArrayList<>(person.getBooks()) : null);
+
+        return entity;
+    }
+
+    // V2
     public PersonDTOV2 convertEntityToDTO(Person person) {
         PersonDTOV2 dto = new PersonDTOV2();
 
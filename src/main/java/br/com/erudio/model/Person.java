@@ -37,7 +37,8 @@ public class Person implements Serializable {
     @Column(name = "photo_url", length = 255)
     private String photoUrl;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Carregado apenas quando pedido (ver PersonRepository.findWithBooksById); as listagens não usam os livros
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "person_books",
             joinColumns = @JoinColumn(name = "person_id"),
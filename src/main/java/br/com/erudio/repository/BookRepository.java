@@ -1,6 +1,19 @@
 package br.com.erudio.repository;
 
 import br.com.erudio.model.Book;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface BookRepository extends JpaRepository<Book, Long> {}
+public interface BookRepository extends JpaRepository<Book, Long> {
+
+    // Slice: busca size + 1 linhas para saber se há próxima página, sem SELECT COUNT
+    Slice<Book> findSliceBy(Pageable pageable);
+
+    // Paginação keyset: WHERE (title, id) > posição ORDER BY title, id LIMIT limit + 1, sem COUNT
+    Window<Book> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+}
@@ -0,0 +1,38 @@
+package br.com.erudio.repository;
+
+import br.com.erudio.data.dto.v1.PersonDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Person usa GenerationType.IDENTITY, o que impede o Hibernate de agrupar os INSERTs.
+// Para importações em massa gravamos direto via JDBC em batches.
+@Repository
+public class PersonBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO person (first_name, last_name, address, gender, enabled) VALUES (?, ?, ?, ?, ?)";
+
+    private static final ParameterizedPreparedStatementSetter<PersonDTO> SETTER = (ps, person) -> {
+        ps.setString(1, person.getFirstName());
+        ps.setString(2, person.getLastName());
+        ps.setString(3, person.getAddress());
+        ps.setString(4, person.getGender());
+        ps.setBoolean(5, person.getEnabled() == null || person.getEnabled());
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<PersonDTO> people, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, people, batchSize, SETTER);
+    }
+
+    public void insert(PersonDTO person) {
+        jdbcTemplate.update(INSERT_SQL, ps -> SETTER.setValues(ps, person));
+    }
+
+}
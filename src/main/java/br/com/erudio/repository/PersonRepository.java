@@ -1,21 +1,69 @@
 package br.com.erudio.repository;
 
+import br.com.erudio.data.dto.v1.PersonDTO;
 import br.com.erudio.model.Person;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
+import java.util.stream.Stream;
+
 public interface PersonRepository extends JpaRepository<Person, Long> {
 
     @Modifying(clearAutomatically = true) // para não pegar do CACHE e sim do banco
     @Query("UPDATE Person p SET p.enabled = false WHERE p.id =:id")
-    void disablePerson(@Param("id") Long id);
+    int disablePerson(@Param("id") Long id);
+
+    // Paginação keyset: WHERE (first_name, id) > posição ORDER BY first_name, id LIMIT limit + 1, sem COUNT.
+    // A profundidade não altera o custo: o índice idx_person_first_name começa direto na posição.
+    Window<Person> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 
-    @Query("SELECT p FROM Person p WHERE p.firstName LIKE LOWER(CONCAT ('%',:firstName,'%'))")
+    // Person com os livros carregados no mesmo SELECT (LEFT JOIN), para o relatório de uma pessoa
+    @EntityGraph(attributePaths = "books")
+    Optional<Person> findWithBooksById(Long id);
+
+    // A collation da tabela (utf8mb4_0900_ai_ci) já compara sem diferenciar maiúsculas.
+    // O '%' inicial impede o uso de índice: para a caixa de busca use searchByNamePrefix/searchByNameContaining.
+    @Query("SELECT p FROM Person p WHERE p.firstName LIKE CONCAT('%', :firstName, '%')")
     Page<Person> findPeopleByName(@Param("firstName") String firstName, Pageable pageable);
 
+    // Slices: busca size + 1 linhas para saber se há próxima página, sem SELECT COUNT
+    Slice<Person> findSliceBy(Pageable pageable);
+
+    @Query("SELECT p FROM Person p WHERE p.firstName LIKE CONCAT('%', :firstName, '%')")
+    Slice<Person> findSliceOfPeopleByName(@Param("firstName") String firstName, Pageable pageable);
+
+    // Nome ou sobrenome começando com o prefixo (idx_person_first_name / idx_person_last_name).
+    // O prefixo deve vir com '!', '%' e '_' escapados por '!'.
+    @Query("SELECT p FROM Person p WHERE p.firstName LIKE CONCAT(:prefix, '%') ESCAPE '!' OR p.lastName LIKE CONCAT(:prefix, '%') ESCAPE '!'")
+    Page<Person> searchByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    // Nome ou sobrenome contendo o termo (índice full-text ngram ft_person_name).
+    // O termo deve ser uma frase do modo booleano ("abi"), que exige os ngrams em sequência.
+    // Por ser nativa, a ordenação do Pageable usa nomes de coluna (first_name).
+    @Query(value = "SELECT * FROM person WHERE MATCH(first_name, last_name) AGAINST (:term IN BOOLEAN MODE)",
+            countQuery = "SELECT COUNT(*) FROM person WHERE MATCH(first_name, last_name) AGAINST (:term IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<Person> searchByNameContaining(@Param("term") String term, Pageable pageable);
+
+    // Projeção direta para o DTO (sem books) lida linha a linha do MySQL.
+    // fetchSize = Integer.MIN_VALUE faz o driver usar um cursor em vez de carregar todo o ResultSet.
+    // Deve ser consumido dentro de uma transação e fechado ao final.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new br.com.erudio.data.dto.v1.PersonDTO(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p")
+    Stream<PersonDTO> streamAll(Sort sort);
 
 }
@@ -29,10 +29,10 @@ public class JwtTokenFilter extends GenericFilterBean {
         // Extrai o token do cabeçalho da requisição HTTP
         var token = tokenProvider.resolveToken((HttpServletRequest) request);
 
-        // Verifica se o token não está em branco e se é válido
-        if (StringUtils.isNotBlank(token) && tokenProvider.validateToken(token)) {
+        // Verifica se o token não está em branco
+        if (StringUtils.isNotBlank(token)) {
 
-            // Obtém a autenticação do token
+            // Verifica o token (uma única vez, com cache) e obtém a autenticação a partir das claims
             Authentication authentication = tokenProvider.getAuthentication(token);
 
             // Se a autenticação for válida, define-a no contexto de segurança do Spring
@@ -1,10 +1,11 @@
 package br.com.erudio.security.jwt;
 
+import br.com.erudio.cache.EntityCache;
 import br.com.erudio.data.dto.security.TokenDTO;
-import br.com.erudio.exception.InvalidJwtAuthenticationException;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,14 +14,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class JwtTokenProvider {
@@ -31,11 +35,15 @@ public class JwtTokenProvider {
     @Value("${security.jwt.token.expire-lenght:3600000}")
     private long validityInMilliseconds;
 
-    @Autowired
-    private UserDetailsService userDetailsService;
-
     Algorithm algorithm = null;
 
+    // JWTVerifier é imutável e thread-safe: um único verificador atende todas as requisições
+    JWTVerifier verifier = null;
+
+    // Tokens já verificados -> Authentication, para não verificar a assinatura a cada requisição
+    @Autowired
+    EntityCache<String, VerifiedToken> verifiedTokens;
+
     @PostConstruct
     protected void init() {
         // Converte a chave secreta (String) para Base64 (formato de codificação)
@@ -45,6 +53,8 @@ public class JwtTokenProvider {
         // Cria um algoritmo de assinatura HMAC usando SHA-256 com a chave secreta
         // HMAC-SHA256 é um algoritmo comum para assinar tokens JWT
         algorithm = Algorithm.HMAC256(secretKey.getBytes());
+
+        verifier = JWT.require(algorithm).build();
     }
 
     // Cria um TokenDTO contendo access token e refresh token para um usuário
@@ -75,10 +85,7 @@ public class JwtTokenProvider {
             // Removendo o prefixo "Bearer " do refreshToken, caso ele esteja presente.
             token = refreshToken.substring("Bearer ".length());
 
-        // Criando um verificador JWT com o algoritmo previamente configurado
-        JWTVerifier verifier = JWT.require(algorithm).build();
-
-        // Verificando e decodificando o refreshToken usando o verificador
+        // Verificando e decodificando o refreshToken usando o verificador compartilhado
         DecodedJWT decodedJWT = verifier.verify(token);
 
         // Extraindo o nome de usuário (subject) do token decodificado
@@ -123,34 +130,54 @@ public class JwtTokenProvider {
                 .sign(algorithm);
     }
 
-    // Obtém a autenticação do usuário a partir do token JWT
+    // Obtém a autenticação do usuário a partir do token JWT (null se o token for inválido ou expirado)
     public Authentication getAuthentication(String token) {
-        // Decodifica o token JWT
-        DecodedJWT decodedJWT = decodedToken(token);
+        VerifiedToken verified = verifiedTokens.get(token, this::verify).orElse(null);
+        if (verified == null) return null;
+
+        // A entrada pode durar mais que o próprio token: a expiração é conferida a cada uso
+        if (verified.expiresAt() <= System.currentTimeMillis()) {
+            verifiedTokens.invalidate(token);
+            return null;
+        }
+        return verified.authentication();
+    }
+
+    // Verifica a assinatura uma única vez e monta a autenticação a partir das claims,
+    // sem consultar o banco: as roles já foram gravadas no token no login
+    private Optional<VerifiedToken> verify(String token) {
+        DecodedJWT decodedJWT;
+        try {
+            decodedJWT = decodedToken(token);
+        } catch (JWTVerificationException e) {
+            return Optional.empty();
+        }
 
-        // Carrega os detalhes do usuário do banco de dados usando o subject (username) do token
-        UserDetails userDetails = this.userDetailsService.loadUserByUsername(decodedJWT.getSubject());
+        String username = decodedJWT.getSubject();
+        Date expiresAt = decodedJWT.getExpiresAt();
+        if (StringUtils.isBlank(username) || expiresAt == null) return Optional.empty();
+
+        List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+
+        UserDetails userDetails = User.withUsername(username)
+                .password("")
+                .authorities(authorities)
+                .build();
 
-        // Cria e retorna um objeto de autenticação do Spring Security
-        return new UsernamePasswordAuthenticationToken(
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
                 userDetails,           // Principal (usuário autenticado)
                 "",                     // Credenciais (não necessárias após autenticação)
-                userDetails.getAuthorities()  // Lista de autoridades/roles do usuário
+                authorities            // Roles do token
         );
+        return Optional.of(new VerifiedToken(authentication, expiresAt.getTime()));
     }
 
-    // Decodifica e valida um token JWT usando a chave secreta
+    // Decodifica e valida um token JWT (assinatura e expiração) usando a chave secreta
     private DecodedJWT decodedToken(String token) {
-        // Cria o algoritmo de verificação com a chave secreta
-        Algorithm alg = Algorithm.HMAC256(secretKey.getBytes());
-
-        // Cria o verificador JWT
-        JWTVerifier verifier = JWT.require(alg).build();
-
-        // Verifica e decodifica o token
-        DecodedJWT decodedJWT = verifier.verify(token);
-
-        return decodedJWT;
+        return verifier.verify(token);
     }
 
     // Método responsável por extrair o token JWT do cabeçalho da requisição HTTP
@@ -170,21 +197,4 @@ public class JwtTokenProvider {
         return StringUtils.isNotBlank(refreshToken) && refreshToken.startsWith("Bearer ");
     }
 
-    // Método responsável por validar o token JWT
-    public boolean validateToken(String token) {
-        // Decodifica o token JWT
-        DecodedJWT decodedJWT = decodedToken(token);
-
-        try {
-            // Verifica se o token está expirado
-            if (decodedJWT.getExpiresAt().before(new Date())) {
-                return false; // Retorna falso se o token estiver expirado
-            }
-            return true; // Retorna verdadeiro se o token for válido
-        } catch (Exception e) {
-            // Lança uma exceção personalizada caso o token seja inválido ou expirado
-            throw new InvalidJwtAuthenticationException("Expired or Invalid JWT Token!");
-        }
-    }
-
 }
@@ -0,0 +1,6 @@
+package br.com.erudio.security.jwt;
+
+import org.springframework.security.core.Authentication;
+
+// Token com a assinatura já conferida: a autenticação montada das claims e a expiração do token
+public record VerifiedToken(Authentication authentication, long expiresAt) {}
@@ -0,0 +1,90 @@
+package br.com.erudio.security.password;
+
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Monta o DelegatingPasswordEncoder PBKDF2 com o custo (iterações) gravado no id do hash.
+// Hashes antigos ({pbkdf2} ou sem prefixo) continuam válidos; como o id é diferente do id atual,
+// upgradeEncoding devolve true e o DaoAuthenticationProvider regrava a senha no próximo login.
+public final class Pbkdf2PasswordEncoders {
+
+    // Custo dos hashes gravados antes de o número de iterações ser configurável
+    public static final int LEGACY_ITERATIONS = 185000;
+
+    static final String LEGACY_ID = "pbkdf2";
+
+    private static final int SALT_LENGTH = 8;
+
+    private static final Pattern VERSIONED_ID = Pattern.compile("^\\{pbkdf2-(\\d+)}(.*)$");
+
+    private Pbkdf2PasswordEncoders() {}
+
+    public static DelegatingPasswordEncoder create(int iterations) {
+        PasswordEncoder legacy = pbkdf2(LEGACY_ITERATIONS);
+
+        String idForEncode = idFor(iterations);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(LEGACY_ID, legacy);
+        encoders.put(idForEncode, iterations == LEGACY_ITERATIONS ? legacy : pbkdf2(iterations));
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+
+        // Ids de custos configurados anteriormente ({pbkdf2-N}) e hashes sem prefixo
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new AnyCostMatcher(legacy));
+        return passwordEncoder;
+    }
+
+    public static String idFor(int iterations) {
+        return iterations == LEGACY_ITERATIONS ? LEGACY_ID : LEGACY_ID + "-" + iterations;
+    }
+
+    static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder(
+            "",                  // Salt secreto (vazio para salt aleatório)
+            SALT_LENGTH,         // Tamanho do salt em bytes
+            iterations,          // Número de iterações
+            Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256
+        );
+    }
+
+    // Usado apenas para conferir senhas cujo id não é o atual; nunca gera hashes
+    private static final class AnyCostMatcher implements PasswordEncoder {
+
+        private final PasswordEncoder legacy;
+
+        private final Map<Integer, PasswordEncoder> byIterations = new ConcurrentHashMap<>();
+
+        AnyCostMatcher(PasswordEncoder legacy) {
+            this.legacy = legacy;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("Only used to match passwords hashed with a previous cost");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String prefixEncodedPassword) {
+            if (prefixEncodedPassword == null) return false;
+
+            Matcher matcher = VERSIONED_ID.matcher(prefixEncodedPassword);
+            if (!matcher.matches()) return legacy.matches(rawPassword, prefixEncodedPassword);
+
+            int iterations;
+            try {
+                iterations = Integer.parseInt(matcher.group(1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            return byIterations.computeIfAbsent(iterations, Pbkdf2PasswordEncoders::pbkdf2)
+                    .matches(rawPassword, matcher.group(2));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.erudio.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+// Totais aproximados para as respostas sem COUNT (slices): cada total é contado no máximo uma vez por TTL.
+// Quando expira, apenas uma thread recalcula; as demais continuam recebendo o valor anterior.
+@Component
+public class ApproximateCountCache {
+
+    // Header das respostas em slice com o total aproximado
+    public static final String HEADER = "X-Approximate-Total-Count";
+
+    private Logger logger = Logger.getLogger(ApproximateCountCache.class.getName());
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    @Value("${pagination.approximate-count-ttl-seconds:60}")
+    private long ttlSeconds = 60;
+
+    private static final class CachedCount {
+        volatile long value;
+        volatile long countedAt;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+    }
+
+    public long get(String key, LongSupplier counter) {
+        CachedCount cached = counts.computeIfAbsent(key, k -> {
+            CachedCount count = new CachedCount();
+            count.value = counter.getAsLong();
+            count.countedAt = System.currentTimeMillis();
+            return count;
+        });
+
+        boolean expired = System.currentTimeMillis() - cached.countedAt > ttlSeconds * 1000;
+        if (expired && cached.refreshing.compareAndSet(false, true)) {
+            try {
+                cached.value = counter.getAsLong();
+                cached.countedAt = System.currentTimeMillis();
+            } catch (RuntimeException e) {
+                // Mantém o valor anterior: é só uma aproximação
+                logger.warning("Could not refresh the approximate count of " + key + ": " + e.getMessage());
+            } finally {
+                cached.refreshing.set(false);
+            }
+        }
+        return cached.value;
+    }
+
+    // Força a próxima leitura a contar de novo (ex.: depois de uma importação em massa)
+    public void invalidate(String key) {
+        counts.remove(key);
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
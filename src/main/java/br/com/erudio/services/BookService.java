@@ -1,26 +1,37 @@
 package br.com.erudio.services;
 
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.cache.ExportCache;
 import br.com.erudio.controllers.BookController;
 import br.com.erudio.data.dto.v1.BookDTO;
+import br.com.erudio.exception.BadRequestException;
 import br.com.erudio.exception.RequiredObjectIsNullException;
 import br.com.erudio.exception.ResourceNotFoundException;
+import br.com.erudio.hateoas.BookLinks;
+import br.com.erudio.mapper.EntityMapper;
 import br.com.erudio.mapper.custom.BookMapper;
 import br.com.erudio.model.Book;
 import br.com.erudio.repository.BookRepository;
 
-import static br.com.erudio.mapper.ObjectMapper.parseObject;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.data.web.SlicedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
 @Service
@@ -34,16 +45,37 @@ public class BookService {
     @Autowired
     PagedResourcesAssembler<BookDTO> assembler;
 
+    @Autowired
+    SlicedResourcesAssembler<BookDTO> slicedAssembler;
+
+    @Autowired
+    ApproximateCountCache approximateCounts;
+
+    @Autowired
+    EntityCache<Long, Book> cache;
+
+    // O relatório de uma pessoa lista os livros
+    @Autowired
+    ExportCache exportCache;
+
     @Autowired
     BookMapper converter;
 
+    @Autowired
+    BookLinks links;
+
+    // Implementação escolhida em MapperConfig (mapper.book)
+    @Autowired
+    EntityMapper<Book, BookDTO> mapper;
+
     public BookDTO findById(Long id) {
         logger.info("Finding one Book!");
 
-        var entity = repository.findById(id)
+        // Entidade vem do cache; o DTO é sempre uma cópia nova
+        var entity = cache.get(id, repository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
 
-        var dto = parseObject(entity, BookDTO.class);
+        var dto = mapper.toDTO(entity);
 
         addHteosLinks(dto);
         return dto;
@@ -65,7 +97,7 @@ public class BookService {
         var books = repository.findAll(pageable);
 
         var booksWithLinks = books.map(person -> {
-            var dto = parseObject(person, BookDTO.class);
+            var dto = mapper.toDTO(person);
             addHteosLinks(dto);
 
             return dto;
@@ -79,14 +111,64 @@ public class BookService {
         return assembler.toModel(booksWithLinks, findAllLink);
     }
 
+    // FIND ALL (SLICE)
+    // Sem SELECT COUNT: busca size + 1 linhas e informa apenas se há próxima página
+    public SlicedModel<EntityModel<BookDTO>> findAllSlice(Pageable pageable) {
+
+        logger.info("Finding a slice of books!");
+
+        return buildSlicedModel(repository.findSliceBy(pageable));
+    }
+
+    // Total aproximado (COUNT reaproveitado por até pagination.approximate-count-ttl-seconds)
+    public long approximateCount() {
+        return approximateCounts.get("books", repository::count);
+    }
+
+    // SCROLL (KEYSET)
+    // Paginação por cursor (title, id): custo constante em qualquer profundidade e sem SELECT COUNT
+    public CollectionModel<BookDTO> scroll(String cursor, Integer size, Sort.Direction direction) {
+        if (size == null || size < 1) throw new BadRequestException("Size must be greater than zero!");
+
+        logger.info("Scrolling books!");
+
+        Window<Book> window = repository.findAllBy(
+                KeysetCursor.toPosition(cursor, "title", direction),
+                Sort.by(direction, "title", "id"),
+                Limit.of(size));
+
+        List<BookDTO> books = new ArrayList<>(window.size());
+        for (Book entity : window) {
+            var dto = mapper.toDTO(entity);
+            addHteosLinks(dto);
+            books.add(dto);
+        }
+
+        String directionParam = direction.name().toLowerCase();
+        List<Link> links = new ArrayList<>();
+        links.add(WebMvcLinkBuilder.linkTo(
+                WebMvcLinkBuilder.methodOn(BookController.class).scroll(cursor, size, directionParam)).withSelfRel());
+
+        if (window.hasNext()) {
+            Book last = window.getContent().get(window.size() - 1);
+            String next = KeysetCursor.encode(last.getTitle(), last.getId(), direction);
+            links.add(WebMvcLinkBuilder.linkTo(
+                    WebMvcLinkBuilder.methodOn(BookController.class).scroll(next, size, directionParam)).withRel(IanaLinkRelations.NEXT));
+        }
+        return CollectionModel.of(books, links);
+    }
+
     public BookDTO create(BookDTO book) {
         if (book == null) throw new RequiredObjectIsNullException();
 
         logger.info("Creating one Book!");
 
-        var entity = parseObject(book, Book.class);
+        var entity = mapper.toEntity(book);
 
-        return parseObject(repository.save(entity), BookDTO.class);
+        var dto = mapper.toDTO(repository.save(entity));
+        exportCache.invalidate();
+        approximateCounts.invalidate("books");
+        return dto;
     }
 
     public BookDTO update(BookDTO book) {
@@ -102,7 +184,9 @@ public class BookService {
         entity.setPrice(book.getPrice());
         entity.setTitle(book.getTitle());
 
-        var dto = parseObject(repository.save(entity), BookDTO.class);
+        var dto = mapper.toDTO(repository.save(entity));
+        cache.invalidate(entity.getId());
+        exportCache.invalidate();
         addHteosLinks(dto);
 
         return dto;
@@ -115,22 +199,28 @@ public class BookService {
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
 
         repository.delete(entity);
+        cache.invalidate(id);
+        exportCache.invalidate();
+        approximateCounts.invalidate("books");
     }
 
 
 
-    // HATEOS -> Link para requisição
-    private void addHteosLinks(BookDTO dto) {
-        dto.add(linkTo(methodOn(BookController.class).findById(dto.getId())).withSelfRel().withType("GET"));
-
-        dto.add(linkTo(methodOn(BookController.class).findAll(1, 12, "asc"))
-                .withRel("findAll").withType("GET"));
+    // BUILD SLICED MODEL
+    private SlicedModel<EntityModel<BookDTO>> buildSlicedModel(Slice<Book> books) {
+        var booksWithLinks = books.map(entity -> {
+            var dto = mapper.toDTO(entity);
+            addHteosLinks(dto);
 
-        dto.add(linkTo(methodOn(BookController.class).create(dto)).withRel("create").withType("POST"));
+            return dto;
+        });
 
-        dto.add(linkTo(methodOn(BookController.class).update(dto)).withRel("update").withType("PUT"));
+        return slicedAssembler.toModel(booksWithLinks);
+    }
 
-        //dto.add(linkTo(methodOn(BookController.class).delete(dto.getId())).withRel("delete").withType("DELETE"));
+    // HATEOS -> Link para requisição
+    private void addHteosLinks(BookDTO dto) {
+        links.addLinks(dto);
     }
 
 }
@@ -0,0 +1,36 @@
+package br.com.erudio.services;
+
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.cache.ExportCache;
+import br.com.erudio.data.dto.v1.CacheStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.logging.Logger;
+
+@Service
+public class CacheService {
+
+    private Logger logger = Logger.getLogger(CacheService.class.getName());
+
+    @Autowired
+    List<EntityCache<?, ?>> caches;
+
+    @Autowired
+    ExportCache exportCache;
+
+    public List<CacheStatsDTO> stats() {
+        logger.info("Reading the cache statistics!");
+
+        return Stream.concat(caches.stream().map(EntityCache::stats), Stream.of(exportCache.stats())).toList();
+    }
+
+    public void clear() {
+        logger.info("Clearing all the caches!");
+
+        caches.forEach(EntityCache::clear);
+        exportCache.invalidate();
+    }
+}
@@ -1,17 +1,33 @@
 package br.com.erudio.services;
 
-import br.com.erudio.config.EmailConfig;
+import br.com.erudio.config.EmailOutboxConfig;
 import br.com.erudio.data.dto.request.EmailRequestDTO;
+import br.com.erudio.data.dto.v1.EmailDeliveryDTO;
+import br.com.erudio.exception.BadRequestException;
+import br.com.erudio.exception.FileStorageException;
+import br.com.erudio.exception.ResourceNotFoundException;
+import br.com.erudio.mail.EmailAttachment;
+import br.com.erudio.mail.EmailDelivery;
+import br.com.erudio.mail.EmailMessage;
+import br.com.erudio.mail.EmailOutbox;
 import br.com.erudio.mail.EmailSender;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Monta a mensagem e a entrega ao EmailOutbox; o envio SMTP acontece fora da requisição
 @Service
 public class EmailService {
 
@@ -19,37 +35,134 @@ public class EmailService {
     private EmailSender emailSender;
 
     @Autowired
-    private EmailConfig emailConfigs;
+    private EmailOutbox outbox;
 
-    public void sendSimpleEmail(EmailRequestDTO emailRequest) {
-        emailSender
-                .to(emailRequest.getTo())
-                .withSubject(emailRequest.getSubject())
-                .withMessage(emailRequest.getSubject())
-                .send(emailConfigs);
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private EmailOutboxConfig config;
+
+    // Bytes de anexos mantidos em memória pelas mensagens ainda não finalizadas
+    private final AtomicLong inMemoryBytes = new AtomicLong();
+
+    public EmailDeliveryDTO sendSimpleEmail(EmailRequestDTO emailRequest) {
+        var recipients = emailSender.parseRecipients(emailRequest.getTo());
+
+        var message = new EmailMessage(
+                recipients,
+                emailRequest.getSubject(),
+                emailRequest.getBody(),
+                storedAttachments(emailRequest));
+
+        return toDTO(outbox.submit(message));
     }
 
-    public void setEmailWithAttachment(String emailRequestJson, MultipartFile attachment) {
-        File tempFile = null;
+    public EmailDeliveryDTO setEmailWithAttachment(String emailRequestJson, MultipartFile attachment) {
+        EmailRequestDTO emailRequest;
         try {
-            EmailRequestDTO emailRequest = new ObjectMapper().readValue(emailRequestJson, EmailRequestDTO.class);
-            tempFile = File.createTempFile("attachment", attachment.getOriginalFilename());
-            attachment.transferTo(tempFile);
+            emailRequest = new ObjectMapper().readValue(emailRequestJson, EmailRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Error parsing email request JSON!");
+        }
+        var recipients = emailSender.parseRecipients(emailRequest.getTo());
 
-            emailSender
-                    .to(emailRequest.getTo())
-                    .withSubject(emailRequest.getSubject())
-                    .withMessage(emailRequest.getSubject())
-                    .attach(tempFile.getAbsolutePath())
-                    .send(emailConfigs);
+        List<EmailAttachment> attachments = new ArrayList<>(storedAttachments(emailRequest));
+        try {
+            attachments.add(uploadedAttachment(attachment));
+        } catch (IOException | RuntimeException e) {
+            // Devolve as reservas dos arquivos armazenados: a mensagem não chega ao outbox
+            attachments.forEach(EmailAttachment::discard);
+            if (e instanceof RuntimeException runtime) throw runtime;
+            throw new FileStorageException("Error processing the attachment!", e);
+        }
 
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Error parsing email request JSON!", e);
-        } catch (IOException e) {
-            throw new RuntimeException("Error processing the attachment!", e);
-        } finally {
-            if (tempFile != null && tempFile.exists()) tempFile.delete();
+        var message = new EmailMessage(
+                recipients,
+                emailRequest.getSubject(),
+                emailRequest.getBody(),
+                attachments);
+
+        return toDTO(outbox.submit(message));
+    }
+
+    // STATUS
+    public EmailDeliveryDTO findById(String id) {
+        return outbox.findById(id)
+                .map(this::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("No e-mail found for this ID"));
+    }
+
+    // Arquivos já armazenados são lidos do próprio diretório de upload na hora do envio
+    private List<EmailAttachment> storedAttachments(EmailRequestDTO emailRequest) {
+        if (emailRequest.getAttachments() == null) return List.of();
+
+        List<EmailAttachment> attachments = new ArrayList<>(emailRequest.getAttachments().size());
+        try {
+            for (String fileName : emailRequest.getAttachments()) {
+                // O arquivo pode ser um blob sem extensão; nome e tipo vêm do nome lógico
+                String name = StringUtils.getFilename(StringUtils.cleanPath(fileName));
+
+                // Arquivo local é anexado sem cópia (reservado até o envio); de um backend remoto,
+                // baixa uma cópia só para o envio
+                attachments.add(fileStorageService.retainLocalFile(fileName)
+                        .map(retained -> EmailAttachment.sharedFile(
+                                name, contentTypeOf(name), retained.file(), retained.release()))
+                        .orElseGet(() -> EmailAttachment.ownedFile(
+                                name, contentTypeOf(name), fileStorageService.copyToTempFile(fileName))));
+            }
+        } catch (RuntimeException e) {
+            attachments.forEach(EmailAttachment::discard);
+            throw e;
         }
+        return attachments;
+    }
+
+    // Uploads pequenos ficam em memória enquanto houver espaço no limite total.
+    // Os demais vão para o spool do storage, no mesmo disco do spool do multipart: o temporário do
+    // upload é renomeado, sem segunda cópia do conteúdo.
+    private EmailAttachment uploadedAttachment(MultipartFile upload) throws IOException {
+        String filename = Optional.ofNullable(upload.getOriginalFilename()).orElse("attachment");
+        long size = upload.getSize();
+
+        if (size <= config.getAttachmentMaxInMemoryBytes() && reserveMemory(size)) {
+            try {
+                return EmailAttachment.inMemory(filename, upload.getContentType(), upload.getBytes(),
+                        () -> inMemoryBytes.addAndGet(-size));
+            } catch (IOException e) {
+                inMemoryBytes.addAndGet(-size);
+                throw e;
+            }
+        }
+
+        Path file = fileStorageService.spoolUpload(upload);
+        return EmailAttachment.ownedFile(filename, upload.getContentType(), file);
+    }
+
+    private boolean reserveMemory(long bytes) {
+        long current;
+        do {
+            current = inMemoryBytes.get();
+            if (current + bytes > config.getAttachmentsMaxTotalInMemoryBytes()) return false;
+        } while (!inMemoryBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    private static String contentTypeOf(String fileName) {
+        return MediaTypeFactory.getMediaType(fileName).map(MediaType::toString).orElse(null);
+    }
 
+    private EmailDeliveryDTO toDTO(EmailDelivery delivery) {
+        EmailDeliveryDTO dto = new EmailDeliveryDTO();
+        dto.setId(delivery.getId());
+        dto.setStatus(delivery.getStatus().name());
+        dto.setRecipients(delivery.getMessage().getRecipients());
+        dto.setSubject(delivery.getMessage().getSubject());
+        dto.setAttempts(delivery.getAttempts());
+        dto.setSubmittedAt(delivery.getSubmittedAt());
+        dto.setNextAttemptAt(delivery.getNextAttemptAt());
+        dto.setFinishedAt(delivery.getFinishedAt());
+        dto.setErrorMessage(delivery.getErrorMessage());
+        return dto;
     }
 }
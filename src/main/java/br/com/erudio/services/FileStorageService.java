@@ -3,78 +3,409 @@ package br.com.erudio.services;
 import br.com.erudio.config.FileStorageConfig;
 import br.com.erudio.exception.FileNotFoundException;
 import br.com.erudio.exception.FileStorageException;
+import br.com.erudio.file.compression.BestCompressionGzipOutputStream;
+import br.com.erudio.file.compression.ContentEncodings;
+import br.com.erudio.file.download.DownloadSource;
+import br.com.erudio.file.storage.ContentAddressedStore;
+import br.com.erudio.file.storage.FileSystemStorageBackend;
+import br.com.erudio.file.storage.RetainedFile;
+import br.com.erudio.file.storage.StorageBackend;
+import br.com.erudio.file.storage.StorageMode;
+import br.com.erudio.file.storage.StoredFile;
+import br.com.erudio.file.storage.StoredObject;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class FileStorageService {
 
     private static final Logger logger = LoggerFactory.getLogger(FileStorageService.class);
 
-    private final Path fileStorageLocation;
+    // Subdiretório onde o Tomcat grava os multiparts e onde os uploads são montados antes de aparecer no destino
+    public static final String INCOMING_DIR = ".incoming";
+
+    // Blobs e índice do modo content-addressed
+    public static final String CONTENT_DIR = ".content";
+
+    private final Path incomingLocation;
+
+    // Onde os arquivos ficam de fato (diretório local, bucket S3 ou memória)
+    private final StorageBackend backend;
+
+    // null no modo PLAIN
+    private final ContentAddressedStore contentStore;
+
+    // Variantes gzip dos uploads de texto, com a mesma chave do original
+    private final StorageBackend precompressed;
+
+    private final List<MediaType> precompressMimeTypes;
+
+    private final FileStorageConfig fileStorageConfig;
+
+    private ThreadPoolExecutor executor;
 
     @Autowired
-    public FileStorageService(FileStorageConfig fileStorageConfig) {
+    public FileStorageService(FileStorageConfig fileStorageConfig, StorageBackend backend) {
 
         Path path = Paths.get(fileStorageConfig.getUploadDir())
                 .toAbsolutePath().normalize();
 
-        this.fileStorageLocation = path;
+        this.incomingLocation = path.resolve(INCOMING_DIR);
+        this.backend = backend;
+        this.fileStorageConfig = fileStorageConfig;
 
         try {
             logger.info("Creating Directories.");
-            Files.createDirectories(this.fileStorageLocation);
+            Files.createDirectories(this.incomingLocation);
         } catch (Exception e) {
             logger.error("Could not create the directory where files will be stored!");
             throw new FileStorageException("Could not create the directory where files will be stored!", e);
         }
+
+        // O índice do modo content-addressed é local; com um backend remoto ele não seria compartilhado
+        boolean contentAddressed = fileStorageConfig.getStorageMode() == StorageMode.CONTENT_ADDRESSED;
+        if (contentAddressed && !(backend instanceof FileSystemStorageBackend)) {
+            throw new FileStorageException("The content-addressed storage mode requires the filesystem backend!");
+        }
+
+        try {
+            this.contentStore = contentAddressed ? new ContentAddressedStore(path.resolve(CONTENT_DIR)) : null;
+        } catch (Exception e) {
+            logger.error("Could not open the content-addressed store!");
+            throw new FileStorageException("Could not open the content-addressed store!", e);
+        }
+
+        this.precompressed = backend.namespace(ContentEncodings.GZIP);
+        this.precompressMimeTypes = MediaType.parseMediaTypes(fileStorageConfig.getPrecompressMimeTypes());
     }
 
-    public String storeFile(MultipartFile file) {
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolExecutor(
+                fileStorageConfig.getUploadThreads(),
+                fileStorageConfig.getUploadThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fileStorageConfig.getUploadQueueCapacity()),
+                new CustomizableThreadFactory("file-upload-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 
-        String fileName = StringUtils.cleanPath(file.getOriginalFilename());
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
 
+    public StoredFile storeFile(MultipartFile file) {
+
+        String fileName = validFileName(file.getOriginalFilename());
+        long start = System.nanoTime();
+
+        // Com o spool do multipart no mesmo sistema de arquivos, spoolUpload é um rename e não uma cópia
+        Path incoming = null;
         try {
-            if (fileName.contains("..")){
-                logger.error("Sorry! Filename contains a Invalid path Sequence " + fileName);
-                throw new FileStorageException("Sorry! Filename contains a Invalid path Sequence " + fileName);
-            }
+            logger.info("Saving file in " + backend.name() + " storage.");
 
-            logger.info("Saving file in Disk.");
+            incoming = spoolUpload(file);
+            return publish(incoming, fileName, null, start);
+
+        } catch (Exception e) {
+            deleteQuietly(incoming);
+            logger.error("Could not store file " + fileName + ". Please try Again!");
+            throw new FileStorageException("Could not store file " + fileName + ". Please try Again!", e);
+        }
+    }
 
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            return  fileName;
+    // Corpo da requisição gravado direto no disco em uma única passada, sem spool do multipart
+    public StoredFile storeStream(String originalFileName, InputStream content) {
+
+        String fileName = validFileName(originalFileName);
+        long start = System.nanoTime();
+
+        Path incoming = newIncomingPath();
+        try {
+            logger.info("Streaming file to " + backend.name() + " storage.");
+
+            // No modo content-addressed o hash é calculado durante a própria gravação
+            MessageDigest digest = contentStore != null ? ContentAddressedStore.newDigest() : null;
+            Files.copy(digest != null ? new DigestInputStream(content, digest) : content, incoming);
+            return publish(incoming, fileName, digest, start);
 
         } catch (Exception e) {
+            deleteQuietly(incoming);
             logger.error("Could not store file " + fileName + ". Please try Again!");
             throw new FileStorageException("Could not store file " + fileName + ". Please try Again!", e);
         }
     }
 
-    public Resource loadFileAsResource(String fileName) {
+    // Os arquivos de um upload múltiplo são gravados em paralelo; a resposta sai quando todos terminarem
+    public List<StoredFile> storeFiles(MultipartFile[] files) {
+
+        List<Future<StoredFile>> futures = new ArrayList<>(files.length);
+        for (MultipartFile file : files) {
+            try {
+                futures.add(executor.submit(() -> storeFile(file)));
+            } catch (RejectedExecutionException e) {
+                // Fila cheia: a própria requisição grava o arquivo, o que segura o envio dos próximos
+                // (back-pressure) em vez de recusar o upload inteiro
+                FutureTask<StoredFile> task = new FutureTask<>(() -> storeFile(file));
+                task.run();
+                futures.add(task);
+            }
+        }
+
+        List<StoredFile> stored = new ArrayList<>(files.length);
+        try {
+            for (Future<StoredFile> future : futures) {
+                stored.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new FileStorageException("Upload interrupted, please try again!", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new FileStorageException("Could not store the files. Please try Again!", e.getCause());
+        }
+        return stored;
+    }
+
+    // Arquivo armazenado pronto para download: local (sendfile) ou lido do backend por intervalos
+    public DownloadSource openStoredFile(String fileName) {
+        try {
+            Optional<Path> local = localFile(fileName);
+            if (local.isPresent()) return DownloadSource.of(local.get());
+
+            String key = storedKey(fileName);
+            StoredObject object = backend.stat(key).orElseThrow(() -> notFound(fileName));
+            return DownloadSource.of(object.size(), object.lastModified(),
+                    (offset, length) -> backend.getRange(key, offset, length));
+        } catch (IOException e) {
+            logger.error("Could not read file " + fileName);
+            throw new FileStorageException("Could not read file " + fileName, e);
+        }
+    }
+
+    // Variante gzip do arquivo, quando foi gerada no upload
+    public Optional<DownloadSource> openPrecompressed(String fileName) {
+        String key = storedKey(fileName);
+        try {
+            Optional<Path> local = precompressed.localPath(key);
+            if (local.isPresent()) return Optional.of(DownloadSource.of(local.get()));
+
+            Optional<StoredObject> object = precompressed.stat(key);
+            return object.map(variant -> DownloadSource.of(variant.size(), variant.lastModified(),
+                    (offset, length) -> precompressed.getRange(key, offset, length)));
+        } catch (IOException e) {
+            // Sem a variante o download segue com o original
+            logger.warn("Could not read the precompressed variant of {}", fileName, e);
+            return Optional.empty();
+        }
+    }
+
+    // Caminho local de um arquivo armazenado (vazio quando o backend é remoto).
+    // No modo content-addressed o caminho é o do blob, então o nome a exibir deve vir de fileName.
+    public Optional<Path> localFile(String fileName) {
+        String key = storedKey(fileName);
+
+        if (contentStore != null) {
+            return Optional.of(contentStore.resolve(key)
+                    .filter(Files::isRegularFile)
+                    .orElseThrow(() -> notFound(fileName)));
+        }
+
+        Optional<Path> local = backend.localPath(key);
+        if (local.isPresent()) return local;
+
         try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+            if (backend.stat(key).isEmpty()) throw notFound(fileName);
+        } catch (IOException e) {
+            throw new FileStorageException("Could not read file " + fileName, e);
+        }
+        return Optional.empty();
+    }
+
+    // Caminho local para ler depois que a requisição termina (anexo de e-mail na fila). No modo
+    // content-addressed o blob fica reservado até o release: sobrescrever o nome não o apaga antes.
+    public Optional<RetainedFile> retainLocalFile(String fileName) {
+        if (contentStore == null) return localFile(fileName).map(file -> new RetainedFile(file, () -> {}));
+
+        RetainedFile retained = contentStore.retain(storedKey(fileName)).orElseThrow(() -> notFound(fileName));
+        if (!Files.isRegularFile(retained.file())) {
+            retained.release().run();
+            throw notFound(fileName);
+        }
+        return Optional.of(retained);
+    }
+
+    // Arquivo de um upload multipart movido para o spool do storage; quem chama é dono do arquivo e
+    // deve apagá-lo. transferTo(File) chega ao Part.write do Tomcat, que renomeia o temporário quando
+    // está no mesmo sistema de arquivos; transferTo(Path) sempre copiaria o conteúdo por stream
+    public Path spoolUpload(MultipartFile file) throws IOException {
+        Path incoming = newIncomingPath();
+        try {
+            file.transferTo(incoming.toFile());
+            return incoming;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(incoming);
+            throw e;
+        }
+    }
 
-            if (resource.exists()) {
-                return resource;
+    // Cópia temporária de um arquivo remoto; quem chama é dono da cópia e deve apagá-la
+    public Path copyToTempFile(String fileName) {
+        String key = storedKey(fileName);
+        Path copy = newIncomingPath();
+
+        try (InputStream in = backend.get(key)) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            return copy;
+        } catch (NoSuchFileException e) {
+            deleteQuietly(copy);
+            throw notFound(fileName);
+        } catch (IOException e) {
+            deleteQuietly(copy);
+            throw new FileStorageException("Could not read file " + fileName, e);
+        }
+    }
+
+    private String storedKey(String fileName) {
+        String key = StringUtils.cleanPath(fileName);
+        if (key.isBlank() || key.contains("..") || key.startsWith("/")) throw notFound(fileName);
+        return key;
+    }
+
+    private static FileNotFoundException notFound(String fileName) {
+        logger.error("File not found " + fileName);
+        return new FileNotFoundException("File not found " + fileName);
+    }
+
+    private String validFileName(String originalFileName) {
+        String fileName = StringUtils.cleanPath(originalFileName == null ? "" : originalFileName);
+
+        if (fileName.isBlank() || fileName.contains("..") || fileName.chars().anyMatch(Character::isISOControl)
+                || fileName.startsWith(".") || fileName.startsWith("/")) {
+            logger.error("Sorry! Filename contains a Invalid path Sequence " + fileName);
+            throw new FileStorageException("Sorry! Filename contains a Invalid path Sequence " + fileName);
+        }
+        return fileName;
+    }
+
+    private Path newIncomingPath() {
+        return incomingLocation.resolve(UUID.randomUUID() + ".part");
+    }
+
+    // O arquivo só aparece no destino completo: quem baixa nunca vê um upload pela metade
+    private StoredFile publish(Path incoming, String fileName, MessageDigest digest, long start) throws IOException {
+        long size = Files.size(incoming);
+        Path variant = compressedVariant(incoming, fileName, size);
+
+        try {
+            // A variante antiga sai antes do novo original entrar: nunca é servida com o conteúdo errado
+            precompressed.delete(fileName);
+
+            if (contentStore != null) {
+                contentStore.put(fileName, incoming, digest);
             } else {
-                logger.error("File not found " + fileName);
-                throw new FileNotFoundException("File not found " + fileName);
+                backend.put(fileName, incoming);
             }
 
+            if (variant != null) precompressed.put(fileName, variant);
+        } catch (IOException e) {
+            if (variant != null) deleteQuietly(variant);
+            throw e;
+        }
+
+        StoredFile stored = new StoredFile(fileName, size, System.nanoTime() - start);
+        logger.info("Stored {} ({} bytes) in {} ms, {} bytes/s",
+                fileName, stored.size(), stored.elapsedMillis(), Math.round(stored.bytesPerSecond()));
+        return stored;
+    }
+
+    // Cópia gzip (nível máximo: o custo é pago uma vez no upload) quando o tipo é texto e o ganho compensa
+    private Path compressedVariant(Path file, String fileName, long size) {
+        if (!fileStorageConfig.isPrecompress() || size < fileStorageConfig.getPrecompressMinSizeBytes()) return null;
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(fileName).orElse(null);
+        if (mediaType == null || precompressMimeTypes.stream().noneMatch(type -> type.includes(mediaType))) return null;
+
+        Path variant = newIncomingPath();
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = new BestCompressionGzipOutputStream(Files.newOutputStream(variant))) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            logger.warn("Could not precompress {}", fileName, e);
+            deleteQuietly(variant);
+            return null;
+        }
+
+        try {
+            long compressed = Files.size(variant);
+            // Ganho pequeno não compensa guardar e servir outra representação
+            if (compressed > size * 9 / 10) {
+                deleteQuietly(variant);
+                return null;
+            }
+            logger.info("Precompressed {}: {} -> {} bytes", fileName, size, compressed);
+            return variant;
+        } catch (IOException e) {
+            deleteQuietly(variant);
+            return null;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary upload {}", path, e);
+        }
+    }
+
+    public Resource loadFileAsResource(String fileName) {
+        try {
+            Optional<Path> local = localFile(fileName);
+            if (local.isPresent()) return new UrlResource(local.get().toUri());
+
+            return new InputStreamResource(backend.get(storedKey(fileName)));
+
+        } catch (FileNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("File not found " + fileName);
             throw new FileNotFoundException("File not found " + fileName, e);
@@ -0,0 +1,192 @@
+package br.com.erudio.services;
+
+import br.com.erudio.config.ImportConfig;
+import br.com.erudio.data.dto.v1.ImportJobDTO;
+import br.com.erudio.exception.BadRequestException;
+import br.com.erudio.exception.FileStorageException;
+import br.com.erudio.exception.ResourceNotFoundException;
+import br.com.erudio.exception.ServiceUnavailableException;
+import br.com.erudio.file.importer.ProgressInputStream;
+import br.com.erudio.file.importer.contract.FileImporter;
+import br.com.erudio.file.importer.factory.FileImporterFactory;
+import br.com.erudio.file.importer.job.ImportJob;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Executa as importações em massa fora das threads do Tomcat, em um pool próprio e limitado
+@Service
+public class ImportJobService {
+
+    private Logger logger = Logger.getLogger(ImportJobService.class.getName());
+
+    @Autowired
+    PersonImportService importService;
+
+    @Autowired
+    FileImporterFactory importer;
+
+    @Autowired
+    ImportConfig config;
+
+    @Autowired
+    FileStorageService fileStorageService;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    // Vagas do pool (threads + fila), reservadas antes de gravar o upload: um job recusado não
+    // chega a custar a escrita do arquivo em disco
+    private Semaphore slots;
+
+    @PostConstruct
+    void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("import-");
+        // Prioridade menor que as threads das requisições para não disputar CPU com a API
+        threadFactory.setThreadPriority(Thread.NORM_PRIORITY - 1);
+
+        executor = new ThreadPoolExecutor(
+                config.getWorkerThreads(),
+                config.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                // O limite real são as vagas; a fila comporta todas elas, então o pool nunca recusa um job
+                // reservado, nem quando a thread que liberou a vaga ainda não voltou a buscar tarefas
+                new ArrayBlockingQueue<>(config.getWorkerThreads() + config.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        slots = new Semaphore(config.getWorkerThreads() + config.getQueueCapacity());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // SUBMIT
+    public ImportJobDTO submit(MultipartFile file) {
+
+        logger.info("Submitting an asynchronous People import!");
+
+        if (file.isEmpty()) throw new BadRequestException("Please set a valid file");
+
+        String filename = Optional.ofNullable(file.getOriginalFilename())
+                .orElseThrow(() -> new BadRequestException("File name cannot be null!"));
+
+        FileImporter fileImporter;
+        try {
+            fileImporter = this.importer.getImporter(filename);
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FileStorageException("Error processing the file!", e);
+        }
+
+        evictExpiredJobs();
+
+        if (!slots.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many imports in progress, please try again later!");
+        }
+
+        // O spool do multipart é removido ao fim da requisição: o arquivo é movido (rename) para o job
+        Path jobFile;
+        try {
+            jobFile = fileStorageService.spoolUpload(file);
+        } catch (IOException | RuntimeException e) {
+            slots.release();
+            throw new FileStorageException("Could not store the file for import!", e);
+        }
+
+        ImportJob job = new ImportJob(
+                UUID.randomUUID().toString(), filename, jobFile, file.getSize(), importService.newProgress());
+
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, fileImporter));
+        } catch (RejectedExecutionException e) {
+            // Só depois do shutdown: as vagas reservadas cabem no pool
+            jobs.remove(job.getId());
+            deleteQuietly(jobFile);
+            slots.release();
+            throw new ServiceUnavailableException("Too many imports in progress, please try again later!", e);
+        }
+
+        return toDTO(job);
+    }
+
+    // STATUS
+    public ImportJobDTO findById(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) throw new ResourceNotFoundException("No import job found for this ID");
+
+        return toDTO(job);
+    }
+
+    private void run(ImportJob job, FileImporter fileImporter) {
+        try (ProgressInputStream inputStream = new ProgressInputStream(job.getFile())) {
+            job.running(inputStream);
+            importService.importPeople(fileImporter, inputStream, job.getProgress());
+            job.completed();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Import job " + job.getId() + " failed!", e);
+            job.failed(e.getMessage());
+        } finally {
+            deleteQuietly(job.getFile());
+            slots.release();
+        }
+    }
+
+    private void evictExpiredJobs() {
+        long limit = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(config.getJobRetentionMinutes());
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().getTime() < limit);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warning("Could not delete the temporary import file " + file);
+        }
+    }
+
+    private ImportJobDTO toDTO(ImportJob job) {
+        var progress = job.getProgress();
+
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setJobId(job.getId());
+        dto.setFileName(job.getFileName());
+        dto.setStatus(job.getStatus().name());
+        dto.setSubmittedAt(job.getSubmittedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setRowsRead(progress.getTotalRows());
+        dto.setRowsImported(progress.getImportedRows());
+        dto.setRowsFailed(progress.getFailedRows());
+        dto.setRowsPerSecond(progress.getRowsPerSecond());
+        dto.setEtaMillis(job.getEtaMillis());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setFailures(new ArrayList<>(progress.getFailures()));
+        dto.setStages(progress.getStages());
+        return dto;
+    }
+
+}
@@ -0,0 +1,46 @@
+package br.com.erudio.services;
+
+import br.com.erudio.exception.BadRequestException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Cursor opaco da paginação keyset: a última linha entregue, como (direção, id, valor da ordenação)
+// em base64url. O cliente apenas devolve o cursor recebido no link "next".
+public final class KeysetCursor {
+
+    private KeysetCursor() {}
+
+    public static String encode(String sortValue, Long id, Sort.Direction direction) {
+        String raw = direction.name() + ":" + id + ":" + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Posição logo após a linha do cursor; sem cursor, a primeira página. Um cursor gerado na outra
+    // direção apontaria para o lado errado do índice e pularia ou repetiria linhas: é recusado
+    public static ScrollPosition toPosition(String cursor, String sortProperty, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) return ScrollPosition.keyset();
+
+        Sort.Direction cursorDirection;
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int directionEnd = raw.indexOf(':');
+            int idEnd = raw.indexOf(':', directionEnd + 1);
+            cursorDirection = Sort.Direction.valueOf(raw.substring(0, directionEnd));
+            Long id = Long.valueOf(raw.substring(directionEnd + 1, idEnd));
+
+            keys.put(sortProperty, raw.substring(idEnd + 1));
+            keys.put("id", id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor!");
+        }
+
+        if (cursorDirection != direction) throw new BadRequestException("Cursor does not match the sort direction!");
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,245 @@
+package br.com.erudio.services;
+
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.cache.ExportCache;
+import br.com.erudio.config.ImportConfig;
+import br.com.erudio.data.dto.v1.ImportSummaryDTO;
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.importer.ImportPipeline;
+import br.com.erudio.file.importer.ImportProgress;
+import br.com.erudio.file.importer.ImportedRow;
+import br.com.erudio.file.importer.contract.FileImporter;
+import br.com.erudio.model.Person;
+import br.com.erudio.repository.PersonBatchWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+@Service
+public class PersonImportService {
+
+    private Logger logger = Logger.getLogger(PersonImportService.class.getName());
+
+    @Autowired
+    PersonBatchWriter writer;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ImportConfig config;
+
+    @Autowired
+    EntityCache<Long, Person> personCache;
+
+    @Autowired
+    ApproximateCountCache approximateCounts;
+
+    @Autowired
+    ExportCache exportCache;
+
+    // Threads dos estágios de validação/escrita, compartilhadas por todas as importações
+    private ThreadPoolExecutor stageExecutor;
+
+    // Um pipeline só começa quando reserva todas as threads de que precisa: com parte dos estágios
+    // na fila do executor os demais ficariam bloqueados nas filas do pipeline para sempre
+    private Semaphore stageThreads;
+
+    // Limita as conexões ocupadas por gravações de importação, somando todas as importações
+    private Semaphore writers;
+
+    @PostConstruct
+    void init() {
+        int maxThreads = Math.max(1, config.getPipelineMaxThreads());
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("import-pipeline-");
+        // Mesma prioridade reduzida das importações assíncronas
+        threadFactory.setThreadPriority(Thread.NORM_PRIORITY - 1);
+
+        // A fila só recebe tarefas de pipelines abortados que ainda não saíram; a reserva das threads limita o resto
+        stageExecutor = new ThreadPoolExecutor(
+                maxThreads,
+                maxThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxThreads),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        stageThreads = new Semaphore(maxThreads);
+        writers = new Semaphore(Math.max(1, config.getMaxConcurrentWriters()));
+
+        if (config.getValidatorThreads() > 0 && pipelineThreads() > maxThreads) {
+            logger.warning("import.validator-threads + import.writer-threads exceed import.pipeline-max-threads,"
+                    + " imports will run sequentially!");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stageExecutor.shutdownNow();
+    }
+
+    // IMPORT PEOPLE
+    public ImportSummaryDTO importPeople(FileImporter importer, InputStream inputStream) throws Exception {
+        ImportProgress progress = newProgress();
+        importPeople(importer, inputStream, progress);
+        return progress.toSummary();
+    }
+
+    public ImportProgress newProgress() {
+        return new ImportProgress(config.getMaxReportedFailures());
+    }
+
+    // Valida cada linha, agrupa em chunks de commitInterval e grava cada chunk em uma transação com batches JDBC.
+    // Os contadores ficam em ImportProgress para poderem ser consultados durante a importação.
+    public void importPeople(FileImporter importer, InputStream inputStream, ImportProgress progress) throws Exception {
+        boolean pipeline = config.getValidatorThreads() > 0 && stageThreads.tryAcquire(pipelineThreads());
+        try {
+            if (pipeline) {
+                importInPipeline(importer, inputStream, progress);
+            } else {
+                // Pipeline desativado ou threads ocupadas por outras importações: não cria threads além do limite
+                importSequentially(importer, inputStream, progress);
+            }
+        } finally {
+            if (pipeline) stageThreads.release(pipelineThreads());
+            // Mesmo se a importação falhar no meio, os chunks já commitados alteraram a tabela
+            if (progress.getImportedRows() > 0) invalidateCaches();
+        }
+    }
+
+    private int pipelineThreads() {
+        return Math.max(1, config.getValidatorThreads()) + Math.max(1, config.getWriterThreads());
+    }
+
+    // A gravação em lote passa por fora do PersonService, então os caches são limpos aqui
+    private void invalidateCaches() {
+        personCache.clear();
+        approximateCounts.invalidate("person");
+        exportCache.invalidate();
+    }
+
+    // Leitura, validação e escrita em paralelo, ligadas por filas limitadas (ver ImportPipeline)
+    private void importInPipeline(FileImporter importer, InputStream inputStream, ImportProgress progress) throws Exception {
+
+        logger.info("Importing People with " + config.getValidatorThreads() + " validators and "
+                + config.getWriterThreads() + " writers!");
+
+        ImportPipeline pipeline = new ImportPipeline(
+                config.getValidatorThreads(),
+                config.getWriterThreads(),
+                config.getPipelineQueueCapacity(),
+                config.getCommitInterval(),
+                PersonImportService::validate,
+                chunk -> writeChunk(chunk, progress),
+                progress,
+                stageExecutor);
+
+        try {
+            pipeline.run(importer, inputStream);
+        } finally {
+            progress.finish();
+        }
+
+        logger.info("Imported " + progress.getImportedRows() + " of " + progress.getTotalRows()
+                + " people in " + progress.getElapsedMillis() + " ms!");
+    }
+
+    private void importSequentially(FileImporter importer, InputStream inputStream, ImportProgress progress) throws Exception {
+
+        logger.info("Importing People in batches!");
+
+        List<ImportedRow> chunk = new ArrayList<>(config.getCommitInterval());
+
+        try {
+            importer.importFile(inputStream, row -> {
+                progress.rowRead();
+
+                String error = validate(row.person());
+                if (error != null) {
+                    progress.rowFailed(row.lineNumber(), error);
+                    return;
+                }
+
+                chunk.add(row);
+                if (chunk.size() >= config.getCommitInterval()) {
+                    writeChunk(chunk, progress);
+                    chunk.clear();
+                }
+            });
+
+            if (!chunk.isEmpty()) writeChunk(chunk, progress);
+        } finally {
+            progress.finish();
+        }
+
+        logger.info("Imported " + progress.getImportedRows() + " of " + progress.getTotalRows()
+                + " people in " + progress.getElapsedMillis() + " ms!");
+    }
+
+    private void writeChunk(List<ImportedRow> chunk, ImportProgress progress) {
+        try {
+            writers.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import interrupted while waiting for a writer");
+        }
+        try {
+            insertChunk(chunk, progress);
+        } finally {
+            writers.release();
+        }
+    }
+
+    private void insertChunk(List<ImportedRow> chunk, ImportProgress progress) {
+        List<PersonDTO> people = chunk.stream().map(ImportedRow::person).toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> writer.insertAll(people, config.getBatchSize()));
+            progress.rowsImported(chunk.size());
+        } catch (DataAccessException e) {
+            // O chunk inteiro sofreu rollback: regrava linha a linha para isolar as que falharam
+            logger.warning("Batch insert failed, retrying the chunk row by row: " + e.getMostSpecificCause().getMessage());
+            for (ImportedRow row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writer.insert(row.person()));
+                    progress.rowsImported(1);
+                } catch (DataAccessException ex) {
+                    progress.rowFailed(row.lineNumber(), ex.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    // Mesmas restrições das colunas da tabela person
+    private static String validate(PersonDTO person) {
+        if (isBlank(person.getFirstName())) return "First name is required!";
+        if (isBlank(person.getLastName())) return "Last name is required!";
+        if (isBlank(person.getAddress())) return "Address is required!";
+        if (isBlank(person.getGender())) return "Gender is required!";
+        if (person.getFirstName().length() > 80) return "First name must have at most 80 characters!";
+        if (person.getLastName().length() > 80) return "Last name must have at most 80 characters!";
+        if (person.getAddress().length() > 100) return "Address must have at most 100 characters!";
+        if (person.getGender().length() > 6) return "Gender must have at most 6 characters!";
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+}
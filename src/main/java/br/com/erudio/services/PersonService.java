@@ -1,46 +1,65 @@
 package br.com.erudio.services;
 
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.cache.ExportCache;
 import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.dto.v1.ImportSummaryDTO;
 import br.com.erudio.data.dto.v1.PersonDTO;
 import br.com.erudio.data.dto.v2.PersonDTOV2;
 import br.com.erudio.exception.BadRequestException;
 import br.com.erudio.exception.FileStorageException;
 import br.com.erudio.exception.RequiredObjectIsNullException;
 import br.com.erudio.exception.ResourceNotFoundException;
+import br.com.erudio.file.exporter.MediaTypes;
 import br.com.erudio.file.exporter.contract.PersonExporter;
+import br.com.erudio.file.exporter.contract.PersonStreamingExporter;
 import br.com.erudio.file.exporter.factory.FileExporterFactory;
 import br.com.erudio.file.importer.contract.FileImporter;
 import br.com.erudio.file.importer.factory.FileImporterFactory;
+import br.com.erudio.hateoas.PersonLinks;
+import br.com.erudio.mapper.EntityMapper;
 import br.com.erudio.mapper.custom.PersonMapper;
 import br.com.erudio.model.Person;
 import br.com.erudio.repository.PersonRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.data.web.SlicedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.SlicedModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.logging.Logger;
-
-import static br.com.erudio.mapper.ObjectMapper.parseObject;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.stream.Stream;
 
 @Service
 public class PersonService {
 
     private Logger logger = Logger.getLogger(PersonService.class.getName());
 
+    // ngram_token_size padrão do MySQL
+    private static final int MIN_CONTAINS_LENGTH = 2;
+
     @Autowired
     PersonRepository repository;
 
@@ -53,9 +72,32 @@ public class PersonService {
     @Autowired
     PagedResourcesAssembler<PersonDTO> assembler;
 
+    @Autowired
+    SlicedResourcesAssembler<PersonDTO> slicedAssembler;
+
+    @Autowired
+    ApproximateCountCache approximateCounts;
+
+    @Autowired
+    EntityCache<Long, Person> cache;
+
+    // Os relatórios de /export/{id} listam os livros: BookService também invalida este cache
+    @Autowired
+    ExportCache exportCache;
+
     @Autowired
     PersonMapper converter;
 
+    @Autowired
+    PersonLinks links;
+
+    // Implementação escolhida em MapperConfig (mapper.person)
+    @Autowired
+    EntityMapper<Person, PersonDTO> mapper;
+
+    @Autowired
+    PersonImportService importService;
+
     // FIND ALL
     public PagedModel<EntityModel<PersonDTO>> findAll(Pageable pageable) {
 
@@ -74,46 +116,187 @@ public class PersonService {
         return buildPagedModel(pageable, people);
     }
 
+    // FIND ALL (SLICE)
+    // Sem SELECT COUNT: busca size + 1 linhas e informa apenas se há próxima página
+    public SlicedModel<EntityModel<PersonDTO>> findAllSlice(Pageable pageable) {
+
+        logger.info("Finding a slice of people!");
+
+        return buildSlicedModel(repository.findSliceBy(pageable));
+    }
+
+    // FIND PEOPLE BY NAME (SLICE)
+    public SlicedModel<EntityModel<PersonDTO>> findPeopleByNameSlice(String firstName, Pageable pageable) {
+
+        logger.info("Finding a slice of people by name!");
+
+        return buildSlicedModel(repository.findSliceOfPeopleByName(firstName, pageable));
+    }
+
+    // Total aproximado (COUNT reaproveitado por até pagination.approximate-count-ttl-seconds)
+    public long approximateCount() {
+        return approximateCounts.get("person", repository::count);
+    }
+
+    // SCROLL (KEYSET)
+    // Paginação por cursor (firstName, id): custo constante em qualquer profundidade e sem SELECT COUNT
+    public CollectionModel<PersonDTO> scroll(String cursor, Integer size, Sort.Direction direction) {
+        if (size == null || size < 1) throw new BadRequestException("Size must be greater than zero!");
+
+        logger.info("Scrolling people!");
+
+        Window<Person> window = repository.findAllBy(
+                KeysetCursor.toPosition(cursor, "firstName", direction),
+                Sort.by(direction, "firstName", "id"),
+                Limit.of(size));
+
+        List<PersonDTO> people = new ArrayList<>(window.size());
+        for (Person entity : window) {
+            var dto = mapper.toDTO(entity);
+            addHteosLinks(dto);
+            people.add(dto);
+        }
+
+        String directionParam = direction.name().toLowerCase();
+        List<Link> links = new ArrayList<>();
+        links.add(WebMvcLinkBuilder.linkTo(
+                WebMvcLinkBuilder.methodOn(PersonController.class).scroll(cursor, size, directionParam)).withSelfRel());
+
+        if (window.hasNext()) {
+            Person last = window.getContent().get(window.size() - 1);
+            String next = KeysetCursor.encode(last.getFirstName(), last.getId(), direction);
+            links.add(WebMvcLinkBuilder.linkTo(
+                    WebMvcLinkBuilder.methodOn(PersonController.class).scroll(next, size, directionParam)).withRel(IanaLinkRelations.NEXT));
+        }
+        return CollectionModel.of(people, links);
+    }
+
+    // SEARCH PEOPLE BY NAME
+    // prefix: nome ou sobrenome começando com o termo; contains: nome ou sobrenome contendo o termo
+    public PagedModel<EntityModel<PersonDTO>> searchPeople(String name, String mode, Pageable pageable) {
+        if (name == null || name.isBlank()) throw new BadRequestException("Name must not be blank!");
+
+        boolean contains = "contains".equalsIgnoreCase(mode);
+        if (!contains && !"prefix".equalsIgnoreCase(mode)) {
+            throw new BadRequestException("Search mode must be 'prefix' or 'contains'!");
+        }
+
+        logger.info("Searching people by name!");
+
+        // No modo contains o termo é o que chega ao MATCH, sem aspas
+        String term = contains ? fullTextPhrase(name) : name.trim();
+        if (term.isEmpty()) throw new BadRequestException("Name must not be blank!");
+        Page<Person> people;
+
+        // Termos menores que o ngram (2 caracteres) não aparecem no índice full-text: usa o prefixo
+        if (contains && term.length() >= MIN_CONTAINS_LENGTH) {
+            Sort.Order order = pageable.getSort().getOrderFor("firstName");
+            Sort.Direction direction = order != null ? order.getDirection() : Sort.Direction.ASC;
+            Pageable nativePageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(direction, "first_name"));
+
+            people = repository.searchByNameContaining("\"" + term + "\"", nativePageable);
+        } else {
+            people = repository.searchByNamePrefix(escapeLike(term), pageable);
+        }
+        return buildPagedModel(pageable, people);
+    }
+
+    // Termo usado dentro da frase do MATCH ... IN BOOLEAN MODE: entre aspas os operadores são texto,
+    // só as próprias aspas precisam sair
+    private static String fullTextPhrase(String term) {
+        return term.replace("\"", "").trim();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     // EXPORT PAGE
-    public Resource exportPage(Pageable pageable, String acceptHeader) {
+    // Mesma página, tamanho, ordenação e formato com os mesmos dados: o arquivo sai do ExportCache
+    public ExportCache.Entry exportPage(Pageable pageable, String acceptHeader) {
+
+        String key = "page|" + normalize(acceptHeader) + "|" + pageable.getPageNumber() + "|"
+                + pageable.getPageSize() + "|" + pageable.getSort();
+
+        return exportCache.get(key, isCompressible(acceptHeader), () -> {
+            logger.info("Exporting a People page!");
+
+            var people = repository.findAll(pageable)
+                    .map(mapper::toDTO).getContent();
+
+            try {
+                PersonExporter exporter = this.exporter.getExporter(acceptHeader);
+                return exporter.exportPeople(people);
+            } catch (Exception e) {
+                throw new RuntimeException("Error during file export.", e);
+            }
+        });
+    }
 
-        logger.info("Exporting a People page!");
+    // EXPORT ALL (STREAMING)
+    // As linhas vêm do banco por cursor e são escritas direto no OutputStream, sem List nem Dozer
+    @Transactional
+    public void exportAll(Sort sort, String acceptHeader, OutputStream outputStream) {
 
-        var people = repository.findAll(pageable)
-                .map(person -> parseObject(person, PersonDTO.class)).getContent();
+        logger.info("Streaming all People to the export!");
 
-        try {
-            PersonExporter exporter = this.exporter.getExporter(acceptHeader);
-            return exporter.exportPeople(people);
+        try (Stream<PersonDTO> people = repository.streamAll(sort)) {
+            PersonStreamingExporter exporter = this.exporter.getStreamingExporter(acceptHeader);
+            exporter.exportPeople(people, outputStream);
         } catch (Exception e) {
             throw new RuntimeException("Error during file export.", e);
         }
     }
 
     // EXPORT PERSON
-    public Resource exportPerson(Long id, String acceptHeader) {
-        logger.info("Exporting data of one Person!");
-
-        var person = repository.findById(id)
-                .map(entity -> parseObject(entity, PersonDTO.class))
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+    public ExportCache.Entry exportPerson(Long id, String acceptHeader) {
 
-        try {
-            PersonExporter exporter = this.exporter.getExporter(acceptHeader);
-            return exporter.exportPerson(person);
-        } catch (Exception e) {
-            throw new RuntimeException("Error during file export!", e);
+        // Só o PDF tem relatório de uma pessoa; os demais exporters não geram nada
+        if (!MediaTypes.APPLICATION_PDF_VALUE.equalsIgnoreCase(acceptHeader)) {
+            throw new BadRequestException("Only PDF is supported for the export of one person!");
         }
+
+        String key = "person|" + id + "|" + normalize(acceptHeader);
+
+        return exportCache.get(key, isCompressible(acceptHeader), () -> {
+            logger.info("Exporting data of one Person!");
+
+            // O sub-relatório lista os livros: única leitura que precisa deles
+            var person = repository.findWithBooksById(id)
+                    .map(mapper::toDTO)
+                    .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+
+            Resource report;
+            try {
+                PersonExporter exporter = this.exporter.getExporter(acceptHeader);
+                report = exporter.exportPerson(person);
+            } catch (Exception e) {
+                throw new RuntimeException("Error during file export!", e);
+            }
+            if (report == null) throw new RuntimeException("Error during file export: no report was generated!");
+            return report;
+        });
+    }
+
+    // O FileExporterFactory compara o Accept sem diferenciar maiúsculas
+    private static String normalize(String acceptHeader) {
+        return acceptHeader == null ? "" : acceptHeader.toLowerCase(Locale.ROOT);
+    }
+
+    // XLSX e PDF já são compactados; só o CSV ganha uma variante gzip
+    private static boolean isCompressible(String acceptHeader) {
+        return MediaTypes.APPLICATION_CSV_VALUE.equalsIgnoreCase(acceptHeader);
     }
 
     // FIND BY ID
     public PersonDTO findById(Long id) {
         logger.info("Finding one Person!");
 
-        var entity = repository.findById(id)
+        // Entidade vem do cache; o DTO é sempre uma cópia nova
+        var entity = cache.get(id, repository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
 
-        var dto = parseObject(entity, PersonDTO.class);
+        var dto = mapper.toDTO(entity);
 
         // HATEOS -> Link para requisição
         addHteosLinks(dto);
@@ -127,16 +310,18 @@ public class PersonService {
 
         logger.info("Creating one Person!");
 
-        var entity = parseObject(person, Person.class);
+        var entity = mapper.toEntity(person);
 
-        var dto = parseObject(repository.save(entity), PersonDTO.class);
+        var dto = mapper.toDTO(repository.save(entity));
+        exportCache.invalidate();
+        approximateCounts.invalidate("person");
         addHteosLinks(dto);
 
         return dto;
     }
 
     // MASSCREATION
-    public List<PersonDTO> massCreation(MultipartFile file) {
+    public ImportSummaryDTO massCreation(MultipartFile file) {
 
         logger.info("Importing People from file!");
 
@@ -148,18 +333,7 @@ public class PersonService {
 
             FileImporter importer = this.importer.getImporter(filename);
 
-            List<Person> entities = importer.importFile(inputStream).stream()
-                    .map(dto -> repository.save(parseObject(dto, Person.class)))
-                    .toList();
-
-            return entities.stream()
-                .map(entity -> {
-                    var dto = parseObject(entity, PersonDTO.class);
-                    addHteosLinks(dto);
-
-                    return dto;
-                })
-                .toList();
+            return importService.importPeople(importer, inputStream);
 
         } catch (Exception e) {
             throw new FileStorageException("Error processing the file!", e);
@@ -184,7 +358,9 @@ public class PersonService {
         entity.setPhotoUrl(person.getPhotoUrl());
         entity.setProfileUrl(person.getProfileUrl());
 
-        var dto = parseObject(repository.save(entity), PersonDTO.class);
+        var dto = mapper.toDTO(repository.save(entity));
+        cache.invalidate(entity.getId());
+        exportCache.invalidate();
         addHteosLinks(dto);
 
         return dto;
@@ -195,14 +371,18 @@ public class PersonService {
     public PersonDTO disablePerson(Long id) {
         logger.info("Disabling one Person!");
 
-        repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
-
-        repository.disablePerson(id);
+        // O UPDATE informa se a pessoa existe, dispensando a busca prévia
+        if (repository.disablePerson(id) == 0) {
+            throw new ResourceNotFoundException("No records found for this ID");
+        }
+        cache.invalidate(id);
+        exportCache.invalidate();
 
-        var entity = repository.findById(id).get();
+        // Lida direto do banco: o cache só recebe a pessoa depois do commit, na próxima busca
+        var entity = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
 
-        var dto = parseObject(entity, PersonDTO.class);
+        var dto = mapper.toDTO(entity);
         addHteosLinks(dto);
 
         return dto;
@@ -216,12 +396,15 @@ public class PersonService {
                 .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID"));
 
         repository.delete(entity);
+        cache.invalidate(id);
+        exportCache.invalidate();
+        approximateCounts.invalidate("person");
     }
 
     // BUILD PAGEG MODEL
     private PagedModel<EntityModel<PersonDTO>> buildPagedModel(Pageable pageable, Page<Person> people) {
         var peopleWithLinks = people.map(person -> {
-            var dto = parseObject(person, PersonDTO.class);
+            var dto = mapper.toDTO(person);
             addHteosLinks(dto);
 
             return dto;
@@ -235,28 +418,21 @@ public class PersonService {
         return assembler.toModel(peopleWithLinks, findAllLink);
     }
 
-    // HATEOS -> Link para requisição
-    private void addHteosLinks(PersonDTO dto) {
-        dto.add(linkTo(methodOn(PersonController.class).findById(dto.getId())).withSelfRel().withType("GET"));
-
-        dto.add(linkTo(methodOn(PersonController.class).findAll(1, 12,"asc"))
-                .withRel("findAll").withType("GET"));
-
-        dto.add(linkTo(methodOn(PersonController.class).findPeopleByName("", 1, 12,"asc"))
-                .withRel("findPeopleByName").withType("GET"));
-
-        dto.add(linkTo(methodOn(PersonController.class).create(dto)).withRel("create").withType("POST"));
-
-        dto.add(linkTo(methodOn(PersonController.class)).slash("massCreation").withRel("massCreation").withType("POST"));
-
-        dto.add(linkTo(methodOn(PersonController.class).update(dto)).withRel("update").withType("PUT"));
+    // BUILD SLICED MODEL
+    private SlicedModel<EntityModel<PersonDTO>> buildSlicedModel(Slice<Person> people) {
+        var peopleWithLinks = people.map(entity -> {
+            var dto = mapper.toDTO(entity);
+            addHteosLinks(dto);
 
-        dto.add(linkTo(methodOn(PersonController.class).disablePerson(dto.getId())).withRel("disable").withType("PATCH"));
+            return dto;
+        });
 
-        dto.add(linkTo(methodOn(PersonController.class).delete(dto.getId())).withRel("delete").withType("DELETE"));
+        return slicedAssembler.toModel(peopleWithLinks);
+    }
 
-        dto.add(linkTo(methodOn(PersonController.class).exportPage(1, 12, "asc", null))
-                .withRel("exportPage").withType("GET").withTitle("Export People"));
+    // HATEOS -> Link para requisição
+    private void addHteosLinks(PersonDTO dto) {
+        links.addLinks(dto);
     }
 
 
@@ -268,7 +444,10 @@ public class PersonService {
 
         var entity = converter.convertDTOToEntity(person);
 
-        return converter.convertEntityToDTO(repository.save(entity));
+        var dto = converter.convertEntityToDTO(repository.save(entity));
+        exportCache.invalidate();
+        approximateCounts.invalidate("person");
+        return dto;
     }
 
 }
@@ -1,28 +1,76 @@
 package br.com.erudio.services;
 
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.model.User;
 import br.com.erudio.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     UserRepository repository;
 
+    @Autowired
+    EntityCache<String, UserDetails> cache;
+
     public UserService(UserRepository repository) {
         this.repository = repository;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        var user = repository.findByUsername(username);
+        var user = cache.get(username, this::findSnapshot)
+                .orElseThrow(() -> new UsernameNotFoundException("Username " + username + " not found!"));
+
+        // Cópia a cada chamada: o ProviderManager apaga a senha do UserDetails depois da autenticação
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).build();
+    }
+
+    // Chamado pelo DaoAuthenticationProvider depois de um login válido quando o hash
+    // foi gerado com outro custo (PasswordEncoder.upgradeEncoding): regrava com o custo atual
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var entity = repository.findByUsername(user.getUsername());
+        if (entity != null) {
+            entity.setPassword(newPassword);
+            repository.save(entity);
+        }
+        evict(user.getUsername());
 
-        if (user != null) return user;
-        else throw new UsernameNotFoundException("Username " + username + " not found!");
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
     }
 
+    // Remove o usuário do cache (criação, troca de senha ou de permissões)
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+    // Cópia imutável, sem referências às entidades (permissões carregadas em EAGER)
+    private Optional<UserDetails> findSnapshot(String username) {
+        User user = repository.findByUsername(username);
+        if (user == null) return Optional.empty();
+
+        return Optional.of(org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+                .password(user.getPassword())
+                .authorities(user.getRoles().toArray(String[]::new))
+                .accountExpired(!user.isAccountNonExpired())
+                .accountLocked(!user.isAccountNonLocked())
+                .credentialsExpired(!user.isCredentialsNonExpired())
+                .disabled(!user.isEnabled())
+                .build());
+    }
 }
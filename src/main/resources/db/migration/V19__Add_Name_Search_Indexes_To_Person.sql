@@ -0,0 +1,12 @@
+-- Busca por prefixo (PersonRepository.searchByNamePrefix): LIKE 'termo%' usa os índices B-tree
+CREATE INDEX `idx_person_first_name` ON `person` (`first_name`);
+CREATE INDEX `idx_person_last_name` ON `person` (`last_name`);
+
+-- Busca por trecho do nome (PersonRepository.searchByNameContaining): full-text com parser ngram,
+-- que indexa cada sequência de ngram_token_size (padrão 2) caracteres em vez de palavras inteiras.
+-- Com ngram o InnoDB descarta todo token que contém uma stopword, e a lista padrão traz "a", "i",
+-- "de", "la"...: quase nenhum bigrama de nomes comuns entraria no índice. A configuração é lida
+-- quando o índice é construído, então basta desligá-la nesta sessão.
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE `person` ADD FULLTEXT INDEX `ft_person_name` (`first_name`, `last_name`) WITH PARSER ngram;
@@ -0,0 +1,21 @@
+-- Paginação keyset de livros ordena por (title, id): um longtext não pode ser indexado inteiro,
+-- então o título passa ao tamanho já mapeado na entidade (varchar 255)
+
+-- Títulos que não cabem em 255 caracteres são guardados inteiros antes de serem cortados
+CREATE TABLE `books_title_backup` (
+  `id` INT(10) PRIMARY KEY,
+  `title` longtext NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=latin1;
+
+INSERT INTO `books_title_backup` (`id`, `title`)
+SELECT `id`, `title` FROM `books` WHERE CHAR_LENGTH(`title`) > 255;
+
+UPDATE `books` SET `title` = LEFT(`title`, 255) WHERE CHAR_LENGTH(`title`) > 255;
+
+-- A coluna nasceu nula no V3; um título ausente vira vazio para o NOT NULL
+UPDATE `books` SET `title` = '' WHERE `title` IS NULL;
+
+ALTER TABLE `books` MODIFY `title` varchar(255) NOT NULL;
+
+-- Índices secundários do InnoDB já incluem a chave primária: (title) equivale a (title, id)
+CREATE INDEX `idx_books_title` ON `books` (`title`);
@@ -0,0 +1,33 @@
+package br.com.erudio.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Registrado no application.yml de testes (hibernate.session_factory.statement_inspector):
+// conta cada SQL preparado pelo Hibernate para detectar N+1 nos testes de repositório.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicLong statements = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+        statements.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        statements.set(0);
+    }
+
+    public static long count() {
+        return statements.get();
+    }
+
+    // Executa a ação e retorna quantos SQLs ela emitiu
+    public static long countDuring(Runnable action) {
+        long before = statements.get();
+        action.run();
+        return statements.get() - before;
+    }
+}
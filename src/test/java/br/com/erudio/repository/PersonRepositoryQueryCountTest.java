@@ -0,0 +1,86 @@
+package br.com.erudio.repository;
+
+import br.com.erudio.config.SqlStatementCounter;
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.mapper.custom.PersonMapper;
+import br.com.erudio.model.Person;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// As leituras de listagem devem emitir um número constante de SQLs, independente do tamanho da página
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PersonRepositoryQueryCountTest extends AbstractIntegrationTest {
+
+    // SELECT da página + SELECT COUNT
+    private static final long PAGE_STATEMENTS = 2;
+
+    @Autowired
+    PersonRepository repository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    PersonMapper mapper = new PersonMapper();
+
+    @BeforeEach
+    void setUp() {
+        // Sem cache de primeiro nível: cada teste vê os SQLs reais
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllDoesNotLoadBooks() {
+        for (int size : new int[] {12, 100}) {
+            entityManager.clear();
+
+            long statements = SqlStatementCounter.countDuring(() -> {
+                Page<Person> page = repository.findAll(PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "firstName")));
+                List<PersonDTO> people = page.map(mapper::toDTO).getContent();
+
+                assertEquals(size, people.size());
+                page.forEach(person -> assertFalse(Hibernate.isInitialized(person.getBooks())));
+            });
+
+            assertTrue(statements <= PAGE_STATEMENTS, "findAll with size " + size + " issued " + statements + " statements");
+        }
+    }
+
+    @Test
+    void findPeopleByNameDoesNotLoadBooks() {
+        long statements = SqlStatementCounter.countDuring(() ->
+                repository.findPeopleByName("a", PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "firstName")))
+                        .map(mapper::toDTO)
+                        .getContent());
+
+        assertTrue(statements <= PAGE_STATEMENTS, "findPeopleByName issued " + statements + " statements");
+    }
+
+    @Test
+    void findWithBooksByIdLoadsBooksInOneStatement() {
+        long statements = SqlStatementCounter.countDuring(() -> {
+            Person person = repository.findWithBooksById(1L).orElseThrow();
+
+            assertTrue(Hibernate.isInitialized(person.getBooks()));
+            assertNotNull(mapper.toDTO(person).getBooks());
+        });
+
+        assertEquals(1, statements);
+    }
+}
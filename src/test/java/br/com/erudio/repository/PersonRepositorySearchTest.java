@@ -0,0 +1,57 @@
+package br.com.erudio.repository;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PersonRepositorySearchTest extends AbstractIntegrationTest {
+
+    @Autowired
+    PersonRepository repository;
+
+    @Test
+    void searchByNamePrefixMatchesFirstOrLastName() {
+        List<Person> byFirstName = repository.searchByNamePrefix("fab", PageRequest.of(0, 100, Sort.by("firstName"))).getContent();
+        List<Person> byLastName = repository.searchByNamePrefix("Ippol", PageRequest.of(0, 100, Sort.by("firstName"))).getContent();
+
+        assertTrue(byFirstName.stream().anyMatch(person -> person.getFirstName().equals("Fabio")));
+        assertTrue(byFirstName.stream().allMatch(person -> person.getFirstName().toLowerCase().startsWith("fab")
+                || person.getLastName().toLowerCase().startsWith("fab")));
+        assertTrue(byLastName.stream().anyMatch(person -> person.getLastName().equals("Ippolito")));
+    }
+
+    @Test
+    void searchByNameContainingUsesTheNgramIndex() {
+        var page = repository.searchByNameContaining("\"abi\"", PageRequest.of(0, 100, Sort.by("first_name")));
+
+        assertTrue(page.getContent().stream().anyMatch(person -> person.getFirstName().equals("Fabio")));
+        assertTrue(page.getContent().stream().allMatch(person -> person.getFirstName().toLowerCase().contains("abi")
+                || person.getLastName().toLowerCase().contains("abi")));
+    }
+
+    @Test
+    void searchByNameContainingFindsTermsWithStopwordLetters() {
+        // Bigramas com "a" e "i" (stopwords padrão do InnoDB) precisam estar no índice
+        var silva = repository.searchByNameContaining("\"silva\"", PageRequest.of(0, 100, Sort.by("first_name")));
+        var ari = repository.searchByNameContaining("\"ari\"", PageRequest.of(0, 100, Sort.by("first_name")));
+
+        assertTrue(silva.getContent().stream().anyMatch(person -> person.getFirstName().equals("Silvanus")));
+        assertTrue(ari.getContent().stream().anyMatch(person -> person.getFirstName().equals("Marietta")));
+        assertTrue(ari.getContent().stream().allMatch(person -> person.getFirstName().toLowerCase().contains("ari")
+                || person.getLastName().toLowerCase().contains("ari")));
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.erudio.services;
+
+import br.com.erudio.config.SqlStatementCounter;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Mesma verificação do PersonRepositoryQueryCountTest, mas passando pelo serviço inteiro (mapper,
+// links HATEOAS e PagedModel): uma mudança fora do repositório que volte a ler os livros aparece aqui.
+// Sem transação, como nas requisições (open-in-view desativado).
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+class PersonServiceQueryCountTest extends AbstractIntegrationTest {
+
+    // SELECT da página + SELECT COUNT
+    private static final long PAGE_STATEMENTS = 2;
+
+    @Autowired
+    PersonService service;
+
+    @BeforeEach
+    void setUp() {
+        // Os links e o PagedModel são montados a partir da requisição atual
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/person/v1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void findAllIssuesAConstantNumberOfStatements() {
+        for (int size : new int[] {12, 100}) {
+            long statements = SqlStatementCounter.countDuring(() -> {
+                var page = service.findAll(PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "firstName")));
+                assertEquals(size, page.getContent().size());
+            });
+
+            assertTrue(statements <= PAGE_STATEMENTS, "findAll with size " + size + " issued " + statements + " statements");
+        }
+    }
+
+    @Test
+    void findPeopleByNameIssuesAConstantNumberOfStatements() {
+        long statements = SqlStatementCounter.countDuring(() -> {
+            var page = service.findPeopleByName("a", PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "firstName")));
+            assertFalse(page.getContent().isEmpty());
+        });
+
+        assertTrue(statements <= PAGE_STATEMENTS, "findPeopleByName issued " + statements + " statements");
+    }
+}
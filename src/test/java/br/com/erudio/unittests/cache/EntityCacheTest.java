@@ -0,0 +1,131 @@
+package br.com.erudio.unittests.cache;
+
+import br.com.erudio.cache.EntityCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+
+    @Test
+    void readThroughLoadsOnlyOnce() {
+        var cache = new EntityCache<Long, String>("test", 10, Duration.ofMinutes(1));
+        var loads = new AtomicInteger();
+
+        assertEquals("one", cache.get(1L, id -> { loads.incrementAndGet(); return Optional.of("one"); }).get());
+        assertEquals("one", cache.get(1L, id -> { loads.incrementAndGet(); return Optional.of("other"); }).get());
+
+        assertEquals(1, loads.get());
+        var stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void missingEntitiesAreNotCached() {
+        var cache = new EntityCache<Long, String>("test", 10, Duration.ofMinutes(1));
+
+        assertTrue(cache.get(1L, id -> Optional.empty()).isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        var cache = new EntityCache<Long, String>("test", 2, Duration.ofMinutes(1));
+        cache.get(1L, id -> Optional.of("one"));
+        cache.get(2L, id -> Optional.of("two"));
+        // Acessa 1 para que 2 passe a ser o menos usado
+        cache.get(1L, id -> Optional.of("unused"));
+        cache.get(3L, id -> Optional.of("three"));
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals("one", cache.get(1L, id -> Optional.of("reloaded")).get());
+        assertEquals("reloaded", cache.get(2L, id -> Optional.of("reloaded")).get());
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        var cache = new EntityCache<Long, String>("test", 10, Duration.ofMillis(1));
+        cache.get(1L, id -> Optional.of("one"));
+
+        // TTL de 1ms: a entrada some antes da próxima leitura
+        sleep(5);
+
+        assertEquals("two", cache.get(1L, id -> Optional.of("two")).get());
+        assertEquals(1, cache.stats().getExpirations());
+    }
+
+    @Test
+    void invalidateRemovesTheEntry() {
+        var cache = new EntityCache<Long, String>("test", 10, Duration.ofMinutes(1));
+        cache.get(1L, id -> Optional.of("one"));
+
+        cache.invalidate(1L);
+
+        assertEquals("two", cache.get(1L, id -> Optional.of("two")).get());
+        assertEquals(1, cache.stats().getInvalidations());
+    }
+
+    @Test
+    void valueLoadedDuringAnInvalidationIsNotCached() {
+        var cache = new EntityCache<Long, String>("test", 10, Duration.ofMinutes(1));
+
+        // Simula uma escrita concorrente entre a leitura do banco e a gravação no cache
+        var stale = cache.get(1L, id -> {
+            cache.invalidate(1L);
+            return Optional.of("stale");
+        });
+
+        assertEquals("stale", stale.get());
+        assertEquals(0, cache.size());
+        assertEquals("fresh", cache.get(1L, id -> Optional.of("fresh")).get());
+    }
+
+    @Test
+    void zeroMaxSizeDisablesTheCache() {
+        var cache = new EntityCache<Long, String>("test", 0, Duration.ofMinutes(1));
+        var loads = new AtomicInteger();
+
+        cache.get(1L, id -> { loads.incrementAndGet(); return Optional.of("one"); });
+        cache.get(1L, id -> { loads.incrementAndGet(); return Optional.of("one"); });
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void invalidationInsideATransactionIsRepeatedAfterCommit() {
+        var cache = new EntityCache<Long, String>("test", 10, Duration.ofMinutes(1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(1L);
+            // Leitura ainda dentro da transação: volta ao cache com o valor anterior ao commit
+            cache.get(1L, id -> Optional.of("stale"));
+            assertEquals(1, cache.size());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, cache.size());
+        assertEquals("fresh", cache.get(1L, id -> Optional.of("fresh")).get());
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.erudio.unittests.cache;
+
+import br.com.erudio.cache.ExportCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportCacheTest {
+
+    @TempDir
+    Path dir;
+
+    ExportCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) cache.close();
+    }
+
+    @Test
+    void sameKeyIsGeneratedOnlyOnce() throws IOException {
+        cache = new ExportCache(dir, 1024 * 1024);
+        var generations = new AtomicInteger();
+
+        var first = cache.get("page|text/csv|0|12", false, () -> report("a;b", generations));
+        var second = cache.get("page|text/csv|0|12", false, () -> report("other", generations));
+
+        assertEquals(1, generations.get());
+        assertEquals(first, second);
+        assertEquals("a;b", Files.readString(second.file()));
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    void invalidateDiscardsEveryEntry() throws IOException {
+        cache = new ExportCache(dir, 1024 * 1024);
+        var generations = new AtomicInteger();
+        cache.get("page|text/csv|0|12", false, () -> report("old", generations));
+
+        cache.invalidate();
+
+        var regenerated = cache.get("page|text/csv|0|12", false, () -> report("new", generations));
+        assertEquals(2, generations.get());
+        assertEquals("new", Files.readString(regenerated.file()));
+        assertEquals(1, cache.stats().getInvalidations());
+    }
+
+    @Test
+    void exportGeneratedDuringAnInvalidationIsNotKept() throws IOException {
+        cache = new ExportCache(dir, 1024 * 1024);
+
+        // Os dados mudam enquanto o relatório é gerado: ele é servido, mas não fica no cache
+        var served = cache.get("person|1|application/pdf", false, () -> {
+            cache.invalidate();
+            return new ByteArrayResource("stale".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertEquals("stale", Files.readString(served.file()));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryBySize() {
+        cache = new ExportCache(dir, 250);
+        var generations = new AtomicInteger();
+        cache.get("one", false, () -> report("x".repeat(100), generations));
+        cache.get("two", false, () -> report("x".repeat(100), generations));
+        // Acessa "one" para que "two" passe a ser o menos usado
+        cache.get("one", false, () -> report("unused", generations));
+        cache.get("three", false, () -> report("x".repeat(100), generations));
+
+        assertEquals(2, cache.size());
+        assertEquals(200, cache.totalBytes());
+        assertEquals(1, cache.stats().getEvictions());
+
+        cache.get("one", false, () -> report("unused", generations));
+        assertEquals(3, generations.get());
+    }
+
+    @Test
+    void disabledCacheStillServesTheExport() throws IOException {
+        cache = new ExportCache(dir, 0);
+        var generations = new AtomicInteger();
+
+        var first = cache.get("one", false, () -> report("a;b", generations));
+        cache.get("one", false, () -> report("a;b", generations));
+
+        assertEquals("a;b", Files.readString(first.file()));
+        assertEquals(2, generations.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void compressibleExportsGetAGzipVariant() throws IOException {
+        cache = new ExportCache(dir, 1024 * 1024);
+        String csv = "First Name;Last Name;Address;Gender\n".repeat(200);
+
+        var entry = cache.get("page|text/csv|0|200", true, () -> report(csv, new AtomicInteger()));
+
+        assertNotNull(entry.gzipFile());
+        assertTrue(Files.size(entry.gzipFile()) < Files.size(entry.file()));
+        assertEquals(Files.size(entry.file()) + Files.size(entry.gzipFile()), entry.bytes());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(entry.gzipFile()))) {
+            assertEquals(csv, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void leftoversOfAPreviousRunAreRemoved() throws IOException {
+        Path leftover = Files.writeString(dir.resolve("export-123.bin"), "old");
+        Path unrelated = Files.writeString(dir.resolve("notes.txt"), "keep");
+
+        cache = new ExportCache(dir, 1024);
+
+        assertFalse(Files.exists(leftover));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    private static ByteArrayResource report(String content, AtomicInteger generations) {
+        generations.incrementAndGet();
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.erudio.unittests.controllers;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.file.exporter.MediaTypes;
+import br.com.erudio.services.PersonService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+// Negociação do formato em /exportAll: XLSX só quando pedido, CSV nos demais casos
+@ExtendWith(MockitoExtension.class)
+class PersonControllerExportAllTest {
+
+    @InjectMocks
+    PersonController controller;
+
+    @Mock
+    PersonService service;
+
+    @Test
+    void xlsxWhenAccepted() throws Exception {
+        var response = controller.exportAll("desc", request(MediaTypes.APPLICATION_XLSX_VALUE));
+
+        assertEquals(MediaTypes.APPLICATION_XLSX_VALUE, response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"people_exported.xlsx\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+
+        // O corpo só chama o serviço quando é escrito
+        var outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        verify(service).exportAll(eq(Sort.by(Sort.Direction.DESC, "firstName")),
+                eq(MediaTypes.APPLICATION_XLSX_VALUE), any());
+    }
+
+    @Test
+    void csvWhenAccepted() throws Exception {
+        var response = controller.exportAll("asc", request(MediaTypes.APPLICATION_CSV_VALUE));
+
+        assertEquals(MediaTypes.APPLICATION_CSV_VALUE, response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"people_exported.csv\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+
+        response.getBody().writeTo(new ByteArrayOutputStream());
+        verify(service).exportAll(eq(Sort.by(Sort.Direction.ASC, "firstName")),
+                eq(MediaTypes.APPLICATION_CSV_VALUE), any());
+    }
+
+    @Test
+    void csvWithoutAcceptHeader() throws Exception {
+        var response = controller.exportAll("asc", request(null));
+
+        assertEquals(MediaTypes.APPLICATION_CSV_VALUE, response.getHeaders().getContentType().toString());
+
+        response.getBody().writeTo(new ByteArrayOutputStream());
+        verify(service).exportAll(any(), eq(MediaTypes.APPLICATION_CSV_VALUE), any());
+    }
+
+    private static MockHttpServletRequest request(String accept) {
+        var request = new MockHttpServletRequest("GET", "/api/person/v1/exportAll");
+        if (accept != null) request.addHeader(HttpHeaders.ACCEPT, accept);
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.erudio.unittests.controllers;
+
+import br.com.erudio.cache.ExportCache;
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.file.download.FileDownloadWriter;
+import br.com.erudio.file.download.MimeTypeResolver;
+import br.com.erudio.file.exporter.MediaTypes;
+import br.com.erudio.services.PersonService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+// Relatórios em cache: o Content-Type vem do formato negociado, não da extensão do nome do arquivo
+@ExtendWith(MockitoExtension.class)
+class PersonControllerExportTest {
+
+    @InjectMocks
+    PersonController controller;
+
+    @Mock
+    PersonService service;
+
+    @Spy
+    FileDownloadWriter downloadWriter = new FileDownloadWriter(new MimeTypeResolver());
+
+    private Path report;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        report = Files.writeString(Files.createTempFile("export-", ".bin"), "report");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(report);
+    }
+
+    @Test
+    void exportPageUsesTheNegotiatedType() throws Exception {
+        // Accept com outra caixa: o nome fica sem extensão, mas o tipo continua o pedido
+        when(service.exportPage(any(), eq("Text/CSV"))).thenReturn(new ExportCache.Entry(report, null, 6));
+        var response = new MockHttpServletResponse();
+
+        controller.exportPage(0, 12, "asc", request("/api/person/v1/exportPage", "Text/CSV"), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaTypes.APPLICATION_CSV_VALUE, response.getContentType().toLowerCase());
+        assertEquals("report", response.getContentAsString());
+    }
+
+    @Test
+    void exportPersonIsServedAsPdf() throws Exception {
+        when(service.exportPerson(1L, MediaTypes.APPLICATION_PDF_VALUE)).thenReturn(new ExportCache.Entry(report, null, 6));
+        var response = new MockHttpServletResponse();
+
+        controller.export(1L, request("/api/person/v1/export/1", MediaTypes.APPLICATION_PDF_VALUE), response);
+
+        assertEquals(MediaTypes.APPLICATION_PDF_VALUE, response.getContentType());
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("person.pdf"));
+    }
+
+    private static MockHttpServletRequest request(String uri, String accept) {
+        var request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.erudio.unittests.controllers;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.dto.v1.ImportJobDTO;
+import br.com.erudio.exception.ServiceUnavailableException;
+import br.com.erudio.services.ImportJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PersonControllerMassCreationTest {
+
+    @InjectMocks
+    PersonController controller;
+
+    @Mock
+    ImportJobService importJobService;
+
+    MockMultipartFile file = new MockMultipartFile("file", "people.csv", "text/csv", new byte[]{1});
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/person/v1/massCreation/jobs");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void submitAnswersAcceptedWithTheStatusLocation() {
+        ImportJobDTO job = new ImportJobDTO();
+        job.setJobId("42");
+        job.setStatus("QUEUED");
+        when(importJobService.submit(file)).thenReturn(job);
+
+        var response = controller.submitMassCreation(file);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(URI.create("http://localhost:8080/api/person/v1/massCreation/jobs/42"), response.getHeaders().getLocation());
+        assertSame(job, response.getBody());
+    }
+
+    @Test
+    void fullQueueIsServiceUnavailable() {
+        when(importJobService.submit(file)).thenThrow(new ServiceUnavailableException("Too many imports in progress, please try again later!"));
+
+        var e = assertThrows(ServiceUnavailableException.class, () -> controller.submitMassCreation(file));
+
+        // Mapeada para 503 pelo @ResponseStatus da exceção
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                e.getClass().getAnnotation(ResponseStatus.class).value());
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.erudio.unittests.file.compression;
+
+import br.com.erudio.file.compression.ContentEncodings;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentEncodingsTest {
+
+    @Test
+    void acceptsListedEncodings() {
+        assertTrue(ContentEncodings.accepts("gzip, deflate, br", "gzip"));
+        assertTrue(ContentEncodings.accepts("br;q=1.0, GZIP;q=0.5", "gzip"));
+    }
+
+    @Test
+    void rejectsMissingOrZeroQuality() {
+        assertFalse(ContentEncodings.accepts(null, "gzip"));
+        assertFalse(ContentEncodings.accepts("identity", "gzip"));
+        assertFalse(ContentEncodings.accepts("gzip;q=0", "gzip"));
+        assertFalse(ContentEncodings.accepts("gzip;q=0.0, *", "gzip"));
+    }
+
+    @Test
+    void wildcardAppliesWhenTheEncodingIsNotListed() {
+        assertTrue(ContentEncodings.accepts("*", "gzip"));
+        assertFalse(ContentEncodings.accepts("br, *;q=0", "gzip"));
+    }
+}
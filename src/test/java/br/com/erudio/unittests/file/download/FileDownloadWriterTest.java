@@ -0,0 +1,241 @@
+package br.com.erudio.unittests.file.download;
+
+import br.com.erudio.file.download.DownloadSource;
+import br.com.erudio.file.download.FileDownloadWriter;
+import br.com.erudio.file.download.MimeTypeResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileDownloadWriterTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    private Path file;
+
+    private FileDownloadWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.createTempFile("download-", ".txt");
+        Files.writeString(file, CONTENT);
+        writer = new FileDownloadWriter(new MimeTypeResolver());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void fullDownloadHasValidators() throws Exception {
+        var response = download(get());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertEquals(CONTENT.length(), response.getContentLengthLong());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertTrue(response.getContentType().startsWith("text/plain"));
+    }
+
+    @Test
+    void matchingETagReturnsNotModified() throws Exception {
+        String eTag = download(get()).getHeader(HttpHeaders.ETAG);
+
+        var request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+        var response = download(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void singleRange() throws Exception {
+        var request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        var response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("56789", response.getContentAsString());
+        assertEquals("bytes 5-9/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(5, response.getContentLengthLong());
+    }
+
+    @Test
+    void suffixRange() throws Exception {
+        var request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+        var response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("hij", response.getContentAsString());
+    }
+
+    @Test
+    void multipleRangesAreSentAsMultipart() throws Exception {
+        var request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,10-11");
+        var response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertTrue(response.getContentType().startsWith("multipart/byteranges; boundary="));
+
+        String body = response.getContentAsString(StandardCharsets.US_ASCII);
+        assertTrue(body.contains("Content-Range: bytes 0-1/20\r\n\r\n01"));
+        assertTrue(body.contains("Content-Range: bytes 10-11/20\r\n\r\nab"));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLengthLong());
+    }
+
+    @Test
+    void unsatisfiableRange() throws Exception {
+        var request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-200");
+        var response = download(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void malformedRangeIsIgnored() throws Exception {
+        for (String range : List.of("bytes=abc", "bytes=9-5", "bytes 0-5", "")) {
+            var request = get();
+            request.addHeader(HttpHeaders.RANGE, range);
+            var response = download(request);
+
+            assertEquals(200, response.getStatus(), range);
+            assertEquals(CONTENT, response.getContentAsString(), range);
+        }
+    }
+
+    @Test
+    void unknownRangeUnitIsIgnored() throws Exception {
+        var request = get();
+        request.addHeader(HttpHeaders.RANGE, "items=0-5");
+        var response = download(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void unsatisfiableRangesAreDroppedFromAMultiRangeRequest() throws Exception {
+        var request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9,100-200");
+        var response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 5-9/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("56789", response.getContentAsString());
+    }
+
+    @Test
+    void everyRangeUnsatisfiableIsRejected() throws Exception {
+        var request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30,25-");
+        var response = download(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void staleIfRangeSendsTheWholeFile() throws Exception {
+        var request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"outdated\"");
+        var response = download(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void largeRangesAreHandedToSendfile() throws Exception {
+        Files.write(file, new byte[100 * 1024]);
+
+        var request = get();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=1024-");
+        var response = download(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(file.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(1024L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(100L * 1024, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void remoteObjectsAreReadOnlyInTheRequestedRanges() throws Exception {
+        byte[] content = new byte[100 * 1024];
+        content[2000] = 7;
+        List<String> opened = new ArrayList<>();
+        var source = DownloadSource.of(content.length, 1_700_000_000_000L, (offset, length) -> {
+            opened.add(offset + "+" + length);
+            return new ByteArrayInputStream(content, (int) offset, (int) length);
+        });
+
+        var request = get();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2000-2009");
+        var response = new MockHttpServletResponse();
+        writer.write(source, "report.bin", request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(7, response.getContentAsByteArray()[0]);
+        assertEquals(10, response.getContentAsByteArray().length);
+        assertEquals(List.of("2000+10"), opened);
+        assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+    }
+
+    @Test
+    void precompressedVariantsCarryTheirEncoding() throws Exception {
+        var plain = download(get());
+
+        var response = new MockHttpServletResponse();
+        writer.write(DownloadSource.of(file), "report.txt", "gzip", get(), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(response.getContentType().startsWith("text/plain"));
+        assertNotEquals(plain.getHeader(HttpHeaders.ETAG), response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void negotiatedContentTypeIsUsedInsteadOfTheExtension() throws Exception {
+        var response = new MockHttpServletResponse();
+        writer.write(DownloadSource.of(file), "people_exported", MediaType.parseMediaType("text/csv"), null, get(), response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("text/csv", response.getContentType());
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        writer.write(file, "report.txt", request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/file/v1/downloadFile/report.txt");
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.erudio.unittests.file.exporter;
+
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.exporter.impl.CsvExporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvExporterTest {
+
+    CsvExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new CsvExporter();
+    }
+
+    @Test
+    void exportPeopleAsStream() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exporter.exportPeople(Stream.of(
+                new PersonDTO(1L, "Ayrton", "Senna", "São Paulo", "Male", true),
+                new PersonDTO(2L, "Ada", "Lovelace", "London", "Female", false)
+        ), outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+
+        assertEquals(3, lines.length);
+        assertEquals("ID,First Name,Last Name,Address,Gender,Enabled", lines[0]);
+        assertEquals("1,Ayrton,Senna,São Paulo,Male,true", lines[1]);
+        assertEquals("2,Ada,Lovelace,London,Female,false", lines[2]);
+    }
+
+    @Test
+    void exportPeopleAsResourceMatchesStream() throws Exception {
+        var person = new PersonDTO(1L, "Ayrton", "Senna", "São Paulo", "Male", true);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exporter.exportPeople(Stream.of(person), outputStream);
+
+        var resource = exporter.exportPeople(List.of(person));
+
+        assertArrayEquals(outputStream.toByteArray(), resource.getContentAsByteArray());
+    }
+
+}
@@ -0,0 +1,108 @@
+package br.com.erudio.unittests.file.exporter;
+
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.exporter.impl.XlsxExporter;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XlsxExporterTest {
+
+    XlsxExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new XlsxExporter();
+    }
+
+    @Test
+    void exportPeopleAsStream() throws Exception {
+        try (XSSFWorkbook workbook = export(Stream.of(
+                new PersonDTO(1L, "Ayrton", "Senna", "São Paulo", "Male", true),
+                new PersonDTO(2L, "Ada", "Lovelace", "London", "Female", false)))) {
+
+            XSSFSheet sheet = workbook.getSheet("People");
+            assertEquals(2, sheet.getLastRowNum());
+
+            XSSFRow header = sheet.getRow(0);
+            assertEquals("ID", header.getCell(0).getStringCellValue());
+            assertEquals("Enabled", header.getCell(5).getStringCellValue());
+            for (int i = 0; i < 6; i++) {
+                XSSFCell cell = header.getCell(i);
+                assertTrue(cell.getCellStyle().getFont().getBold());
+                assertEquals(HorizontalAlignment.CENTER, cell.getCellStyle().getAlignment());
+            }
+
+            XSSFRow first = sheet.getRow(1);
+            assertEquals(CellType.NUMERIC, first.getCell(0).getCellType());
+            assertEquals(1.0, first.getCell(0).getNumericCellValue());
+            assertEquals("Ayrton", first.getCell(1).getStringCellValue());
+            assertEquals("São Paulo", first.getCell(3).getStringCellValue());
+            assertEquals("Yes", first.getCell(5).getStringCellValue());
+            assertEquals("No", sheet.getRow(2).getCell(5).getStringCellValue());
+            assertFalse(first.getCell(1).getCellStyle().getFont().getBold());
+        }
+    }
+
+    @Test
+    void columnWidthsComeFromTheFirstRowsOnly() throws Exception {
+        // 500 linhas de amostra com endereço curto; a 501ª, fora da amostra, tem um endereço longo
+        Stream<PersonDTO> people = Stream.concat(
+                IntStream.rangeClosed(1, 500).mapToObj(i -> new PersonDTO((long) i, "Ada", "Lovelace", "Rua A", "Female", true)),
+                Stream.of(new PersonDTO(501L, "Ada", "Lovelace", "x".repeat(40), "Female", true)));
+
+        try (XSSFWorkbook workbook = export(people)) {
+            XSSFSheet sheet = workbook.getSheet("People");
+            assertEquals(501, sheet.getLastRowNum());
+
+            // "Address" (7) é maior que "Rua A" (5): largura do cabeçalho + 2
+            assertEquals((7 + 2) * 256, sheet.getColumnWidth(3));
+            // "Last Name" (9) é maior que "Lovelace" (8)
+            assertEquals((9 + 2) * 256, sheet.getColumnWidth(2));
+        }
+    }
+
+    @Test
+    void columnWidthIsCapped() throws Exception {
+        try (XSSFWorkbook workbook = export(Stream.of(
+                new PersonDTO(1L, "Ada", "Lovelace", "x".repeat(40), "Female", true),
+                new PersonDTO(2L, "Ada", "Lovelace", "Rua A", "y".repeat(100), true)))) {
+
+            XSSFSheet sheet = workbook.getSheet("People");
+            assertEquals((40 + 2) * 256, sheet.getColumnWidth(3));
+            assertEquals(60 * 256, sheet.getColumnWidth(4));
+        }
+    }
+
+    @Test
+    void exportPeopleAsResourceHasTheSameRows() throws Exception {
+        var person = new PersonDTO(1L, "Ayrton", "Senna", "São Paulo", "Male", true);
+
+        var resource = exporter.exportPeople(List.of(person));
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(resource.getContentAsByteArray()))) {
+            XSSFSheet sheet = workbook.getSheet("People");
+            assertEquals(1, sheet.getLastRowNum());
+            assertEquals("Senna", sheet.getRow(1).getCell(2).getStringCellValue());
+        }
+    }
+
+    private XSSFWorkbook export(Stream<PersonDTO> people) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exporter.exportPeople(people, outputStream);
+        return new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+}
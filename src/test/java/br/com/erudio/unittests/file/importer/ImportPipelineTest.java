@@ -0,0 +1,123 @@
+package br.com.erudio.unittests.file.importer;
+
+import br.com.erudio.data.dto.v1.ImportStageDTO;
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.importer.ImportPipeline;
+import br.com.erudio.file.importer.ImportProgress;
+import br.com.erudio.file.importer.ImportedRow;
+import br.com.erudio.file.importer.contract.FileImporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportPipelineTest {
+
+    private static final int ROWS = 10_000;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void importsEveryValidRowOnce() throws Exception {
+        ImportProgress progress = new ImportProgress(10);
+        progress.start();
+        Set<Long> written = ConcurrentHashMap.newKeySet();
+        AtomicInteger maxChunk = new AtomicInteger();
+
+        ImportPipeline pipeline = new ImportPipeline(3, 2, 2, 100,
+                person -> person.getFirstName().isEmpty() ? "First name is required!" : null,
+                chunk -> {
+                    maxChunk.accumulateAndGet(chunk.size(), Math::max);
+                    chunk.forEach(row -> assertTrue(written.add(row.lineNumber())));
+                    progress.rowsImported(chunk.size());
+                },
+                progress,
+                executor);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> pipeline.run(importerOf(ROWS), new ByteArrayInputStream(new byte[0])));
+        progress.finish();
+
+        // Uma a cada 10 linhas é inválida
+        assertEquals(ROWS, progress.getTotalRows());
+        assertEquals(ROWS / 10, progress.getFailedRows());
+        assertEquals(ROWS - ROWS / 10, written.size());
+        assertEquals(ROWS - ROWS / 10, progress.getImportedRows());
+        assertTrue(maxChunk.get() <= 100);
+
+        List<ImportStageDTO> stages = progress.getStages();
+        assertEquals(List.of("read", "validate", "write"), stages.stream().map(ImportStageDTO::getName).toList());
+        assertEquals(ROWS, stages.get(0).getRows());
+        assertEquals(ROWS, stages.get(1).getRows());
+        assertEquals(ROWS - ROWS / 10, stages.get(2).getRows());
+        assertEquals(3, stages.get(1).getThreads());
+    }
+
+    @Test
+    void writerFailureAbortsTheReader() {
+        ImportProgress progress = new ImportProgress(10);
+
+        ImportPipeline pipeline = new ImportPipeline(2, 1, 1, 10,
+                person -> null,
+                chunk -> { throw new IllegalStateException("Database is down!"); },
+                progress,
+                executor);
+
+        // Sem o abort a leitura ficaria bloqueada para sempre com as filas cheias
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                assertTimeoutPreemptively(Duration.ofSeconds(30), () -> pipeline.run(importerOf(ROWS), new ByteArrayInputStream(new byte[0]))));
+        assertEquals("Database is down!", e.getMessage());
+    }
+
+    @Test
+    void sharedExecutorIsLeftRunning() throws Exception {
+        ImportProgress progress = new ImportProgress(10);
+
+        ImportPipeline first = new ImportPipeline(2, 1, 1, 10,
+                person -> null,
+                chunk -> { throw new IllegalStateException("Database is down!"); },
+                progress,
+                executor);
+        assertThrows(IllegalStateException.class, () -> first.run(importerOf(ROWS), new ByteArrayInputStream(new byte[0])));
+
+        // O executor é das importações, não do pipeline: a falha de uma não impede a próxima
+        AtomicInteger imported = new AtomicInteger();
+        ImportPipeline second = new ImportPipeline(2, 1, 1, 10,
+                person -> null,
+                chunk -> imported.addAndGet(chunk.size()),
+                new ImportProgress(10),
+                executor);
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> second.run(importerOf(ROWS), new ByteArrayInputStream(new byte[0])));
+
+        assertFalse(executor.isShutdown());
+        assertEquals(ROWS, imported.get());
+    }
+
+    private static FileImporter importerOf(int rows) {
+        return (inputStream, consumer) -> {
+            for (int i = 0; i < rows; i++) {
+                String firstName = i % 10 == 0 ? "" : "Person " + i;
+                consumer.accept(new ImportedRow(i + 2, new PersonDTO(null, firstName, "Doe", "Some Street", "Male", true)));
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.erudio.unittests.file.importer;
+
+import br.com.erudio.file.importer.ImportedRow;
+import br.com.erudio.file.importer.ProgressInputStream;
+import br.com.erudio.file.importer.impl.XlsxImporter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XlsxImporterTest {
+
+    XlsxImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        importer = new XlsxImporter();
+    }
+
+    @Test
+    void importFileStreamsEveryRow() throws Exception {
+        byte[] workbook = generateWorkbook(10_000);
+
+        List<ImportedRow> rows = new ArrayList<>();
+        importer.importFile(new ByteArrayInputStream(workbook), rows::add);
+
+        assertEquals(10_000, rows.size());
+
+        var first = rows.get(0);
+        assertEquals(2, first.lineNumber());
+        assertEquals("First Name 1", first.person().getFirstName());
+        assertEquals("Last Name 1", first.person().getLastName());
+        assertEquals("Address 1", first.person().getAddress());
+        assertEquals("Male", first.person().getGender());
+        assertTrue(first.person().getEnabled());
+
+        var last = rows.get(rows.size() - 1);
+        assertEquals(10_001, last.lineNumber());
+        assertEquals("First Name 10000", last.person().getFirstName());
+        assertEquals("Female", last.person().getGender());
+    }
+
+    @Test
+    void importFileSkipsRowsWithoutFirstName() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            writeRow(sheet.createRow(0), "first_name", "last_name", "address", "gender");
+            writeRow(sheet.createRow(1), "Ada", "Lovelace", "London", "Female");
+            writeRow(sheet.createRow(2), null, "Nobody", "Nowhere", "Male");
+            writeRow(sheet.createRow(3), "Alan", null, "Manchester", "Male");
+            workbook.write(outputStream);
+        }
+
+        List<ImportedRow> rows = new ArrayList<>();
+        importer.importFile(new ByteArrayInputStream(outputStream.toByteArray()), rows::add);
+
+        assertEquals(2, rows.size());
+        assertEquals("Ada", rows.get(0).person().getFirstName());
+        assertEquals(4, rows.get(1).lineNumber());
+        assertNull(rows.get(1).person().getLastName());
+    }
+
+    // O Excel grava o texto na tabela de shared strings (cells t="s"), não como inline strings
+    @Test
+    void importFileResolvesSharedStrings() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("People");
+            writeRow(sheet.createRow(0), "first_name", "last_name", "address", "gender");
+            writeRow(sheet.createRow(1), "Ada", "Lovelace", "London", "Female");
+            writeRow(sheet.createRow(2), null, "Nobody", "Nowhere", "Male");
+            writeRow(sheet.createRow(3), "Alan", "Turing", "London", "Male");
+            workbook.write(outputStream);
+
+            // "London" e "Male" aparecem duas vezes e ficam uma única vez na tabela
+            assertEquals(13, workbook.getSharedStringSource().getUniqueCount());
+        }
+
+        List<ImportedRow> rows = new ArrayList<>();
+        importer.importFile(new ByteArrayInputStream(outputStream.toByteArray()), rows::add);
+
+        assertEquals(2, rows.size());
+        assertEquals("Ada", rows.get(0).person().getFirstName());
+        assertEquals("London", rows.get(0).person().getAddress());
+        assertEquals(4, rows.get(1).lineNumber());
+        assertEquals("Turing", rows.get(1).person().getLastName());
+        assertEquals("London", rows.get(1).person().getAddress());
+        assertEquals("Male", rows.get(1).person().getGender());
+    }
+
+    @Test
+    void importFileStreamsEveryRowWithSharedStrings() throws Exception {
+        byte[] workbook = generateWorkbook(2_000, true);
+
+        List<ImportedRow> rows = new ArrayList<>();
+        importer.importFile(new ByteArrayInputStream(workbook), rows::add);
+
+        assertEquals(2_000, rows.size());
+        assertEquals("First Name 1", rows.get(0).person().getFirstName());
+        assertEquals("Last Name 2000", rows.get(rows.size() - 1).person().getLastName());
+        assertEquals("Female", rows.get(rows.size() - 1).person().getGender());
+    }
+
+    @Test
+    void importFileOpensASpooledWorkbookInPlace(@TempDir Path dir) throws Exception {
+        Path file = Files.write(dir.resolve("people.xlsx"), generateWorkbook(500));
+        List<ImportedRow> rows = new ArrayList<>();
+
+        try (ProgressInputStream in = new ProgressInputStream(file)) {
+            importer.importFile(in, rows::add);
+
+            // O arquivo é aberto direto pelo OPCPackage: o stream não é copiado para outro temporário
+            assertEquals(0, in.getBytesRead());
+        }
+        assertEquals(500, rows.size());
+    }
+
+    private static byte[] generateWorkbook(int people) throws Exception {
+        return generateWorkbook(people, false);
+    }
+
+    private static byte[] generateWorkbook(int people, boolean sharedStrings) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, true, sharedStrings)) {
+            Sheet sheet = workbook.createSheet("People");
+            writeRow(sheet.createRow(0), "first_name", "last_name", "address", "gender");
+            for (int i = 1; i <= people; i++) {
+                writeRow(sheet.createRow(i),
+                        "First Name " + i, "Last Name " + i, "Address " + i, i % 2 == 0 ? "Female" : "Male");
+            }
+            workbook.write(outputStream);
+            workbook.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static void writeRow(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
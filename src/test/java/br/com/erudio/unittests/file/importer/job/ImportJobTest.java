@@ -0,0 +1,64 @@
+package br.com.erudio.unittests.file.importer.job;
+
+import br.com.erudio.file.importer.ImportProgress;
+import br.com.erudio.file.importer.ProgressInputStream;
+import br.com.erudio.file.importer.job.ImportJob;
+import br.com.erudio.file.importer.job.ImportJobStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportJobTest {
+
+    @Test
+    void progressInputStreamCountsReadAndSkippedBytes() throws Exception {
+        try (var in = new ProgressInputStream(new ByteArrayInputStream(new byte[100]))) {
+            in.read();
+            in.read(new byte[10], 0, 10);
+            in.skip(20);
+            assertEquals(31, in.getBytesRead());
+
+            in.readAllBytes();
+            assertEquals(100, in.getBytesRead());
+            assertEquals(-1, in.read());
+            assertEquals(100, in.getBytesRead());
+        }
+    }
+
+    @Test
+    void etaComesFromTheFractionOfTheFileRead() throws Exception {
+        var job = new ImportJob("1", "people.csv", Path.of("people.csv"), 100, new ImportProgress(10));
+        assertEquals(ImportJobStatus.QUEUED, job.getStatus());
+        assertNull(job.getFractionRead());
+        assertNull(job.getEtaMillis());
+
+        var in = new ProgressInputStream(new ByteArrayInputStream(new byte[100]));
+        job.running(in);
+        in.read(new byte[25], 0, 25);
+        Thread.sleep(20);
+
+        assertEquals(ImportJobStatus.RUNNING, job.getStatus());
+        assertEquals(0.25, job.getFractionRead());
+        // Um quarto lido em ~20ms: faltam cerca de três vezes o tempo decorrido
+        long elapsed = job.getProgress().getElapsedMillis();
+        long eta = job.getEtaMillis();
+        assertTrue(eta >= 3 * elapsed - 10 && eta <= 3 * elapsed + 10, "eta " + eta + " for elapsed " + elapsed);
+
+        job.completed();
+        assertTrue(job.isFinished());
+        assertNotNull(job.getFinishedAt());
+        assertNull(job.getEtaMillis());
+    }
+
+    @Test
+    void emptyFileHasNoEta() {
+        var job = new ImportJob("1", "people.csv", Path.of("people.csv"), 0, new ImportProgress(10));
+        job.running(new ProgressInputStream(new ByteArrayInputStream(new byte[0])));
+
+        assertNull(job.getFractionRead());
+        assertNull(job.getEtaMillis());
+    }
+}
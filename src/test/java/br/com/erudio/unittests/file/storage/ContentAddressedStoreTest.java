@@ -0,0 +1,115 @@
+package br.com.erudio.unittests.file.storage;
+
+import br.com.erudio.file.storage.ContentAddressedStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentAddressedStoreTest {
+
+    // sha-256("hello")
+    private static final String HELLO_HASH = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path uploads;
+
+    @Test
+    void blobsAreShardedByHash() throws Exception {
+        var store = new ContentAddressedStore(root);
+
+        Path blob = store.put("a.txt", upload("hello"), null);
+
+        assertEquals(root.resolve("blobs/2c/f2/" + HELLO_HASH), blob);
+        assertEquals("hello", Files.readString(blob));
+        assertEquals(HELLO_HASH, store.hashOf("a.txt").orElseThrow());
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        var store = new ContentAddressedStore(root);
+        Path first = upload("hello");
+        Path second = upload("hello");
+
+        assertEquals(store.put("a.txt", first, null), store.put("b.txt", second, null));
+
+        assertEquals(2, store.names());
+        assertEquals(1, store.blobs());
+        assertFalse(Files.exists(first));
+        assertFalse(Files.exists(second));
+    }
+
+    @Test
+    void digestComputedWhileStreamingIsUsed() throws Exception {
+        var store = new ContentAddressedStore(root);
+        var digest = ContentAddressedStore.newDigest();
+        Path file = uploads.resolve("streamed.part");
+        Files.copy(new DigestInputStream(new ByteArrayInputStream("hello".getBytes(StandardCharsets.UTF_8)), digest), file);
+
+        store.put("a.txt", file, digest);
+
+        assertEquals(HELLO_HASH, store.hashOf("a.txt").orElseThrow());
+    }
+
+    @Test
+    void overwrittenContentIsRemovedWhenNoLongerReferenced() throws Exception {
+        var store = new ContentAddressedStore(root);
+        Path shared = store.put("a.txt", upload("hello"), null);
+        store.put("b.txt", upload("hello"), null);
+
+        store.put("a.txt", upload("bye"), null);
+        assertTrue(Files.exists(shared), "still referenced by b.txt");
+
+        store.put("b.txt", upload("bye"), null);
+        assertFalse(Files.exists(shared));
+        assertEquals(1, store.blobs());
+    }
+
+    @Test
+    void retainedBlobSurvivesAnOverwriteUntilReleased() throws Exception {
+        var store = new ContentAddressedStore(root);
+        Path hello = store.put("a.txt", upload("hello"), null);
+
+        // Anexo de e-mail na fila: o nome é sobrescrito antes do envio
+        var retained = store.retain("a.txt").orElseThrow();
+        store.put("a.txt", upload("bye"), null);
+
+        assertEquals(hello, retained.file());
+        assertEquals("hello", Files.readString(retained.file()));
+        assertEquals(2, store.blobs());
+
+        retained.release().run();
+        retained.release().run();
+        assertFalse(Files.exists(hello));
+        assertEquals(1, store.blobs());
+        assertTrue(store.retain("missing.txt").isEmpty());
+    }
+
+    @Test
+    void indexSurvivesARestart() throws Exception {
+        var store = new ContentAddressedStore(root);
+        store.put("a.txt", upload("hello"), null);
+        store.put("a.txt", upload("bye"), null);
+        store.put("b.txt", upload("hello"), null);
+
+        var reopened = new ContentAddressedStore(root);
+
+        assertEquals("bye", Files.readString(reopened.resolve("a.txt").orElseThrow()));
+        assertEquals("hello", Files.readString(reopened.resolve("b.txt").orElseThrow()));
+        assertTrue(reopened.resolve("c.txt").isEmpty());
+        assertEquals(2, Files.readAllLines(root.resolve("index.log")).size());
+    }
+
+    private Path upload(String content) throws Exception {
+        return Files.writeString(Files.createTempFile(uploads, "upload-", ".part"), content);
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.erudio.unittests.file.storage;
+
+import br.com.erudio.file.storage.FileSystemStorageBackend;
+import br.com.erudio.file.storage.InMemoryStorageBackend;
+import br.com.erudio.file.storage.StorageBackend;
+import br.com.erudio.file.storage.StoredObject;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Mesmo contrato para todos os backends locais (o S3 segue a mesma interface)
+class StorageBackendTest {
+
+    @TempDir
+    Path root;
+
+    @TempDir
+    Path uploads;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"filesystem", "memory"})
+    void putConsumesTheFileAndGetReturnsIt(String name) throws Exception {
+        StorageBackend backend = backend(name);
+        Path upload = upload("0123456789");
+
+        backend.put("docs/report.txt", upload);
+
+        assertFalse(Files.exists(upload));
+        assertEquals("0123456789", read(backend.get("docs/report.txt")));
+        assertEquals(10, backend.stat("docs/report.txt").orElseThrow().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"filesystem", "memory"})
+    void rangeGetReturnsOnlyTheRange(String name) throws Exception {
+        StorageBackend backend = backend(name);
+        backend.put("report.txt", upload("0123456789"));
+
+        assertEquals("345", read(backend.getRange("report.txt", 3, 3)));
+        assertEquals("89", read(backend.getRange("report.txt", 8, 10)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"filesystem", "memory"})
+    void putReplacesAndDeleteRemoves(String name) throws Exception {
+        StorageBackend backend = backend(name);
+        backend.put("report.txt", upload("old"));
+        backend.put("report.txt", upload("new"));
+
+        assertEquals("new", read(backend.get("report.txt")));
+
+        backend.delete("report.txt");
+        backend.delete("report.txt");
+
+        assertTrue(backend.stat("report.txt").isEmpty());
+        assertThrows(NoSuchFileException.class, () -> backend.get("report.txt"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"filesystem", "memory"})
+    void listFiltersByPrefix(String name) throws Exception {
+        StorageBackend backend = backend(name);
+        backend.put("docs/a.txt", upload("a"));
+        backend.put("docs/b.txt", upload("bb"));
+        backend.put("images/c.png", upload("ccc"));
+
+        assertEquals(
+                List.of("docs/a.txt", "docs/b.txt"),
+                backend.list("docs/").stream().map(StoredObject::key).toList());
+        assertEquals(3, backend.list("").size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"filesystem"})
+    void reservedDirectoriesAreNotPartOfTheKeySpace(String name) throws Exception {
+        StorageBackend backend = backend(name);
+        Files.createDirectories(root.resolve(".incoming"));
+        Files.writeString(root.resolve(".incoming/upload.part"), "partial");
+
+        assertTrue(backend.list("").isEmpty());
+        assertTrue(backend.stat(".incoming/upload.part").isEmpty());
+        assertThrows(NoSuchFileException.class, () -> backend.get("../outside.txt"));
+    }
+
+    private StorageBackend backend(String name) throws Exception {
+        return "memory".equals(name) ? new InMemoryStorageBackend() : new FileSystemStorageBackend(root);
+    }
+
+    private Path upload(String content) throws Exception {
+        return Files.writeString(Files.createTempFile(uploads, "upload-", ".part"), content);
+    }
+
+    private static String read(InputStream in) throws Exception {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.erudio.unittests.hateoas;
+
+import br.com.erudio.controllers.BookController;
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.dto.v1.BookDTO;
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.hateoas.BookLinks;
+import br.com.erudio.hateoas.PersonLinks;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Os links montados a partir dos templates devem ser iguais aos de linkTo(methodOn(...))
+class PersonLinksTest {
+
+    PersonLinks personLinks = new PersonLinks();
+    BookLinks bookLinks = new BookLinks();
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setScheme("https");
+        request.setServerName("api.erudio.com.br");
+        request.setServerPort(443);
+        request.setContextPath("/rest");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void personLinksMatchLinkTo() throws Exception {
+        PersonDTO dto = new PersonDTO();
+        dto.setId(42L);
+
+        personLinks.addLinks(dto);
+
+        assertEquals(9, dto.getLinks().stream().count());
+        assertHref(linkTo(methodOn(PersonController.class).findById(42L)).toUri().toString(), dto, "self");
+        assertHref(linkTo(methodOn(PersonController.class).findAll(1, 12, "asc")).toUri().toString(), dto, "findAll");
+        assertHref(linkTo(methodOn(PersonController.class).create(dto)).toUri().toString(), dto, "create");
+        assertHref(linkTo(methodOn(PersonController.class).update(dto)).toUri().toString(), dto, "update");
+        assertHref(linkTo(methodOn(PersonController.class).disablePerson(42L)).toUri().toString(), dto, "disable");
+        assertHref(linkTo(methodOn(PersonController.class).delete(42L)).toUri().toString(), dto, "delete");
+        // exportPage escreve direto na resposta (void): o link sai do Method em vez de methodOn
+        Method exportPage = PersonController.class.getMethod("exportPage",
+                Integer.class, Integer.class, String.class, HttpServletRequest.class, HttpServletResponse.class);
+        assertHref(linkTo(PersonController.class, exportPage, 1, 12, "asc", null, null).toUri().toString(), dto, "exportPage");
+        assertHref("https://api.erudio.com.br/rest/api/person/v1/massCreation", dto, "massCreation");
+
+        assertEquals("GET", dto.getRequiredLink("self").getType());
+        assertEquals("PATCH", dto.getRequiredLink("disable").getType());
+        assertEquals("Export People", dto.getRequiredLink("exportPage").getTitle());
+    }
+
+    @Test
+    void idIndependentLinksAreSharedWithinARequest() {
+        PersonDTO first = new PersonDTO();
+        first.setId(1L);
+        PersonDTO second = new PersonDTO();
+        second.setId(2L);
+
+        personLinks.addLinks(first);
+        personLinks.addLinks(second);
+
+        assertSame(first.getRequiredLink("findAll"), second.getRequiredLink("findAll"));
+        assertEquals("https://api.erudio.com.br/rest/api/person/v1/2", second.getRequiredLink("self").getHref());
+    }
+
+    @Test
+    void bookLinksMatchLinkTo() {
+        BookDTO dto = new BookDTO();
+        dto.setId(7L);
+
+        bookLinks.addLinks(dto);
+
+        assertEquals(4, dto.getLinks().stream().count());
+        assertHref(linkTo(methodOn(BookController.class).findById(7L)).toUri().toString(), dto, "self");
+        assertHref(linkTo(methodOn(BookController.class).findAll(1, 12, "asc")).toUri().toString(), dto, "findAll");
+        assertHref(linkTo(methodOn(BookController.class).create(dto)).toUri().toString(), dto, "create");
+        assertHref(linkTo(methodOn(BookController.class).update(dto)).toUri().toString(), dto, "update");
+    }
+
+    private static void assertHref(String expected, RepresentationModel<?> dto, String rel) {
+        Link link = dto.getRequiredLink(rel);
+        assertEquals(expected, link.getHref());
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.erudio.unittests.mail;
+
+import br.com.erudio.config.EmailConfig;
+import br.com.erudio.config.EmailOutboxConfig;
+import br.com.erudio.exception.ServiceUnavailableException;
+import br.com.erudio.mail.EmailAttachment;
+import br.com.erudio.mail.EmailDelivery;
+import br.com.erudio.mail.EmailDeliveryStatus;
+import br.com.erudio.mail.EmailMessage;
+import br.com.erudio.mail.EmailOutbox;
+import br.com.erudio.mail.EmailSender;
+import br.com.erudio.unittests.mail.mocks.InMemoryMailSender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailOutboxTest {
+
+    private InMemoryMailSender mailSender;
+
+    private EmailOutboxConfig config;
+
+    private EmailOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new InMemoryMailSender();
+
+        config = new EmailOutboxConfig();
+        config.setWorkerThreads(1);
+        config.setQueueCapacity(100);
+        config.setBatchSize(20);
+        config.setMaxAttempts(3);
+        config.setInitialBackoffMillis(10);
+        config.setMaxBackoffMillis(50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailSender.releaseConnections();
+        if (outbox != null) outbox.stop();
+    }
+
+    @Test
+    void submitReturnsBeforeTheMessageIsSent() throws Exception {
+        mailSender.holdConnections();
+        start();
+
+        EmailDelivery delivery = outbox.submit(message("ada@erudio.com.br"));
+
+        assertNotNull(delivery.getId());
+        assertNotEquals(EmailDeliveryStatus.SENT, delivery.getStatus());
+
+        mailSender.releaseConnections();
+        awaitStatus(delivery, EmailDeliveryStatus.SENT);
+        assertEquals("ada@erudio.com.br",
+                mailSender.getConnections().get(0).get(0).getAllRecipients()[0].toString());
+    }
+
+    @Test
+    void queuedMessagesShareOneConnection() throws Exception {
+        mailSender.holdConnections();
+        start();
+
+        // O primeiro envio segura o único worker enquanto os demais se acumulam na fila
+        var first = outbox.submit(message("first@erudio.com.br"));
+        assertTrue(mailSender.awaitFirstConnection());
+        var others = List.of(
+                outbox.submit(message("a@erudio.com.br")),
+                outbox.submit(message("b@erudio.com.br")),
+                outbox.submit(message("c@erudio.com.br")));
+
+        mailSender.releaseConnections();
+        awaitStatus(first, EmailDeliveryStatus.SENT);
+        for (var delivery : others) awaitStatus(delivery, EmailDeliveryStatus.SENT);
+
+        assertEquals(2, mailSender.getConnections().size());
+        assertEquals(3, mailSender.getConnections().get(1).size());
+    }
+
+    @Test
+    void failedConnectionsAreRetriedWithBackoff() throws Exception {
+        mailSender.failNextConnections(2);
+        start();
+
+        var delivery = outbox.submit(message("ada@erudio.com.br"));
+
+        awaitStatus(delivery, EmailDeliveryStatus.SENT);
+        assertEquals(3, delivery.getAttempts());
+        assertEquals(2, outbox.getRetried());
+        assertEquals(1, mailSender.getSentMessages());
+    }
+
+    @Test
+    void messageFailsAfterMaxAttemptsAndDropsItsAttachment() throws Exception {
+        mailSender.failNextConnections(Integer.MAX_VALUE);
+        start();
+
+        Path file = Files.createTempFile("attachment-", ".pdf");
+        var message = new EmailMessage(List.of("ada@erudio.com.br"), "Report", "<p>Report</p>",
+                List.of(EmailAttachment.ownedFile("report.pdf", "application/pdf", file)));
+
+        var delivery = outbox.submit(message);
+
+        awaitStatus(delivery, EmailDeliveryStatus.FAILED);
+        assertEquals(3, delivery.getAttempts());
+        assertEquals("Connection refused", delivery.getErrorMessage());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void fullQueueIsRejectedImmediately() throws Exception {
+        config.setQueueCapacity(1);
+        mailSender.holdConnections();
+        start();
+
+        outbox.submit(message("first@erudio.com.br"));
+        assertTrue(mailSender.awaitFirstConnection());
+        outbox.submit(message("queued@erudio.com.br"));
+
+        assertThrows(ServiceUnavailableException.class, () -> outbox.submit(message("rejected@erudio.com.br")));
+    }
+
+    private void start() {
+        EmailConfig emailConfig = new EmailConfig();
+        emailConfig.setUsername("noreply@erudio.com.br");
+
+        outbox = new EmailOutbox(mailSender, new EmailSender(mailSender, emailConfig), config);
+        outbox.start();
+    }
+
+    private static EmailMessage message(String to) {
+        return new EmailMessage(List.of(to), "Hello", "<p>Hello</p>", List.of());
+    }
+
+    private static void awaitStatus(EmailDelivery delivery, EmailDeliveryStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delivery.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(status, delivery.getStatus());
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.erudio.unittests.mail.mocks;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Substitui o servidor SMTP dentro do processo: cada chamada de doSend equivale a uma conexão
+// e registra as mensagens recebidas. Pode falhar as primeiras conexões ou segurar o envio.
+public class InMemoryMailSender extends JavaMailSenderImpl {
+
+    private final List<List<MimeMessage>> connections = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    private volatile CountDownLatch hold = new CountDownLatch(0);
+
+    private final CountDownLatch firstConnection = new CountDownLatch(1);
+
+    public void failNextConnections(int failures) {
+        failuresLeft.set(failures);
+    }
+
+    public void holdConnections() {
+        hold = new CountDownLatch(1);
+    }
+
+    public void releaseConnections() {
+        hold.countDown();
+    }
+
+    public boolean awaitFirstConnection() throws InterruptedException {
+        return firstConnection.await(5, TimeUnit.SECONDS);
+    }
+
+    public List<List<MimeMessage>> getConnections() {
+        return connections;
+    }
+
+    public int getSentMessages() {
+        return connections.stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        firstConnection.countDown();
+        try {
+            hold.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (failuresLeft.getAndDecrement() > 0) {
+            throw new MailSendException("Connection refused");
+        }
+        connections.add(List.of(mimeMessages));
+    }
+}
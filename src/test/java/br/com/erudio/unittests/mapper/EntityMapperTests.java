@@ -0,0 +1,81 @@
+package br.com.erudio.unittests.mapper;
+
+import br.com.erudio.data.dto.v1.BookDTO;
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.mapper.DozerEntityMapper;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.custom.BookMapper;
+import br.com.erudio.mapper.custom.PersonMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import br.com.erudio.unittests.mapper.mocks.MockBook;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Os mappers escritos à mão devem produzir o mesmo resultado que o Dozer
+public class EntityMapperTests {
+
+    MockPerson inputPerson;
+    MockBook inputBook;
+
+    EntityMapper<Person, PersonDTO> personMapper = new PersonMapper();
+    EntityMapper<Person, PersonDTO> dozerPersonMapper = new DozerEntityMapper<>(Person.class, PersonDTO.class);
+    EntityMapper<Book, BookDTO> bookMapper = new BookMapper();
+
+    @BeforeEach
+    public void setUp() {
+        inputPerson = new MockPerson();
+        inputBook = new MockBook();
+    }
+
+    @Test
+    public void personEntityToDTOMatchesDozer() {
+        Person person = inputPerson.mockEntity(3);
+        person.setEnabled(true);
+        person.setProfileUrl("https://en.wikipedia.org/wiki/Test");
+        person.setPhotoUrl("https://upload.wikimedia.org/test.jpg");
+        person.setBooks(List.of(inputBook.mockEntity(1), inputBook.mockEntity(2)));
+
+        PersonDTO manual = personMapper.toDTO(person);
+        PersonDTO dozer = dozerPersonMapper.toDTO(person);
+
+        assertEquals(dozer, manual);
+        assertEquals(2, manual.getBooks().size());
+        assertNotSame(person.getBooks(), manual.getBooks());
+    }
+
+    @Test
+    public void personDTOToEntityMatchesDozer() {
+        PersonDTO dto = inputPerson.mockDTO(5);
+        dto.setEnabled(false);
+
+        assertEquals(dozerPersonMapper.toEntity(dto), personMapper.toEntity(dto));
+    }
+
+    @Test
+    public void personListMatchesDozer() {
+        List<Person> people = inputPerson.mockEntityList();
+
+        assertEquals(dozerPersonMapper.toDTOList(people), personMapper.toDTOList(people));
+    }
+
+    @Test
+    public void bookRoundTrip() {
+        Book book = inputBook.mockEntity(7);
+
+        BookDTO dto = bookMapper.toDTO(book);
+        assertEquals(book.getId(), dto.getId());
+        assertEquals(book.getTitle(), dto.getTitle());
+        assertEquals(book.getAuthor(), dto.getAuthor());
+        assertEquals(book.getPrice(), dto.getPrice());
+        // O Dozer não mapeia launch_date -> launchDate porque os nomes das propriedades diferem
+        assertEquals(book.getLaunch_date(), dto.getLaunchDate());
+
+        assertEquals(book, bookMapper.toEntity(dto));
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.exception.ServiceUnavailableException;
+import br.com.erudio.security.password.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) encoder.close();
+    }
+
+    @Test
+    void delegatesToTheWrappedEncoder() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(false), 1, 1, 1000);
+
+        assertEquals("hash:admin123", encoder.encode("admin123"));
+        assertTrue(encoder.matches("admin123", "hash:admin123"));
+        assertFalse(encoder.matches("wrong", "hash:admin123"));
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(true), 1, 1, 10000);
+
+        // Um hash ocupando a única thread e outro na fila
+        Thread running = new Thread(() -> encoder.encode("first"));
+        Thread queued = new Thread(() -> encoder.encode("second"));
+        running.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queued.start();
+        while (encoder.getQueued() == 0) Thread.onSpinWait();
+
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> encoder.matches("third", "hash:third"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(1, encoder.getRejected());
+
+        release.countDown();
+        running.join();
+        queued.join();
+    }
+
+    @Test
+    void givesUpAfterMaxWait() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(true), 1, 1, 50);
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("slow"));
+        assertEquals(1, encoder.getRejected());
+    }
+
+    // Simula o custo do PBKDF2 bloqueando até o teste liberar
+    private class BlockingEncoder implements PasswordEncoder {
+
+        private final boolean block;
+
+        BlockingEncoder(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            if (block) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.security.jwt.JwtTokenFilter;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.VerifiedToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider provider;
+
+    private EntityCache<String, VerifiedToken> cache;
+
+    @BeforeEach
+    void setUp() {
+        // O issuer do access token vem da requisição atual
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        cache = new EntityCache<>("jwt", 100, Duration.ofSeconds(60));
+        provider = newProvider(3600000L, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authoritiesComeFromTheRolesClaim() {
+        String token = provider.createAcessToken("leandro", List.of("ADMIN", "MANAGER")).getAccessToken();
+
+        var authentication = provider.getAuthentication(token);
+
+        assertNotNull(authentication);
+        assertEquals("leandro", authentication.getName());
+        assertEquals(List.of("ADMIN", "MANAGER"), authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
+
+    @Test
+    void verifiedTokensAreCached() {
+        String token = provider.createAcessToken("leandro", List.of("ADMIN")).getAccessToken();
+
+        assertSame(provider.getAuthentication(token), provider.getAuthentication(token));
+        // As estatísticas do cache injetado são as expostas em /api/cache/v1
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = provider.createAcessToken("leandro", List.of("ADMIN")).getAccessToken();
+
+        assertNull(provider.getAuthentication(token.substring(0, token.length() - 2) + "xx"));
+        assertNull(provider.getAuthentication("not-a-jwt"));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        var expired = newProvider(-1000L, new EntityCache<>("jwt", 100, Duration.ofSeconds(60)));
+        String token = expired.createAcessToken("leandro", List.of("ADMIN")).getAccessToken();
+
+        assertNull(expired.getAuthentication(token));
+    }
+
+    @Test
+    void filterAuthenticatesFromTheTokenAlone() throws Exception {
+        String token = provider.createAcessToken("leandro", List.of("ADMIN")).getAccessToken();
+
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+
+        // Não há UserDetailsService: a autenticação não depende do banco
+        new JwtTokenFilter(provider).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("leandro", authentication.getName());
+    }
+
+    private static JwtTokenProvider newProvider(long validityInMilliseconds, EntityCache<String, VerifiedToken> cache) {
+        var provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "verifiedTokens", cache);
+        ReflectionTestUtils.setField(provider, "secretKey", "53cr37");
+        ReflectionTestUtils.setField(provider, "validityInMilliseconds", validityInMilliseconds);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.security.password.Pbkdf2PasswordEncoders;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Pbkdf2PasswordEncodersTest {
+
+    @Test
+    void hashesCarryTheirCost() {
+        var encoder = Pbkdf2PasswordEncoders.create(1000);
+
+        String hash = encoder.encode("admin123");
+
+        assertTrue(hash.startsWith("{pbkdf2-1000}"));
+        assertTrue(encoder.matches("admin123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void legacyHashesStillMatchAndAreUpgraded() {
+        var legacy = Pbkdf2PasswordEncoders.create(Pbkdf2PasswordEncoders.LEGACY_ITERATIONS);
+        String legacyHash = legacy.encode("admin123");
+        assertTrue(legacyHash.startsWith("{pbkdf2}"));
+
+        var encoder = Pbkdf2PasswordEncoders.create(1000);
+
+        assertTrue(encoder.matches("admin123", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void hashesWithoutPrefixUseTheLegacyCost() {
+        String unprefixed = new Pbkdf2PasswordEncoder("", 8, Pbkdf2PasswordEncoders.LEGACY_ITERATIONS,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("admin123");
+
+        assertTrue(Pbkdf2PasswordEncoders.create(1000).matches("admin123", unprefixed));
+    }
+
+    @Test
+    void hashesFromAPreviousCostStillMatch() {
+        String previous = Pbkdf2PasswordEncoders.create(2000).encode("admin123");
+
+        var encoder = Pbkdf2PasswordEncoders.create(1000);
+
+        assertTrue(encoder.matches("admin123", previous));
+        assertFalse(encoder.matches("wrong", previous));
+        assertTrue(encoder.upgradeEncoding(previous));
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.erudio.unittests.services;
+
+import br.com.erudio.services.ApproximateCountCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApproximateCountCacheTest {
+
+    @Test
+    void countsOncePerTtl() {
+        ApproximateCountCache cache = new ApproximateCountCache();
+        cache.setTtlSeconds(60);
+        AtomicLong queries = new AtomicLong();
+
+        assertEquals(100, cache.get("person", () -> { queries.incrementAndGet(); return 100; }));
+        assertEquals(100, cache.get("person", () -> { queries.incrementAndGet(); return 200; }));
+        assertEquals(1, queries.get());
+
+        // Chaves independentes
+        assertEquals(7, cache.get("books", () -> 7));
+    }
+
+    @Test
+    void refreshesAfterTtlAndKeepsOldValueOnFailure() throws InterruptedException {
+        ApproximateCountCache cache = new ApproximateCountCache();
+        cache.setTtlSeconds(0);
+
+        assertEquals(100, cache.get("person", () -> 100));
+        Thread.sleep(5);
+        assertEquals(150, cache.get("person", () -> 150));
+        Thread.sleep(5);
+        assertEquals(150, cache.get("person", () -> { throw new IllegalStateException("Database is down!"); }));
+    }
+}
@@ -1,9 +1,15 @@
 package br.com.erudio.unittests.services;
 
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.cache.ExportCache;
 import br.com.erudio.data.dto.v1.BookDTO;
 import br.com.erudio.exception.RequiredObjectIsNullException;
+import br.com.erudio.hateoas.BookLinks;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.custom.BookMapper;
 import br.com.erudio.model.Book;
 import br.com.erudio.repository.BookRepository;
+import br.com.erudio.services.ApproximateCountCache;
 import br.com.erudio.services.BookService;
 import br.com.erudio.unittests.mapper.mocks.MockBook;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +20,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -35,10 +43,26 @@ class BookServiceTest {
     @Mock
     BookRepository repository;
 
+    @Spy
+    BookLinks links = new BookLinks();
+
+    @Spy
+    EntityMapper<Book, BookDTO> mapper = new BookMapper();
+
+    @Spy
+    EntityCache<Long, Book> cache = new EntityCache<>("book", 100, Duration.ofMinutes(5));
+
+    @Mock
+    ExportCache exportCache;
+
+    @Mock
+    ApproximateCountCache approximateCounts;
+
     @BeforeEach
     void setUp() {
         input = new MockBook();
         MockitoAnnotations.openMocks(this);
+        cache.clear();
     }
 
     @Test
@@ -245,6 +269,19 @@ class BookServiceTest {
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    void createAndDeleteInvalidateTheApproximateCount() {
+        Book book = input.mockEntity(1);
+        book.setId(1L);
+        when(repository.save(any(Book.class))).thenReturn(book);
+        when(repository.findById(1L)).thenReturn(Optional.of(book));
+
+        service.create(input.mockDTO(1));
+        service.delete(1L);
+
+        verify(approximateCounts, times(2)).invalidate("books");
+    }
+
     @Test
     @Disabled("REASON: Still Under Development")
     void findAll() {
@@ -0,0 +1,147 @@
+package br.com.erudio.unittests.services;
+
+import br.com.erudio.config.EmailConfig;
+import br.com.erudio.config.EmailOutboxConfig;
+import br.com.erudio.file.storage.RetainedFile;
+import br.com.erudio.mail.EmailAttachment;
+import br.com.erudio.mail.EmailDelivery;
+import br.com.erudio.mail.EmailMessage;
+import br.com.erudio.mail.EmailOutbox;
+import br.com.erudio.mail.EmailSender;
+import br.com.erudio.services.EmailService;
+import br.com.erudio.services.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    private static final String REQUEST = "{\"to\":\"ada@erudio.com.br\",\"subject\":\"Report\",\"body\":\"<p>Report</p>\"}";
+
+    @InjectMocks
+    private EmailService service;
+
+    @Spy
+    EmailSender emailSender = new EmailSender(null, new EmailConfig());
+
+    @Spy
+    EmailOutboxConfig config = new EmailOutboxConfig();
+
+    @Mock
+    EmailOutbox outbox;
+
+    @Mock
+    FileStorageService fileStorageService;
+
+    @TempDir
+    Path spool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config.setAttachmentMaxInMemoryBytes(10);
+        config.setAttachmentsMaxTotalInMemoryBytes(15);
+
+        lenient().when(fileStorageService.spoolUpload(any())).thenAnswer(invocation -> {
+            Path file = spool.resolve(UUID.randomUUID() + ".part");
+            invocation.<MultipartFile>getArgument(0).transferTo(file.toFile());
+            return file;
+        });
+
+        lenient().when(outbox.submit(any())).thenAnswer(invocation -> new EmailDelivery(invocation.getArgument(0)));
+    }
+
+    @Test
+    void smallUploadsAreKeptInMemory() {
+        var attachment = send(upload(10)).getAttachments().get(0);
+
+        assertInstanceOf(ByteArrayResource.class, attachment.getSource());
+    }
+
+    @Test
+    void largeUploadsStayOnDiskAndAreDeletedAfterSending() throws Exception {
+        var attachment = send(upload(11)).getAttachments().get(0);
+
+        Path file = ((FileSystemResource) attachment.getSource()).getFile().toPath();
+        assertTrue(Files.exists(file));
+        assertEquals(spool, file.getParent());
+
+        attachment.discard();
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void inMemoryAttachmentsShareATotalLimit() {
+        var first = send(upload(10)).getAttachments().get(0);
+        var second = send(upload(10)).getAttachments().get(0);
+
+        assertInstanceOf(ByteArrayResource.class, first.getSource());
+        assertInstanceOf(FileSystemResource.class, second.getSource());
+        second.discard();
+
+        // O envio do primeiro libera espaço para o próximo
+        first.discard();
+        assertInstanceOf(ByteArrayResource.class, send(upload(10)).getAttachments().get(0).getSource());
+    }
+
+    @Test
+    void storedFilesAreAttachedInPlace() throws Exception {
+        Path stored = Files.createTempFile("stored-", ".pdf");
+        try {
+            var released = new AtomicBoolean();
+            when(fileStorageService.retainLocalFile("report.pdf"))
+                    .thenReturn(Optional.of(new RetainedFile(stored, () -> released.set(true))));
+
+            String request = "{\"to\":\"ada@erudio.com.br\",\"subject\":\"Report\",\"body\":\"<p>Report</p>\",\"attachments\":[\"report.pdf\"]}";
+            service.setEmailWithAttachment(request, upload(1));
+
+            EmailMessage message = captureMessage();
+            assertEquals(2, message.getAttachments().size());
+
+            EmailAttachment storedAttachment = message.getAttachments().get(0);
+            assertEquals(stored, ((FileSystemResource) storedAttachment.getSource()).getFile().toPath());
+
+            storedAttachment.discard();
+            assertTrue(Files.exists(stored));
+            assertTrue(released.get(), "the storage reservation is returned after sending");
+        } finally {
+            Files.deleteIfExists(stored);
+        }
+    }
+
+    private EmailMessage send(MockMultipartFile upload) {
+        clearInvocations(outbox);
+        service.setEmailWithAttachment(REQUEST, upload);
+        return captureMessage();
+    }
+
+    private EmailMessage captureMessage() {
+        ArgumentCaptor<EmailMessage> captor = ArgumentCaptor.forClass(EmailMessage.class);
+        verify(outbox).submit(captor.capture());
+        return captor.getValue();
+    }
+
+    private static MockMultipartFile upload(int size) {
+        return new MockMultipartFile("attachment", "report.pdf", "application/pdf", new byte[size]);
+    }
+}
@@ -0,0 +1,349 @@
+package br.com.erudio.unittests.services;
+
+import br.com.erudio.config.FileStorageConfig;
+import br.com.erudio.exception.FileNotFoundException;
+import br.com.erudio.exception.FileStorageException;
+import br.com.erudio.file.storage.FileSystemStorageBackend;
+import br.com.erudio.file.storage.InMemoryStorageBackend;
+import br.com.erudio.file.storage.StorageMode;
+import br.com.erudio.file.storage.StoredFile;
+import br.com.erudio.services.FileStorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileStorageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(uploadDir.toString());
+        config.setUploadThreads(2);
+        config.setUploadQueueCapacity(8);
+
+        service = new FileStorageService(config, new FileSystemStorageBackend(uploadDir));
+        ReflectionTestUtils.invokeMethod(service, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    @Test
+    void storeFileMovesTheUploadIntoPlace() throws Exception {
+        var file = new MockMultipartFile("file", "report.txt", "text/plain", "hello".getBytes(StandardCharsets.UTF_8));
+
+        StoredFile stored = service.storeFile(file);
+
+        assertEquals("report.txt", stored.fileName());
+        assertEquals(5, stored.size());
+        assertEquals("hello", Files.readString(uploadDir.resolve("report.txt")));
+        assertIncomingIsEmpty();
+    }
+
+    @Test
+    void spoolUploadMovesTheMultipartFile() throws Exception {
+        Path tomcatSpool = Files.writeString(uploadDir.resolve(FileStorageService.INCOMING_DIR).resolve("upload_1.tmp"), "attachment");
+        Object fileKey = Files.readAttributes(tomcatSpool, BasicFileAttributes.class).fileKey();
+
+        Path spooled = service.spoolUpload(new SpooledMultipartFile("report.pdf", tomcatSpool));
+
+        // Renomeado: o temporário do multipart some e o arquivo é o mesmo inode
+        assertFalse(Files.exists(tomcatSpool));
+        assertEquals("attachment", Files.readString(spooled));
+        assertEquals(fileKey, Files.readAttributes(spooled, BasicFileAttributes.class).fileKey());
+        Files.delete(spooled);
+    }
+
+    @Test
+    void storeFileMovesTheSpooledUpload() throws Exception {
+        Path tomcatSpool = Files.writeString(uploadDir.resolve(FileStorageService.INCOMING_DIR).resolve("upload_2.tmp"), "hello");
+        Object fileKey = Files.readAttributes(tomcatSpool, BasicFileAttributes.class).fileKey();
+
+        service.storeFile(new SpooledMultipartFile("report.txt", tomcatSpool));
+
+        assertFalse(Files.exists(tomcatSpool));
+        assertEquals("hello", Files.readString(uploadDir.resolve("report.txt")));
+        assertEquals(fileKey, Files.readAttributes(uploadDir.resolve("report.txt"), BasicFileAttributes.class).fileKey());
+        assertIncomingIsEmpty();
+    }
+
+    @Test
+    void storeFileReplacesAnExistingFile() throws Exception {
+        Files.writeString(uploadDir.resolve("report.txt"), "old content");
+
+        service.storeFile(new MockMultipartFile("file", "report.txt", "text/plain", "new".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("new", Files.readString(uploadDir.resolve("report.txt")));
+    }
+
+    @Test
+    void storeStreamWritesTheBodyToDisk() throws Exception {
+        byte[] content = new byte[256 * 1024];
+        content[content.length - 1] = 42;
+
+        StoredFile stored = service.storeStream("big.bin", new ByteArrayInputStream(content));
+
+        assertEquals(content.length, stored.size());
+        assertArrayEquals(content, Files.readAllBytes(uploadDir.resolve("big.bin")));
+        assertTrue(stored.bytesPerSecond() > 0);
+        assertIncomingIsEmpty();
+    }
+
+    @Test
+    void invalidFileNameIsRejected() {
+        Exception exception = assertThrows(FileStorageException.class,
+                () -> service.storeStream("../escape.txt", new ByteArrayInputStream(new byte[1])));
+
+        assertTrue(exception.getMessage().contains("Invalid path Sequence"));
+        assertFalse(Files.exists(uploadDir.resolveSibling("escape.txt")));
+        assertIncomingIsEmpty();
+    }
+
+    @Test
+    void storeFilesKeepsTheRequestOrder() throws Exception {
+        MultipartFile[] files = new MultipartFile[6];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = new MockMultipartFile("files", "file" + i + ".txt", "text/plain",
+                    ("content " + i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<StoredFile> stored = service.storeFiles(files);
+
+        assertEquals(files.length, stored.size());
+        for (int i = 0; i < files.length; i++) {
+            assertEquals("file" + i + ".txt", stored.get(i).fileName());
+            assertEquals("content " + i, Files.readString(uploadDir.resolve("file" + i + ".txt")));
+        }
+    }
+
+    @Test
+    void storeFilesWritesInTheRequestThreadWhenTheQueueIsFull() throws Exception {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(uploadDir.toString());
+        config.setUploadThreads(1);
+        config.setUploadQueueCapacity(1);
+        service = new FileStorageService(config, new FileSystemStorageBackend(uploadDir));
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        // O primeiro arquivo ocupa a única thread até que a requisição grave um arquivo por conta própria
+        String requestThread = Thread.currentThread().getName();
+        var released = new CountDownLatch(1);
+        Map<String, String> writers = new ConcurrentHashMap<>();
+        MultipartFile[] files = new MultipartFile[4];
+        for (int i = 0; i < files.length; i++) {
+            String name = "file" + i + ".txt";
+            boolean blocking = i == 0;
+            files[i] = new MockMultipartFile("files", name, "text/plain", name.getBytes(StandardCharsets.UTF_8)) {
+                @Override
+                public void transferTo(File dest) throws IOException {
+                    writers.put(name, Thread.currentThread().getName());
+                    if (blocking) {
+                        try {
+                            released.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    } else if (Thread.currentThread().getName().equals(requestThread)) {
+                        released.countDown();
+                    }
+                    super.transferTo(dest);
+                }
+            };
+        }
+
+        List<StoredFile> stored = service.storeFiles(files);
+
+        assertEquals(files.length, stored.size());
+        assertTrue(writers.get("file0.txt").startsWith("file-upload-"));
+        assertEquals(requestThread, writers.get("file2.txt"));
+        for (int i = 0; i < files.length; i++) {
+            assertEquals("file" + i + ".txt", Files.readString(uploadDir.resolve("file" + i + ".txt")));
+        }
+    }
+
+    @Test
+    void storeFilesPropagatesTheFailure() {
+        MultipartFile[] files = {
+                new MockMultipartFile("files", "ok.txt", "text/plain", new byte[]{1}),
+                new MockMultipartFile("files", "../bad.txt", "text/plain", new byte[]{1})
+        };
+
+        assertThrows(FileStorageException.class, () -> service.storeFiles(files));
+    }
+
+    @Test
+    void contentAddressedModeStoresRepeatedUploadsOnce() throws Exception {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(uploadDir.resolve("cas").toString());
+        config.setStorageMode(StorageMode.CONTENT_ADDRESSED);
+        var contentAddressed = new FileStorageService(config, new FileSystemStorageBackend(uploadDir.resolve("cas")));
+
+        contentAddressed.storeFile(new MockMultipartFile("file", "a.pdf", "application/pdf", new byte[]{1, 2, 3}));
+        contentAddressed.storeStream("b.pdf", new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        Path a = contentAddressed.localFile("a.pdf").orElseThrow();
+        assertEquals(a, contentAddressed.localFile("b.pdf").orElseThrow());
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(a));
+        assertFalse(Files.exists(uploadDir.resolve("cas/a.pdf")));
+        assertThrows(FileNotFoundException.class, () -> contentAddressed.localFile("c.pdf"));
+    }
+
+    @Test
+    void contentAddressedModeRequiresTheFilesystemBackend() {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(uploadDir.toString());
+        config.setStorageMode(StorageMode.CONTENT_ADDRESSED);
+
+        assertThrows(FileStorageException.class, () -> new FileStorageService(config, new InMemoryStorageBackend()));
+    }
+
+    @Test
+    void remoteBackendFilesAreServedThroughTheBackend() throws Exception {
+        FileStorageConfig config = new FileStorageConfig();
+        config.setUploadDir(uploadDir.toString());
+        var backend = new InMemoryStorageBackend();
+        var remote = new FileStorageService(config, backend);
+
+        remote.storeFile(new MockMultipartFile("file", "docs/report.txt", "text/plain", "0123456789".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(10, backend.stat("docs/report.txt").orElseThrow().size());
+        assertTrue(remote.localFile("docs/report.txt").isEmpty());
+        assertFalse(Files.exists(uploadDir.resolve("docs/report.txt")));
+        assertIncomingIsEmpty();
+
+        var source = remote.openStoredFile("docs/report.txt");
+        assertNull(source.localFile());
+        assertEquals(10, source.size());
+
+        Path copy = remote.copyToTempFile("docs/report.txt");
+        assertEquals("0123456789", Files.readString(copy));
+        Files.delete(copy);
+
+        assertThrows(FileNotFoundException.class, () -> remote.openStoredFile("missing.txt"));
+    }
+
+    @Test
+    void textUploadsGetAGzipVariant() throws Exception {
+        String csv = "id,first_name,last_name\n".repeat(500);
+
+        service.storeStream("people.csv", new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        var variant = service.openPrecompressed("people.csv").orElseThrow();
+        assertTrue(variant.size() < csv.length() / 10);
+        try (var in = new GZIPInputStream(Files.newInputStream(variant.localFile()))) {
+            assertEquals(csv, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertIncomingIsEmpty();
+    }
+
+    @Test
+    void replacingAFileDropsItsStaleVariant() throws Exception {
+        service.storeStream("notes.txt", new ByteArrayInputStream("a".repeat(4096).getBytes(StandardCharsets.UTF_8)));
+        assertTrue(service.openPrecompressed("notes.txt").isPresent());
+
+        service.storeStream("notes.txt", new ByteArrayInputStream("short".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(service.openPrecompressed("notes.txt").isEmpty());
+    }
+
+    @Test
+    void binaryUploadsAreNotPrecompressed() {
+        service.storeStream("archive.zip", new ByteArrayInputStream(new byte[8192]));
+
+        assertTrue(service.openPrecompressed("archive.zip").isEmpty());
+    }
+
+    private void assertIncomingIsEmpty() throws Exception {
+        try (Stream<Path> incoming = Files.list(uploadDir.resolve(FileStorageService.INCOMING_DIR))) {
+            assertEquals(0, incoming.count());
+        }
+    }
+
+    // Upload já gravado no spool, como o Part do Tomcat: transferTo(File) renomeia o arquivo
+    // (Part.write) e transferTo(Path), que herda o padrão do MultipartFile, copia o conteúdo
+    private static final class SpooledMultipartFile implements MultipartFile {
+
+        private final String originalFilename;
+        private final Path file;
+
+        private SpooledMultipartFile(String originalFilename, Path file) {
+            this.originalFilename = originalFilename;
+            this.file = file;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return originalFilename;
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/octet-stream";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.move(file, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
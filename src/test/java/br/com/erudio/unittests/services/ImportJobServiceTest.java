@@ -0,0 +1,211 @@
+package br.com.erudio.unittests.services;
+
+import br.com.erudio.config.ImportConfig;
+import br.com.erudio.data.dto.v1.ImportJobDTO;
+import br.com.erudio.exception.ResourceNotFoundException;
+import br.com.erudio.exception.ServiceUnavailableException;
+import br.com.erudio.file.importer.ImportProgress;
+import br.com.erudio.file.importer.contract.FileImporter;
+import br.com.erudio.file.importer.factory.FileImporterFactory;
+import br.com.erudio.services.FileStorageService;
+import br.com.erudio.services.ImportJobService;
+import br.com.erudio.services.PersonImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @InjectMocks
+    private ImportJobService service;
+
+    @Mock
+    PersonImportService importService;
+
+    @Mock
+    FileImporterFactory importerFactory;
+
+    @Mock
+    FileImporter fileImporter;
+
+    @Mock
+    FileStorageService fileStorageService;
+
+    @Spy
+    ImportConfig config = new ImportConfig();
+
+    @TempDir
+    Path spool;
+
+    // Segura as importações em andamento até o teste liberar
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config.setWorkerThreads(1);
+        config.setQueueCapacity(1);
+
+        lenient().when(importerFactory.getImporter(anyString())).thenReturn(fileImporter);
+        lenient().when(importService.newProgress()).thenAnswer(invocation -> new ImportProgress(10));
+        lenient().when(fileStorageService.spoolUpload(any())).thenAnswer(invocation -> {
+            Path file = spool.resolve(UUID.randomUUID() + ".part");
+            invocation.<MultipartFile>getArgument(0).transferTo(file.toFile());
+            return file;
+        });
+
+        ReflectionTestUtils.invokeMethod(service, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    @Test
+    void submittedJobRunsInTheBackgroundAndCompletes() throws Exception {
+        doAnswer(invocation -> {
+            InputStream in = invocation.getArgument(1);
+            ImportProgress progress = invocation.getArgument(2);
+            in.readAllBytes();
+            progress.rowRead();
+            progress.rowRead();
+            progress.rowsImported(1);
+            progress.rowFailed(3, "First name is required!");
+            return null;
+        }).when(importService).importPeople(any(FileImporter.class), any(InputStream.class), any(ImportProgress.class));
+
+        ImportJobDTO submitted = service.submit(csv("people.csv"));
+
+        assertNotNull(submitted.getJobId());
+        assertEquals("people.csv", submitted.getFileName());
+
+        ImportJobDTO finished = await(submitted.getJobId(), job -> "COMPLETED".equals(job.getStatus()));
+        assertEquals(2, finished.getRowsRead());
+        assertEquals(1, finished.getRowsImported());
+        assertEquals(1, finished.getRowsFailed());
+        assertEquals(3, finished.getFailures().get(0).getLineNumber());
+        assertNotNull(finished.getFinishedAt());
+        assertNull(finished.getEtaMillis());
+    }
+
+    @Test
+    void failedImportIsReported() throws Exception {
+        doThrow(new IllegalStateException("Broken file!"))
+                .when(importService).importPeople(any(FileImporter.class), any(InputStream.class), any(ImportProgress.class));
+
+        ImportJobDTO submitted = service.submit(csv("people.csv"));
+
+        ImportJobDTO failed = await(submitted.getJobId(), job -> "FAILED".equals(job.getStatus()));
+        assertEquals("Broken file!", failed.getErrorMessage());
+    }
+
+    @Test
+    void fullQueueRejectsNewJobs() throws Exception {
+        blockImports();
+
+        // Um job na thread do pool e um na fila (capacidade 1)
+        ImportJobDTO running = service.submit(csv("first.csv"));
+        await(running.getJobId(), job -> "RUNNING".equals(job.getStatus()));
+        ImportJobDTO queued = service.submit(csv("second.csv"));
+        assertEquals("QUEUED", queued.getStatus());
+
+        var third = csv("third.csv");
+        assertThrows(ServiceUnavailableException.class, () -> service.submit(third));
+        // A vaga é reservada antes de gravar o upload: o job recusado não vai para o disco
+        verify(fileStorageService, never()).spoolUpload(third);
+
+        release.countDown();
+        await(queued.getJobId(), job -> "COMPLETED".equals(job.getStatus()));
+    }
+
+    @Test
+    void finishedJobsReturnTheirSlotAndSpoolFile() throws Exception {
+        // Capacidade 2 (uma thread e uma vaga na fila): jobs em sequência nunca são recusados
+        for (int i = 0; i < 5; i++) {
+            ImportJobDTO job = service.submit(csv("people" + i + ".csv"));
+            await(job.getJobId(), dto -> "COMPLETED".equals(dto.getStatus()));
+        }
+
+        // O arquivo é apagado no finally do job, logo depois do status COMPLETED
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (spoolFiles() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, spoolFiles());
+    }
+
+    @Test
+    void finishedJobsAreEvictedAfterTheRetention() throws Exception {
+        config.setJobRetentionMinutes(0);
+
+        ImportJobDTO first = service.submit(csv("first.csv"));
+        await(first.getJobId(), job -> "COMPLETED".equals(job.getStatus()));
+        Thread.sleep(5);
+
+        // A limpeza roda a cada submissão
+        ImportJobDTO second = service.submit(csv("second.csv"));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.findById(first.getJobId()));
+        assertEquals(second.getJobId(), service.findById(second.getJobId()).getJobId());
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        assertThrows(ResourceNotFoundException.class, () -> service.findById("missing"));
+    }
+
+    private void blockImports() throws Exception {
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(importService).importPeople(any(FileImporter.class), any(InputStream.class), any(ImportProgress.class));
+    }
+
+    private long spoolFiles() throws IOException {
+        try (var files = Files.list(spool)) {
+            return files.count();
+        }
+    }
+
+    private ImportJobDTO await(String jobId, Predicate<ImportJobDTO> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ImportJobDTO job = service.findById(jobId);
+        while (!condition.test(job) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = service.findById(jobId);
+        }
+        assertTrue(condition.test(job), "Unexpected job status " + job.getStatus());
+        return job;
+    }
+
+    private static MockMultipartFile csv(String name) {
+        return new MockMultipartFile("file", name, "text/csv",
+                "first_name,last_name\nAda,Lovelace\n".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.erudio.unittests.services;
+
+import br.com.erudio.exception.BadRequestException;
+import br.com.erudio.services.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTrip() {
+        String cursor = KeysetCursor.encode("Ayrton: the 3rd", 42L, Sort.Direction.DESC);
+
+        assertEquals(ScrollPosition.forward(Map.of("firstName", "Ayrton: the 3rd", "id", 42L)),
+                KeysetCursor.toPosition(cursor, "firstName", Sort.Direction.DESC));
+        assertFalse(cursor.contains("="), "cursor must be URL safe");
+    }
+
+    @Test
+    void withoutCursorStartsAtTheFirstPage() {
+        assertTrue(KeysetCursor.toPosition(null, "title", Sort.Direction.ASC).isInitial());
+        assertTrue(KeysetCursor.toPosition(" ", "title", Sort.Direction.ASC).isInitial());
+    }
+
+    @Test
+    void invalidCursor() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.toPosition("not a cursor!", "title", Sort.Direction.ASC));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.toPosition("bm9zZXBhcmF0b3I", "title", Sort.Direction.ASC));
+        // Formato anterior, sem a direção: "42:Ayrton"
+        assertThrows(BadRequestException.class, () -> KeysetCursor.toPosition("NDI6QXlydG9u", "title", Sort.Direction.ASC));
+    }
+
+    @Test
+    void cursorFromTheOtherDirectionIsRejected() {
+        String cursor = KeysetCursor.encode("Ayrton", 42L, Sort.Direction.ASC);
+
+        var e = assertThrows(BadRequestException.class, () -> KeysetCursor.toPosition(cursor, "title", Sort.Direction.DESC));
+        assertEquals("Cursor does not match the sort direction!", e.getMessage());
+    }
+}
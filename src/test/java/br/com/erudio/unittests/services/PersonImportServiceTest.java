@@ -0,0 +1,210 @@
+package br.com.erudio.unittests.services;
+
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.cache.ExportCache;
+import br.com.erudio.config.ImportConfig;
+import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.file.importer.ImportedRow;
+import br.com.erudio.file.importer.contract.FileImporter;
+import br.com.erudio.model.Person;
+import br.com.erudio.repository.PersonBatchWriter;
+import br.com.erudio.services.ApproximateCountCache;
+import br.com.erudio.services.PersonImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@ExtendWith(MockitoExtension.class)
+class PersonImportServiceTest {
+
+    @InjectMocks
+    private PersonImportService service;
+
+    @Mock
+    PersonBatchWriter writer;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Spy
+    ImportConfig config = new ImportConfig();
+
+    @Mock
+    EntityCache<Long, Person> personCache;
+
+    @Mock
+    ApproximateCountCache approximateCounts;
+
+    @Mock
+    ExportCache exportCache;
+
+    @BeforeEach
+    void setUp() {
+        config.setBatchSize(2);
+        config.setCommitInterval(2);
+        // Caminho sequencial: a divisão em chunks é determinística (o pipeline é testado em ImportPipelineTest)
+        config.setValidatorThreads(0);
+
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        ReflectionTestUtils.invokeMethod(service, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+    }
+
+    @Test
+    void importPeopleInChunks() throws Exception {
+        FileImporter importer = importerOf(
+                person("Ayrton", "Senna"),
+                person("Ada", "Lovelace"),
+                person("", "Nobody"),
+                person("Alan", "Turing"),
+                person("Grace", "Hopper"),
+                person("Linus", "Torvalds")
+        );
+
+        var summary = service.importPeople(importer, new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(6, summary.getTotalRows());
+        assertEquals(5, summary.getImportedRows());
+        assertEquals(1, summary.getFailedRows());
+        assertEquals(1, summary.getFailures().size());
+        assertEquals(4, summary.getFailures().get(0).getLineNumber());
+        assertEquals("First name is required!", summary.getFailures().get(0).getMessage());
+
+        verify(writer, times(3)).insertAll(anyList(), eq(2));
+        verify(writer, never()).insert(any());
+
+        verify(personCache).clear();
+        verify(approximateCounts).invalidate("person");
+        verify(exportCache).invalidate();
+    }
+
+    @Test
+    void importPeopleIsolatesFailedRowsOfAChunk() throws Exception {
+        var ayrton = person("Ayrton", "Senna");
+        var ada = person("Ada", "Lovelace");
+
+        doThrow(new DataIntegrityViolationException("Duplicated!")).when(writer).insertAll(anyList(), anyInt());
+        doThrow(new DataIntegrityViolationException("Duplicated!")).when(writer).insert(ada);
+
+        var summary = service.importPeople(importerOf(ayrton, ada), new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(2, summary.getTotalRows());
+        assertEquals(1, summary.getImportedRows());
+        assertEquals(1, summary.getFailedRows());
+        assertEquals(3, summary.getFailures().get(0).getLineNumber());
+
+        verify(writer).insert(ayrton);
+        verify(writer).insert(ada);
+    }
+
+    @Test
+    void importPeopleInPipeline() throws Exception {
+        config.setValidatorThreads(2);
+        config.setWriterThreads(2);
+
+        FileImporter importer = importerOf(
+                person("Ayrton", "Senna"),
+                person("Ada", "Lovelace"),
+                person("", "Nobody"),
+                person("Alan", "Turing"),
+                person("Grace", "Hopper")
+        );
+
+        var summary = service.importPeople(importer, new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(5, summary.getTotalRows());
+        assertEquals(4, summary.getImportedRows());
+        assertEquals(1, summary.getFailedRows());
+        assertEquals(4, summary.getFailures().get(0).getLineNumber());
+        assertEquals(List.of("read", "validate", "write"),
+                summary.getStages().stream().map(stage -> stage.getName()).toList());
+
+        verify(writer, atLeast(2)).insertAll(anyList(), eq(2));
+    }
+
+    @Test
+    void pipelineRunsSequentiallyWhenTheSharedThreadsAreTaken() throws Exception {
+        config.setValidatorThreads(2);
+        config.setWriterThreads(2);
+        // Menos threads compartilhadas que um pipeline precisa
+        config.setPipelineMaxThreads(3);
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        var summary = service.importPeople(importerOf(person("Ayrton", "Senna"), person("Ada", "Lovelace")),
+                new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(2, summary.getImportedRows());
+        assertTrue(summary.getStages().isEmpty());
+    }
+
+    @Test
+    void concurrentWritersAreCapped() throws Exception {
+        config.setValidatorThreads(2);
+        config.setWriterThreads(3);
+        config.setMaxConcurrentWriters(1);
+        ReflectionTestUtils.invokeMethod(service, "shutdown");
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            active.decrementAndGet();
+            return null;
+        }).when(writer).insertAll(anyList(), anyInt());
+
+        List<PersonDTO> people = new ArrayList<>();
+        for (int i = 0; i < 40; i++) people.add(person("Person " + i, "Doe"));
+
+        var summary = service.importPeople(importerOf(people.toArray(PersonDTO[]::new)), new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(40, summary.getImportedRows());
+        assertEquals(1, maxActive.get());
+    }
+
+    private static FileImporter importerOf(PersonDTO... people) {
+        List<PersonDTO> rows = List.of(people);
+        return (inputStream, consumer) -> {
+            for (int i = 0; i < rows.size(); i++) {
+                consumer.accept(new ImportedRow(i + 2, rows.get(i)));
+            }
+        };
+    }
+
+    private static PersonDTO person(String firstName, String lastName) {
+        return new PersonDTO(null, firstName, lastName, "Some Street", "Male", true);
+    }
+
+}
@@ -1,9 +1,19 @@
 package br.com.erudio.unittests.services;
 
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.cache.ExportCache;
 import br.com.erudio.data.dto.v1.PersonDTO;
+import br.com.erudio.exception.BadRequestException;
 import br.com.erudio.exception.RequiredObjectIsNullException;
+import br.com.erudio.exception.ResourceNotFoundException;
+import br.com.erudio.file.exporter.MediaTypes;
+import br.com.erudio.hateoas.PersonLinks;
+import br.com.erudio.mapper.EntityMapper;
+import br.com.erudio.mapper.custom.PersonMapper;
 import br.com.erudio.model.Person;
 import br.com.erudio.repository.PersonRepository;
+import br.com.erudio.services.KeysetCursor;
+import br.com.erudio.services.ApproximateCountCache;
 import br.com.erudio.services.PersonService;
 import br.com.erudio.unittests.mapper.mocks.MockPerson;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,13 +24,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.data.web.SlicedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
+
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -35,10 +61,32 @@ class PersonServiceTest {
     @Mock
     PersonRepository repository;
 
+    @Spy
+    PersonLinks links = new PersonLinks();
+
+    @Spy
+    EntityMapper<Person, PersonDTO> mapper = new PersonMapper();
+
+    @Spy
+    EntityCache<Long, Person> cache = new EntityCache<>("person", 100, Duration.ofMinutes(5));
+
+    @Mock
+    ExportCache exportCache;
+
+    @Mock
+    ApproximateCountCache approximateCounts;
+
+    @Mock
+    PagedResourcesAssembler<PersonDTO> assembler;
+
+    @Mock
+    SlicedResourcesAssembler<PersonDTO> slicedAssembler;
+
     @BeforeEach
     void setUp() {
         input = new MockPerson();
         MockitoAnnotations.openMocks(this);
+        cache.clear();
     }
 
     @Test
@@ -244,6 +292,60 @@ class PersonServiceTest {
     }
 
 
+    @Test
+    void findByIdIsServedFromTheCache() {
+        Person person = input.mockEntity(1);
+        person.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(person));
+
+        var first = service.findById(1L);
+        var second = service.findById(1L);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void updateInvalidatesTheCachedPerson() {
+        Person person = input.mockEntity(1);
+        person.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(person));
+        when(repository.save(person)).thenReturn(person);
+
+        service.findById(1L);
+        service.update(input.mockDTO(1));
+        service.findById(1L);
+
+        // findById, busca do update e nova leitura depois da invalidação
+        verify(repository, times(3)).findById(1L);
+        verify(cache).invalidate(1L);
+    }
+
+    @Test
+    void disablePersonReadsThePersonWithoutCachingIt() {
+        Person person = input.mockEntity(1);
+        person.setId(1L);
+        person.setEnabled(false);
+        when(repository.disablePerson(1L)).thenReturn(1);
+        when(repository.findById(1L)).thenReturn(Optional.of(person));
+
+        var result = service.disablePerson(1L);
+
+        assertFalse(result.getEnabled());
+        verify(cache).invalidate(1L);
+        verify(cache, never()).get(anyLong(), any());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void disablePersonWithUnknownId() {
+        when(repository.disablePerson(99L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.disablePerson(99L));
+        verify(repository, never()).findById(anyLong());
+    }
+
     @Test
     void delete() {
 
@@ -257,6 +359,57 @@ class PersonServiceTest {
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    void createAndDeleteInvalidateTheApproximateCount() {
+        Person person = input.mockEntity(1);
+        person.setId(1L);
+        when(repository.save(any(Person.class))).thenReturn(person);
+        when(repository.findById(1L)).thenReturn(Optional.of(person));
+
+        service.create(input.mockDTO(1));
+        service.delete(1L);
+
+        verify(approximateCounts, times(2)).invalidate("person");
+    }
+
+    @Test
+    void deleteInvalidatesTheExportCache() {
+        Person person = input.mockEntity(1);
+        person.setId(1L);
+        when(repository.findById(1L)).thenReturn(Optional.of(person));
+
+        service.delete(1L);
+
+        verify(exportCache).invalidate();
+    }
+
+    @Test
+    void exportPersonOnlyAcceptsPdf() {
+        assertThrows(BadRequestException.class, () -> service.exportPerson(1L, MediaTypes.APPLICATION_CSV_VALUE));
+        assertThrows(BadRequestException.class, () -> service.exportPerson(1L, MediaTypes.APPLICATION_XLSX_VALUE));
+        assertThrows(BadRequestException.class, () -> service.exportPerson(1L, null));
+
+        // Recusado antes do cache: nenhum relatório vazio é gerado nem guardado
+        verifyNoInteractions(exportCache, repository);
+    }
+
+    @Test
+    void exportPageIsKeyedByQueryAndFormat() {
+        var entry = new ExportCache.Entry(Path.of("export.bin"), null, 10);
+        when(exportCache.get(anyString(), anyBoolean(), any())).thenReturn(entry);
+
+        var pageable = PageRequest.of(2, 12, Sort.by(Sort.Direction.DESC, "firstName"));
+
+        assertSame(entry, service.exportPage(pageable, MediaTypes.APPLICATION_CSV_VALUE));
+        assertSame(entry, service.exportPage(pageable, MediaTypes.APPLICATION_XLSX_VALUE));
+
+        // CSV ganha variante gzip; XLSX já é compactado
+        verify(exportCache).get(eq("page|text/csv|2|12|firstName: DESC"), eq(true), any());
+        verify(exportCache).get(eq("page|" + MediaTypes.APPLICATION_XLSX_VALUE + "|2|12|firstName: DESC"), eq(false), any());
+        // Cache mockado: o relatório não é gerado
+        verifyNoInteractions(repository);
+    }
+
     @Test
     @Disabled("REASON: Still Under Development")
     void findAll() {
@@ -403,4 +556,101 @@ class PersonServiceTest {
         assertEquals("Female", personSeven.getGender());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void searchPeopleByPrefixEscapesLikeWildcards() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by(Sort.Direction.ASC, "firstName"));
+        when(repository.searchByNamePrefix(any(), any())).thenReturn(new PageImpl<>(List.of(input.mockEntity(1))));
+
+        service.searchPeople(" 50%_off! ", "prefix", pageable);
+
+        verify(repository).searchByNamePrefix(eq("50!%!_off!!"), eq(pageable));
+        verify(repository, never()).searchByNameContaining(any(), any());
+    }
+
+    @Test
+    void searchPeopleContainingUsesFullTextPhrase() {
+        Pageable pageable = PageRequest.of(1, 12, Sort.by(Sort.Direction.DESC, "firstName"));
+        when(repository.searchByNameContaining(any(), any())).thenReturn(new PageImpl<>(List.of(input.mockEntity(1))));
+
+        service.searchPeople("a\"bi", "contains", pageable);
+
+        // Consulta nativa: ordena pela coluna, mantendo página e direção
+        verify(repository).searchByNameContaining(eq("\"abi\""),
+                eq(PageRequest.of(1, 12, Sort.by(Sort.Direction.DESC, "first_name"))));
+    }
+
+    @Test
+    void searchPeopleContainingWithShortTermFallsBackToPrefix() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by(Sort.Direction.ASC, "firstName"));
+        when(repository.searchByNamePrefix(any(), any())).thenReturn(new PageImpl<>(List.of()));
+
+        service.searchPeople("a", "contains", pageable);
+
+        verify(repository).searchByNamePrefix(eq("a"), eq(pageable));
+        verify(repository, never()).searchByNameContaining(any(), any());
+    }
+
+    @Test
+    void searchPeopleContainingChecksTheLengthWithoutQuotes() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by(Sort.Direction.ASC, "firstName"));
+        when(repository.searchByNamePrefix(any(), any())).thenReturn(new PageImpl<>(List.of()));
+
+        // Três caracteres, mas só "a" chegaria ao MATCH
+        service.searchPeople("\"a\"", "contains", pageable);
+
+        verify(repository).searchByNamePrefix(eq("a"), eq(pageable));
+        verify(repository, never()).searchByNameContaining(any(), any());
+    }
+
+    @Test
+    void searchPeopleWithUnknownMode() {
+        assertThrows(BadRequestException.class, () -> service.searchPeople("Ada", "fuzzy", PageRequest.of(0, 12)));
+        assertThrows(BadRequestException.class, () -> service.searchPeople("Ada", null, PageRequest.of(0, 12)));
+        assertThrows(BadRequestException.class, () -> service.searchPeople("\"\"", "contains", PageRequest.of(0, 12)));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void searchPeopleWithBlankName() {
+        assertThrows(BadRequestException.class, () -> service.searchPeople("  ", "prefix", PageRequest.of(0, 12)));
+    }
+
+    @Test
+    void scrollReturnsNextCursorFromLastRow() {
+        List<Person> people = List.of(input.mockEntity(1), input.mockEntity(2));
+        when(repository.findAllBy(any(), any(), any())).thenReturn(Window.from(people, ScrollPosition::offset, true));
+
+        var result = service.scroll(null, 2, Sort.Direction.ASC);
+
+        verify(repository).findAllBy(eq(ScrollPosition.keyset()), eq(Sort.by(Sort.Direction.ASC, "firstName", "id")), eq(Limit.of(2)));
+        assertEquals(2, result.getContent().size());
+
+        String next = result.getRequiredLink(IanaLinkRelations.NEXT).getHref();
+        String cursor = next.substring(next.indexOf("cursor=") + "cursor=".length(), next.indexOf('&'));
+        assertEquals(KeysetCursor.encode("First Name Test2", 2L, Sort.Direction.ASC), cursor);
+    }
+
+    @Test
+    void scrollLastPageHasNoNextLink() {
+        when(repository.findAllBy(any(), any(), any())).thenReturn(Window.from(List.of(input.mockEntity(1)), ScrollPosition::offset, false));
+
+        var result = service.scroll(KeysetCursor.encode("A", 1L, Sort.Direction.DESC), 12, Sort.Direction.DESC);
+
+        assertTrue(result.getLink(IanaLinkRelations.NEXT).isEmpty());
+        assertThrows(BadRequestException.class, () -> service.scroll(null, 0, Sort.Direction.ASC));
+    }
+
+    @Test
+    void findAllSliceSkipsTheCountQuery() {
+        Pageable pageable = PageRequest.of(0, 12, Sort.by(Sort.Direction.ASC, "firstName"));
+        when(repository.findSliceBy(pageable)).thenReturn(new SliceImpl<>(List.of(input.mockEntity(1)), pageable, true));
+
+        service.findAllSlice(pageable);
+
+        verify(repository).findSliceBy(pageable);
+        verify(repository, never()).count();
+        verify(repository, never()).findAll(any(Pageable.class));
+        verify(slicedAssembler).toModel(any());
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.erudio.unittests.services;
+
+import br.com.erudio.cache.EntityCache;
+import br.com.erudio.model.Permission;
+import br.com.erudio.model.User;
+import br.com.erudio.repository.UserRepository;
+import br.com.erudio.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserServiceTest {
+
+    private UserRepository repository;
+
+    private EntityCache<String, UserDetails> cache;
+
+    private UserService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(UserRepository.class);
+        cache = new EntityCache<>("user", 10, Duration.ofMinutes(1));
+        service = new UserService(repository);
+        ReflectionTestUtils.setField(service, "cache", cache);
+    }
+
+    @Test
+    void loadUserByUsernameQueriesOnlyOnce() {
+        when(repository.findByUsername("leandro")).thenReturn(user("leandro", "ADMIN", "MANAGER"));
+
+        var first = service.loadUserByUsername("leandro");
+        var second = service.loadUserByUsername("leandro");
+
+        assertEquals("leandro", second.getUsername());
+        assertEquals(List.of("ADMIN", "MANAGER"), second.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        assertNotSame(first, second);
+        verify(repository, times(1)).findByUsername("leandro");
+        assertEquals(1, cache.stats().getHits());
+    }
+
+    @Test
+    void erasingCredentialsDoesNotTouchTheCachedUser() {
+        when(repository.findByUsername("leandro")).thenReturn(user("leandro", "ADMIN"));
+
+        // O ProviderManager faz isso depois de cada login
+        ((CredentialsContainer) service.loadUserByUsername("leandro")).eraseCredentials();
+
+        assertEquals("{pbkdf2}hash", service.loadUserByUsername("leandro").getPassword());
+    }
+
+    @Test
+    void evictReloadsTheUser() {
+        when(repository.findByUsername("leandro")).thenReturn(user("leandro", "ADMIN"));
+
+        service.loadUserByUsername("leandro");
+        service.evict("leandro");
+        service.loadUserByUsername("leandro");
+
+        verify(repository, times(2)).findByUsername("leandro");
+    }
+
+    @Test
+    void updatePasswordStoresTheNewHashAndEvicts() {
+        var entity = user("leandro", "ADMIN");
+        when(repository.findByUsername("leandro")).thenReturn(entity);
+
+        var cached = service.loadUserByUsername("leandro");
+        var updated = service.updatePassword(cached, "{pbkdf2-1000}newhash");
+
+        assertEquals("{pbkdf2-1000}newhash", updated.getPassword());
+        assertEquals("{pbkdf2-1000}newhash", entity.getPassword());
+        verify(repository).save(entity);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nobody"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nobody"));
+
+        verify(repository, times(2)).findByUsername("nobody");
+        assertEquals(0, cache.size());
+    }
+
+    private static User user(String username, String... roles) {
+        var user = new User();
+        user.setUserName(username);
+        user.setPassword("{pbkdf2}hash");
+        user.setAccountNonExpired(true);
+        user.setAccountNonLocked(true);
+        user.setCredentialsNonExpired(true);
+        user.setEnabled(true);
+        user.setPermissions(Arrays.stream(roles).map(role -> {
+            var permission = new Permission();
+            permission.setDescription(role);
+            return permission;
+        }).toList());
+        return user;
+    }
+}